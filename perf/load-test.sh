@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# Throughput at N concurrent clients with platform threads and with virtual threads
+# (spring.threads.virtual.enabled), against the same database and data.
+#
+# Needs the packaged jar (mvn -DskipTests package), curl, psql and a JDK 21 on the PATH.
+# The application is configured from the environment as usual (SPRING_DATASOURCE_URL,
+# SPRING_DATASOURCE_USERNAME, SPRING_DATASOURCE_PASSWORD, JWT_SECRET, JWT_EXPIRATION, ...);
+# psql reads PGHOST, PGDATABASE, PGUSER and PGPASSWORD for the same database. Extra
+# application arguments can be passed in APP_ARGS.
+#
+# Usage: perf/load-test.sh [clients] [warmup-seconds] [measure-seconds]
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CLIENTS=${1:-1000}
+WARMUP=${2:-30}
+DURATION=${3:-60}
+PORT=${PORT:-8080}
+BASE=http://localhost:$PORT
+JAR=$(ls target/inventory-management-*.jar | grep -v -- '-cds' | head -1)
+EMAIL=loadtest@example.com
+PASSWORD=loadtest-password
+
+start_app() {
+    # One tenant drives all clients, so its admission limits are switched off for the run
+    java -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$1" \
+        --inventory.tenant.admission.enabled=false ${APP_ARGS:-} > "target/load-test-$2.log" 2>&1 &
+    APP_PID=$!
+    for _ in $(seq 1 180); do
+        if curl -sf "$BASE/actuator/health" > /dev/null; then
+            return
+        fi
+        sleep 1
+    done
+    echo "application did not become healthy, see target/load-test-$2.log" >&2
+    exit 1
+}
+
+stop_app() {
+    kill "$APP_PID"
+    wait "$APP_PID" || true
+}
+
+for mode in platform virtual; do
+    virtual=false
+    [ "$mode" = virtual ] && virtual=true
+    start_app "$virtual" "$mode"
+    # Registering again after the first run only reports that the user exists
+    curl -s -o /dev/null -X POST "$BASE/api/auth/register" -H 'Content-Type: application/json' \
+        -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}"
+    psql -v ON_ERROR_STOP=1 -q -f perf/seed.sql
+    token=$(curl -sf -X POST "$BASE/api/auth/login" -H 'Content-Type: application/json' \
+        -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" | sed -n 's/.*"accessToken":"\([^"]*\)".*/\1/p')
+    echo "== $mode threads"
+    java perf/LoadTest.java url="$BASE/api/sales/searchSale" token="$token" \
+        body='{"currentPage":0,"perPageRecord":20}' \
+        clients="$CLIENTS" warmup="$WARMUP" duration="$DURATION" | tee "target/load-test-$mode.txt"
+    stop_app
+done
@@ -0,0 +1,28 @@
+-- Load-test tenant for load-test.sh: one client owning the registered load-test user, with
+-- 500 customers and 50,000 sales. Safe to run repeatedly.
+INSERT INTO client (name, status)
+SELECT 'Load test', 'A'
+WHERE NOT EXISTS (SELECT 1 FROM client WHERE name = 'Load test');
+
+UPDATE user_master
+SET client_id = (SELECT id FROM client WHERE name = 'Load test')
+WHERE email = 'loadtest@example.com';
+
+INSERT INTO customer (name, status, client_id)
+SELECT 'Load customer ' || g, 'A', c.id
+FROM client c, generate_series(1, 500) g
+WHERE c.name = 'Load test'
+  AND NOT EXISTS (SELECT 1 FROM customer WHERE client_id = c.id);
+
+INSERT INTO sale (customer_id, client_id, sale_date, invoice_number, total_sale_amount, updated_at)
+SELECT cu.first_id + g % 500, cu.client_id, now() - g * interval '10 minutes', 'LT/' || g, (g % 1000) * 10.5, now()
+FROM (SELECT min(id) AS first_id, client_id
+      FROM customer
+      WHERE client_id = (SELECT id FROM client WHERE name = 'Load test')
+      GROUP BY client_id) cu,
+     generate_series(1, 50000) g
+WHERE NOT EXISTS (SELECT 1 FROM sale WHERE client_id = cu.client_id);
+
+ANALYZE client;
+ANALYZE customer;
+ANALYZE sale;
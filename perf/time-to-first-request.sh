@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# Time from launching the JVM to the first successful authenticated API response
+# (POST /api/sales/searchSale), which is what a rolling deploy waits for. Also prints the
+# "Ready ... ms after JVM start" figure that StartupTimelineReport logs, for comparison.
+#
+# Same environment as load-test.sh (SPRING_DATASOURCE_*, JWT_*, PG* for psql). The first
+# start only registers and seeds the load-test user and is not measured.
+#
+# Usage: perf/time-to-first-request.sh <runs> <java command...>
+#   perf/time-to-first-request.sh 5 java -jar target/inventory-management-1.0.0.jar
+#   perf/time-to-first-request.sh 5 java -XX:SharedArchiveFile=target/application.jsa \
+#       -Dspring.aot.enabled=true -jar target/inventory-management-1.0.0-cds.jar
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS=$1
+shift
+PORT=${PORT:-8080}
+BASE=http://localhost:$PORT
+EMAIL=loadtest@example.com
+PASSWORD=loadtest-password
+LOG=target/time-to-first-request.log
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+start_app() {
+    "$@" --server.port="$PORT" > "$LOG" 2>&1 &
+    APP_PID=$!
+}
+
+check_app() {
+    if ! kill -0 "$APP_PID" 2> /dev/null; then
+        echo "application exited, see $LOG" >&2
+        exit 1
+    fi
+}
+
+stop_app() {
+    kill "$APP_PID"
+    wait "$APP_PID" || true
+}
+
+search() {
+    curl -s -o /dev/null -w '%{http_code}' -X POST "$BASE/api/sales/searchSale" \
+        -H "Authorization: Bearer $1" -H 'Content-Type: application/json' \
+        -d '{"currentPage":0,"perPageRecord":20}' || true
+}
+
+start_app "$@"
+until curl -sf "$BASE/actuator/health" > /dev/null; do
+    check_app
+    sleep 1
+done
+curl -s -o /dev/null -X POST "$BASE/api/auth/register" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}"
+psql -v ON_ERROR_STOP=1 -q -f perf/seed.sql
+token=$(curl -sf -X POST "$BASE/api/auth/login" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" | sed -n 's/.*"accessToken":"\([^"]*\)".*/\1/p')
+stop_app
+
+for run in $(seq 1 "$RUNS"); do
+    launched=$(now_ms)
+    start_app "$@"
+    until [ "$(search "$token")" = 200 ]; do
+        check_app
+        sleep 0.05
+    done
+    first=$(( $(now_ms) - launched ))
+    ready=$(grep -o 'Ready [0-9]* ms after JVM start' "$LOG" | grep -o '[0-9]*' || echo '?')
+    echo "run $run: first request ${first} ms after launch (ready ${ready} ms after JVM start)"
+    stop_app
+done
@@ -2,12 +2,21 @@ package com.inventory;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+
+import java.util.Map;
 
 @SpringBootApplication
 public class DemoApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(DemoApplication.class, args);
+		SpringApplication application = new SpringApplication(DemoApplication.class);
+		// Bean init timeline for /actuator/startup and StartupTimelineReport
+		application.setApplicationStartup(new BufferingApplicationStartup(8192));
+		// Fallbacks only; any external configuration overrides them
+		application.setDefaultProperties(Map.of(
+				"management.endpoints.web.exposure.include", "health,prometheus,jfr,locks,startup"));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,53 @@
+package com.inventory.config;
+
+import com.inventory.metrics.MonitoredDataSource;
+import com.inventory.metrics.SqlMonitor;
+import com.inventory.security.TenantAdmission;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Builds the decorator chain around the application DataSource (the {@code dataSource} bean JPA
+ * and Flyway use) in one place, so the order is fixed rather than left to post-processor order.
+ * From the caller inwards:
+ * <ol>
+ *     <li>{@link TenantConnectionQuotaDataSource}: per-client quota of {@link TenantAdmission}. It
+ *     comes first so a client over its quota waits without holding a global bulkhead permit.</li>
+ *     <li>{@link BulkheadDataSource}: global concurrency limit, only in virtual-thread mode
+ *     ({@link VirtualThreadConfig}).</li>
+ *     <li>{@link MonitoredDataSource}: connection and SQL metrics ({@link MetricsConfig}).</li>
+ * </ol>
+ * Only the {@code dataSource} bean is wrapped, so pools behind a routing DataSource are not
+ * counted twice.
+ */
+@Configuration
+public class DataSourceDecoratorConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceDecoratorPostProcessor(
+            ObjectProvider<SqlMonitor> sqlMonitor,
+            ObjectProvider<TenantAdmission> tenantAdmission,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${inventory.datasource.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${inventory.datasource.bulkhead.timeout:${spring.datasource.hikari.connection-timeout:30000}}") Duration timeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                DataSource decorated = new MonitoredDataSource(dataSource, sqlMonitor::getIfAvailable);
+                if (virtualThreads) {
+                    decorated = new BulkheadDataSource(decorated, maxConcurrent, timeout);
+                }
+                return new TenantConnectionQuotaDataSource(decorated, tenantAdmission::getIfAvailable);
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.inventory.config;
+
+import com.inventory.metrics.FlightRecordingEndpoint;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Keeps a JDK Flight Recorder recording running for the life of the application, using the
+ * JDK's low-overhead {@code default} settings plus the application events in
+ * {@code com.inventory.metrics}. Only the last {@code inventory.jfr.max-age} /
+ * {@code inventory.jfr.max-size} are kept on disk. An admin can pull the buffer with
+ * {@code GET /actuator/jfr} (see {@link FlightRecordingEndpoint}) after a slow period,
+ * without restarting the JVM or attaching tools.
+ * <p>
+ * Disable with {@code inventory.jfr.enabled=false}.
+ */
+@org.springframework.context.annotation.Configuration
+@ConditionalOnProperty(name = "inventory.jfr.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class FlightRecorderConfig {
+
+    /**
+     * The recording is only created when this JVM has Flight Recorder; otherwise there is no
+     * recording bean and {@code /actuator/jfr} answers that no recording is running.
+     */
+    @Bean(destroyMethod = "close")
+    public Recording continuousRecording(@Value("${inventory.jfr.max-age:30m}") Duration maxAge,
+                                         @Value("${inventory.jfr.max-size:250MB}") DataSize maxSize)
+            throws IOException, ParseException {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder is not available in this JVM; continuous recording disabled");
+            return null;
+        }
+        Recording recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("inventory-continuous");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.start();
+        log.info("Continuous flight recording started (max age {}, max size {})", maxAge, maxSize);
+        return recording;
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(ObjectProvider<Recording> continuousRecording) throws IOException {
+        return new FlightRecordingEndpoint(continuousRecording.getIfAvailable());
+    }
+}
@@ -0,0 +1,21 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics are scraped from {@code /actuator/prometheus} (exposed by default properties in
+ * {@link com.inventory.DemoApplication}) with the operator credentials of
+ * {@link com.inventory.security.ActuatorSecurityConfig}. Set {@code management.server.port} to
+ * serve the actuator on a separate, internal port.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> commonTags() {
+        return registry -> registry.config().commonTags("application", "inventory");
+    }
+}
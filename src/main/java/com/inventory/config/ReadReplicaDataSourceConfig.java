@@ -0,0 +1,100 @@
+package com.inventory.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Primary/replica split for read-heavy screens (searches, detail views, report and PDF data).
+ * Only active when {@code inventory.datasource.replica.url} is set; without it Spring Boot's
+ * single DataSource is used as before.
+ * <pre>
+ * inventory.datasource.replica.url=jdbc:postgresql://replica-host:5432/inventory
+ * inventory.datasource.replica.username=...        (defaults to spring.datasource.username)
+ * inventory.datasource.replica.password=...        (defaults to spring.datasource.password)
+ * inventory.datasource.replica.max-lag=5s
+ * inventory.datasource.replica.sticky-window=5s
+ * inventory.datasource.replica.pool-size=10
+ * </pre>
+ * For local testing point the replica URL at a second Postgres database with a copy of the
+ * schema; a database that is not a standby reports zero lag, so reads are routed to it.
+ * <p>
+ * Read-only transactions do not store entities in the second-level cache
+ * ({@link ReadOnlyCacheModeJpaDialect}), so replica rows never end up there.
+ */
+@Configuration
+@ConditionalOnProperty("inventory.datasource.replica.url")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor readOnlyCacheModePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // After afterPropertiesSet, which takes the dialect from the EntityManagerFactory
+                if (bean instanceof JpaTransactionManager transactionManager) {
+                    transactionManager.setJpaDialect(new ReadOnlyCacheModeJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${inventory.datasource.replica.url}") String url,
+                                              @Value("${inventory.datasource.replica.username:}") String username,
+                                              @Value("${inventory.datasource.replica.password:}") String password,
+                                              @Value("${inventory.datasource.replica.pool-size:10}") int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+        dataSource.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setReadOnly(true);
+        // The app must start even when the replica is down; the lag monitor keeps reads on the primary
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicationLagMonitor replicationLagMonitor(HikariDataSource replicaDataSource,
+                                                       @Value("${inventory.datasource.replica.max-lag:5s}") Duration maxLag) {
+        return new ReplicationLagMonitor(replicaDataSource, maxLag, Duration.ofSeconds(2));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReplicationLagMonitor replicationLagMonitor,
+                                 @Value("${inventory.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicationLagMonitor, stickyWindow);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
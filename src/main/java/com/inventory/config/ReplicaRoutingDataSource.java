@@ -0,0 +1,114 @@
+package com.inventory.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections of {@code @Transactional(readOnly = true)} work to the replica and everything
+ * else to the primary. Reads still go to the primary when
+ * <ul>
+ *     <li>the replica lags more than allowed (see {@link ReplicationLagMonitor}), or</li>
+ *     <li>the same user committed a read-write transaction within the sticky window, so a list
+ *     loaded right after saving an invoice already contains it, or</li>
+ *     <li>the read fills a cache ({@link #onPrimary}, {@link #requirePrimary}): a value loaded
+ *     from a lagging replica right after an eviction would stay cached for the whole TTL.</li>
+ * </ul>
+ * The routing key is read when the physical connection is fetched, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the
+ * connection is taken before the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final ReplicationLagMonitor lagMonitor;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReplicaRoutingDataSource(ReplicationLagMonitor lagMonitor, Duration stickyWindow) {
+        this.lagMonitor = lagMonitor;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(10_000)
+                .build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markWriterOnCommit(user);
+            return Route.PRIMARY;
+        }
+        if (Boolean.TRUE.equals(PRIMARY_ONLY.get())) {
+            return Route.PRIMARY;
+        }
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return Route.PRIMARY;
+        }
+        return lagMonitor.isReplicaUsable() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    /**
+     * Runs {@code loader} with every connection it opens taken from the primary, for loads whose
+     * result is cached. Has no effect on a connection the caller's transaction already holds.
+     */
+    public static <T> T onPrimary(Supplier<T> loader) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return loader.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Keeps the rest of the current transaction on the primary. Must be called before its first
+     * statement, since the connection is chosen when that statement runs.
+     */
+    public static void requirePrimary() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || Boolean.TRUE.equals(PRIMARY_ONLY.get())) {
+            return;
+        }
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PRIMARY_ONLY.remove();
+            }
+        });
+    }
+
+    private void markWriterOnCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.inventory.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how far the read replica is behind the primary. The lag is sampled every
+ * {@code checkInterval} on a background thread and requests only read the last result, so a
+ * slow or unreachable replica never blocks a request. A replica that cannot be reached, or
+ * whose WAL receiver is not streaming, counts as lagging, so reads fall back to the primary
+ * until it catches up again.
+ * <p>
+ * The receiver status comes from {@code pg_stat_wal_receiver}, which the replica user can only
+ * read with {@code pg_read_all_stats}. Without it the lag is always taken as the age of the last
+ * replayed transaction, which is conservative: an idle primary also makes the replica look stale.
+ */
+@Slf4j
+public class ReplicationLagMonitor implements AutoCloseable {
+    // Zero when not a standby (e.g. a plain second database locally) or when the receiver is
+    // streaming and all received WAL is replayed; NULL when nothing has been replayed yet
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+                     AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+            END
+            """;
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean healthy = false;
+
+    public ReplicationLagMonitor(DataSource replica, Duration maxLag, Duration checkInterval) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        sampler.scheduleWithFixedDelay(() -> healthy = measure(), 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return healthy;
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+
+    private boolean measure() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            double lagSeconds = resultSet.getDouble(1);
+            boolean known = !resultSet.wasNull();
+            boolean usable = known && lagSeconds * 1000 <= maxLag.toMillis();
+            if (usable != healthy) {
+                log.info("Read replica {} (lag {}, limit {}s)", usable ? "in use" : "bypassed",
+                        known ? lagSeconds + "s" : "unknown", maxLag.toSeconds());
+            }
+            return usable;
+        } catch (Exception e) {
+            if (healthy) {
+                log.warn("Read replica unavailable, routing reads to primary: {}", e.getMessage());
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.inventory.config;
+
+import com.inventory.migration.V1__Trigram_search_indexes;
+import com.inventory.migration.V5__Trigram_search_indexes_repair;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.internal.database.postgresql.PostgreSQLConfigurationExtension;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Versioned migrations (classpath:db/migration plus Java migrations) for what the entity
+ * annotations cannot express: composite, partial and expression indexes.
+ * <p>
+ * Tables are still created by Hibernate, so migrations run once the application context
+ * is up instead of before the EntityManagerFactory. Existing databases are baselined at
+ * version 0 on first run.
+ * <p>
+ * Flyway's PostgreSQL lock is taken as a session advisory lock rather than inside a
+ * transaction: an open transaction on the lock connection makes {@code CREATE INDEX
+ * CONCURRENTLY} in V1/V5 wait for it forever.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer schemaMigrationCustomizer() {
+        return configuration -> {
+            configuration
+                    .baselineOnMigrate(true)
+                    .baselineVersion("0")
+                    .javaMigrations(new V1__Trigram_search_indexes(), new V5__Trigram_search_indexes_repair());
+            configuration.getPluginRegister()
+                    .getPlugin(PostgreSQLConfigurationExtension.class)
+                    .setTransactionalLock(false);
+        };
+    }
+
+    @Bean
+    public FlywayMigrationStrategy deferredMigrationStrategy() {
+        // migrations run from schemaMigrationRunner
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    @Order(0)
+    public ApplicationRunner schemaMigrationRunner(Flyway flyway) {
+        return args -> flyway.migrate();
+    }
+}
@@ -0,0 +1,77 @@
+package com.inventory.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for the read-mostly master data entities that are loaded by id
+ * on every request (category, brand, transport master, machine master, client).
+ * <p>
+ * The cache is local to each instance and is only invalidated by writes on the same instance,
+ * so entities with counters that change on every sale, purchase or payment (product stock,
+ * customer balance) are deliberately not cached: a copy on another instance would be stale.
+ * <p>
+ * Each entity has its own Caffeine region with a size and TTL limit. Entries are keyed by
+ * primary key, which is unique across tenants, so the cache cannot hand one client another
+ * client's row; tenant checks on the loaded entity work as before. Regions are READ_WRITE, so
+ * updates through the EntityManager replace or evict the entry on commit. Native UPDATE/DELETE
+ * statements make Hibernate drop the affected regions. Query results are not cached.
+ * <p>
+ * Hit, miss and eviction counts are published per region via the JCache statistics MXBeans
+ * ({@code javax.cache:type=CacheStatistics}).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private record Region(long maximumSize, Duration timeToLive) {
+    }
+
+    private static final Map<String, Region> REGIONS = Map.of(
+            "category", new Region(2_000, Duration.ofMinutes(30)),
+            "brand", new Region(2_000, Duration.ofMinutes(30)),
+            "transport_master", new Region(2_000, Duration.ofMinutes(30)),
+            "machine_master", new Region(1_000, Duration.ofMinutes(30)),
+            "client", new Region(500, Duration.ofMinutes(60)));
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        REGIONS.forEach((name, region) -> {
+            if (cacheManager.getCache(name) == null) {
+                cacheManager.createCache(name, configuration(region));
+            }
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> configuration(Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.maximumSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(region.timeToLive().toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
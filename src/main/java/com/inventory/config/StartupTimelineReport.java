@@ -0,0 +1,66 @@
+package com.inventory.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the slowest bean initializations once the application is ready, from the timeline that
+ * {@link com.inventory.DemoApplication} buffers. The full timeline is available to admins at
+ * {@code GET /actuator/startup}. Number of beans listed: {@code inventory.startup.report-top} (15).
+ * The logged "ready" time is not the time to the first served request; that is measured by
+ * {@code perf/time-to-first-request.sh}.
+ */
+@Component
+@Slf4j
+public class StartupTimelineReport {
+    private static final String BEAN_INSTANTIATE = "spring.beans.instantiate";
+
+    private final int top;
+
+    public StartupTimelineReport(@Value("${inventory.startup.report-top:15}") int top) {
+        this.top = top;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        List<StartupTimeline.TimelineEvent> beans = startup.getBufferedTimeline().getEvents().stream()
+                .filter(timelineEvent -> BEAN_INSTANTIATE.equals(timelineEvent.getStartupStep().getName()))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(top)
+                .toList();
+        String slowest = beans.stream()
+                .map(timelineEvent -> String.format("%n  %6d ms  %s", timelineEvent.getDuration().toMillis(),
+                        beanName(timelineEvent.getStartupStep())))
+                .collect(Collectors.joining());
+        log.info("Ready {} ms after JVM start (context {} ms); slowest bean initializations (including dependencies):{}",
+                ManagementFactory.getRuntimeMXBean().getUptime(), millis(event.getTimeTaken()), slowest);
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+
+    private static long millis(Duration duration) {
+        return duration != null ? duration.toMillis() : -1;
+    }
+}
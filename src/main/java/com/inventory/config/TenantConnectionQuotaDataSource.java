@@ -0,0 +1,97 @@
+package com.inventory.config;
+
+import com.inventory.exception.TenantQuotaExceededException;
+import com.inventory.security.TenantAdmission;
+import com.inventory.security.TenantContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Caps the connections one client can hold at the same time (see {@link TenantAdmission}).
+ * The client comes from {@link TenantContext}; connections taken outside an authenticated
+ * request (startup, migrations, background work) are not counted.
+ */
+public class TenantConnectionQuotaDataSource extends DelegatingDataSource {
+    private final Supplier<TenantAdmission> admission;
+
+    public TenantConnectionQuotaDataSource(DataSource target, Supplier<TenantAdmission> admission) {
+        super(target);
+        this.admission = admission;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Semaphore permits = acquire();
+        try {
+            return wrap(super.getConnection(), permits);
+        } catch (SQLException | RuntimeException e) {
+            release(permits);
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Semaphore permits = acquire();
+        try {
+            return wrap(super.getConnection(username, password), permits);
+        } catch (SQLException | RuntimeException e) {
+            release(permits);
+            throw e;
+        }
+    }
+
+    private Semaphore acquire() throws SQLException {
+        Long clientId = TenantContext.getClientId();
+        TenantAdmission tenantAdmission = admission.get();
+        if (clientId == null || tenantAdmission == null || !tenantAdmission.isEnabled()) {
+            return null;
+        }
+        Semaphore permits = tenantAdmission.connectionPermits(clientId);
+        try {
+            if (!permits.tryAcquire(tenantAdmission.getConnectionTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                tenantAdmission.connectionRejected(clientId);
+                throw new TenantQuotaExceededException("Client " + clientId + " is at its database connection limit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+        return permits;
+    }
+
+    private static void release(Semaphore permits) {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    private static Connection wrap(Connection connection, Semaphore permits) {
+        if (permits == null) {
+            return connection;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(TenantConnectionQuotaDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
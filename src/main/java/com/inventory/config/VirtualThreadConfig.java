@@ -0,0 +1,45 @@
+package com.inventory.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Opt-in virtual-thread mode, switched on with {@code spring.threads.virtual.enabled=true}.
+ * Spring Boot then serves requests on virtual threads (Tomcat) and backs
+ * {@code applicationTaskExecutor}, which the async batch processing uses, with virtual threads.
+ * <p>
+ * Because the request thread count no longer limits how many requests reach the database,
+ * the application DataSource is wrapped in a {@link BulkheadDataSource} (installed by
+ * {@link DataSourceDecoratorConfig}):
+ * <pre>
+ * inventory.datasource.bulkhead.max-concurrent=10   (defaults to the Hikari pool size)
+ * inventory.datasource.bulkhead.timeout=30s         (defaults to the Hikari connection timeout)
+ * </pre>
+ * The timeout matches Hikari's so that switching modes does not change when an overloaded
+ * request gives up. perf/load-test.sh compares both modes at 1000 concurrent clients; see
+ * perf/README.md for the recorded results, which show no throughput gain on a single CPU.
+ * Queue length and free permits are published as {@code inventory.db.bulkhead.*} gauges.
+ * The locks on the write paths are {@link java.util.concurrent.locks.ReentrantLock}s, so a
+ * virtual thread waiting on them or doing I/O while holding them does not pin its carrier.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public MeterBinder bulkheadMetrics(DataSource dataSource) throws SQLException {
+        BulkheadDataSource bulkhead = dataSource.unwrap(BulkheadDataSource.class);
+        return registry -> {
+            Gauge.builder("inventory.db.bulkhead.available", bulkhead, BulkheadDataSource::getAvailablePermits)
+                    .register(registry);
+            Gauge.builder("inventory.db.bulkhead.queued", bulkhead, BulkheadDataSource::getQueueLength)
+                    .register(registry);
+        };
+    }
+}
@@ -1,5 +1,7 @@
 package com.inventory.controller;
 
+import com.inventory.dao.ExportQuery;
+import com.inventory.enums.ExportFormat;
 import com.inventory.dto.AttendanceDto;
 import com.inventory.dto.request.AttendanceDeleteRequestDto;
 import com.inventory.dto.request.AttendancePdfRequestDto;
@@ -7,9 +9,12 @@ import com.inventory.dto.request.AttendanceRequestDto;
 import com.inventory.dto.request.AttendanceSearchRequestDto;
 import com.inventory.dto.request.PayrollSummaryRequestDto;
 import com.inventory.service.AttendanceService;
+import com.inventory.service.SearchExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/attendance")
@@ -17,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AttendanceController {
     private final AttendanceService attendanceService;
+    private final ObjectProvider<SearchExportService> searchExportService;
     
     @PostMapping("/create")
     public ResponseEntity<?> saveAttendance(@RequestBody AttendanceRequestDto request) {
@@ -69,4 +75,14 @@ public class AttendanceController {
     public ResponseEntity<?> getAllAttendance(@RequestBody AttendanceDto request) {
         return ResponseEntity.ok(attendanceService.getAllAttendance(request));
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/export/{format}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String format, @RequestBody AttendanceDto request) {
+        ExportFormat exportFormat = ExportFormat.fromPath(format);
+        ExportQuery query = attendanceService.getAttendanceExportQuery(request);
+        StreamingResponseBody body = outputStream -> searchExportService.getObject().write(query, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .headers(exportFormat.attachmentHeaders("attendance"))
+                .body(body);
+    }
+}
@@ -3,62 +3,65 @@ package com.inventory.controller;
 import com.inventory.dto.BachDto;
 import com.inventory.service.BachService;
 import com.inventory.dto.request.BachUpsertRequestDto;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/batchs")
 @CrossOrigin(origins = "*", allowedHeaders = "*")
 @RequiredArgsConstructor
 public class BatchController {
-    private final BachService bachService;
+    private final ObjectProvider<BachService> bachService;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody BachDto request) {
-        return ResponseEntity.ok(bachService.create(request));
+        return ResponseEntity.ok(bachService.getObject().create(request));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<?> update(@PathVariable Long id, @RequestBody BachDto request) {
-        return ResponseEntity.ok(bachService.update(id, request));
+        return ResponseEntity.ok(bachService.getObject().update(id, request));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable Long id) {
-        return ResponseEntity.ok(bachService.delete(id));
+        return ResponseEntity.ok(bachService.getObject().delete(id));
     }
 
     @PostMapping("/search")
     public ResponseEntity<?> search(@RequestBody BachDto request) {
-        return ResponseEntity.ok(bachService.search(request));
+        return ResponseEntity.ok(bachService.getObject().search(request));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> details(@PathVariable Long id) {
-        return ResponseEntity.ok(bachService.getDetails(id));
+        return ResponseEntity.ok(bachService.getObject().getDetails(id));
     }
 
     @PostMapping("/full-details")
     public ResponseEntity<?> fullDetails(@RequestBody BachDto request) {
-        return ResponseEntity.ok(bachService.getFullDetails(request));
+        return ResponseEntity.ok(bachService.getObject().getFullDetails(request));
     }
 
     @PostMapping("/upsert")
     public ResponseEntity<?> upsert(@RequestBody BachUpsertRequestDto request) {
-        return ResponseEntity.ok(bachService.upsert(request));
+        return ResponseEntity.ok(bachService.getObject().upsert(request));
     }
 
     @PostMapping("/export")
-    public ResponseEntity<byte[]> export(@RequestBody BachDto request) {
-        byte[] excel = bachService.exportBachMixerProductionExcel(request);
+    public ResponseEntity<StreamingResponseBody> export(@RequestBody BachDto request) {
+        bachService.getObject().prepareBachMixerProductionExport(request);
+        StreamingResponseBody body = outputStream -> bachService.getObject().writeBachMixerProductionExcel(request, outputStream);
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"));
         headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bach-report.xlsx");
-        return new ResponseEntity<>(excel, headers, HttpStatus.OK);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 }
 
@@ -1,17 +1,21 @@
 package com.inventory.controller;
 
 import com.inventory.dto.BrandDto;
+import com.inventory.enums.LookupType;
 import com.inventory.service.BrandService;
+import com.inventory.service.LookupCacheService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/brands")
-@CrossOrigin(origins = "*", allowedHeaders = "*")
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = HttpHeaders.ETAG)
 @RequiredArgsConstructor
 public class BrandController {
     private final BrandService brandService;
+    private final LookupCacheService lookupCacheService;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody BrandDto request) {
@@ -31,8 +35,10 @@ public class BrandController {
     }
 
     @PostMapping("/getBrands")
-    public ResponseEntity<?> getBrands(@RequestBody BrandDto request) {
-        return ResponseEntity.ok(brandService.getBrands(request));
+    public ResponseEntity<?> getBrands(@RequestBody BrandDto request,
+                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return lookupCacheService.respond(LookupType.BRAND, ifNoneMatch, () -> brandService.getBrands(request),
+                request.getSearch());
     }
 
     @PostMapping("/search")
@@ -1,17 +1,21 @@
 package com.inventory.controller;
 
 import com.inventory.dto.CategoryDto;
+import com.inventory.enums.LookupType;
 import com.inventory.service.CategoryService;
+import com.inventory.service.LookupCacheService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/categories")
-@CrossOrigin(origins = "*", allowedHeaders = "*")
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = HttpHeaders.ETAG)
 @RequiredArgsConstructor
 public class CategoryController {
     private final CategoryService categoryService;
+    private final LookupCacheService lookupCacheService;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody CategoryDto request) {
@@ -29,8 +33,10 @@ public class CategoryController {
     }
 
     @PostMapping("/getCategories")
-    public ResponseEntity<?> getCategories(@RequestBody CategoryDto categoryDto) {
-        return ResponseEntity.ok(categoryService.getCategories(categoryDto));
+    public ResponseEntity<?> getCategories(@RequestBody CategoryDto categoryDto,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return lookupCacheService.respond(LookupType.CATEGORY, ifNoneMatch, () -> categoryService.getCategories(categoryDto),
+                categoryDto.getName(), categoryDto.getStatus());
     }
 
     @PostMapping("/search")
@@ -1,17 +1,27 @@
 package com.inventory.controller;
 
+import com.inventory.dao.ExportQuery;
+import com.inventory.enums.ExportFormat;
 import com.inventory.dto.CustomerDto;
+import com.inventory.enums.LookupType;
 import com.inventory.service.CustomerService;
+import com.inventory.service.LookupCacheService;
+import com.inventory.service.SearchExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/customers")
-@CrossOrigin(origins = "*", allowedHeaders = "*")
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = HttpHeaders.ETAG)
 @RequiredArgsConstructor
 public class CustomerController {
     private final CustomerService customerService;
+    private final LookupCacheService lookupCacheService;
+    private final ObjectProvider<SearchExportService> searchExportService;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody CustomerDto request) {
@@ -34,8 +44,10 @@ public class CustomerController {
     }
 
     @PostMapping("/getCustomers")
-    public ResponseEntity<?> getCustomers(@RequestBody CustomerDto request) {
-        return ResponseEntity.ok(customerService.getCustomers(request));
+    public ResponseEntity<?> getCustomers(@RequestBody CustomerDto request,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return lookupCacheService.respond(LookupType.CUSTOMER, ifNoneMatch, () -> customerService.getCustomers(request),
+                request.getSearch());
     }
 
     @PostMapping("/getCustomer")
@@ -43,5 +55,13 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getCustomer(request.getId()));
     }
 
-    
-} 
\ No newline at end of file
+    @PostMapping("/export/{format}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String format, @RequestBody CustomerDto request) {
+        ExportFormat exportFormat = ExportFormat.fromPath(format);
+        ExportQuery query = customerService.getCustomerExportQuery(request);
+        StreamingResponseBody body = outputStream -> searchExportService.getObject().write(query, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .headers(exportFormat.attachmentHeaders("customers"))
+                .body(body);
+    }
+}
@@ -1,17 +1,21 @@
 package com.inventory.controller;
 
 import com.inventory.dto.MachineDto;
+import com.inventory.enums.LookupType;
+import com.inventory.service.LookupCacheService;
 import com.inventory.service.MachineMasterService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/machines")
-@CrossOrigin(origins = "*", allowedHeaders = "*")
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = HttpHeaders.ETAG)
 @RequiredArgsConstructor
 public class MachineMasterController {
     private final MachineMasterService machineMasterService;
+    private final LookupCacheService lookupCacheService;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody MachineDto request) {
@@ -39,8 +43,8 @@ public class MachineMasterController {
     }
 
     @GetMapping("/list")
-    public ResponseEntity<?> getMachineList() {
-        return ResponseEntity.ok(machineMasterService.getMachineList());
+    public ResponseEntity<?> getMachineList(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return lookupCacheService.respond(LookupType.MACHINE, ifNoneMatch, machineMasterService::getMachineList, null);
     }
 }
 
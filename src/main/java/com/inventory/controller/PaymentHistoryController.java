@@ -1,10 +1,15 @@
 package com.inventory.controller;
 
+import com.inventory.dao.ExportQuery;
+import com.inventory.enums.ExportFormat;
 import com.inventory.dto.PaymentHistoryDto;
 import com.inventory.service.PaymentHistoryService;
+import com.inventory.service.SearchExportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/payment-history")
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PaymentHistoryController {
     private final PaymentHistoryService paymentHistoryService;
+    private final ObjectProvider<SearchExportService> searchExportService;
 
     @PostMapping("/save")
     public ResponseEntity<?> create(@RequestBody PaymentHistoryDto request) {
@@ -37,4 +43,14 @@ public class PaymentHistoryController {
     public ResponseEntity<?> getPaymentHistory(@RequestBody PaymentHistoryDto request) {
         return ResponseEntity.ok(paymentHistoryService.getPaymentHistory(request));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/export/{format}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String format, @RequestBody PaymentHistoryDto request) {
+        ExportFormat exportFormat = ExportFormat.fromPath(format);
+        ExportQuery query = paymentHistoryService.getPaymentHistoryExportQuery(request);
+        StreamingResponseBody body = outputStream -> searchExportService.getObject().write(query, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .headers(exportFormat.attachmentHeaders("payment-history"))
+                .body(body);
+    }
+}
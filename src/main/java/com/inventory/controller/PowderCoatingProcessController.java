@@ -5,6 +5,7 @@ import com.inventory.dto.PowderCoatingProcessPdfDto;
 import com.inventory.service.PowderCoatingProcessService;
 import com.inventory.service.PdfGenerationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PowderCoatingProcessController {
     private final PowderCoatingProcessService processService;
+    @Lazy
     private final PdfGenerationService pdfGenerationService;
 
     @PostMapping
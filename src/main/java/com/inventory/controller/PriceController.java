@@ -3,6 +3,7 @@ package com.inventory.controller;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.LastPriceRequestDto;
 import com.inventory.service.PriceService;
+import com.inventory.metrics.SqlBudget;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,7 +16,14 @@ public class PriceController {
     private final PriceService priceService;
     
     @PostMapping("/latest")
+    @SqlBudget(5)
     public ResponseEntity<ApiResponse<?>> getLastPrices(@RequestBody LastPriceRequestDto request) {
         return ResponseEntity.ok(priceService.getLastPrices(request));
     }
+
+    @PostMapping("/latest/batch")
+    @SqlBudget(5)
+    public ResponseEntity<ApiResponse<?>> getLastPricesBatch(@RequestBody LastPriceRequestDto request) {
+        return ResponseEntity.ok(priceService.getLastPricesBatch(request));
+    }
 } 
\ No newline at end of file
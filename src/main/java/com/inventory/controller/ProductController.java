@@ -1,17 +1,21 @@
 package com.inventory.controller;
 
 import com.inventory.dto.ProductDto;
+import com.inventory.enums.LookupType;
 import com.inventory.service.ProductService;
+import com.inventory.service.LookupCacheService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/products")
-@CrossOrigin(origins = "*", allowedHeaders = "*")
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = HttpHeaders.ETAG)
 @RequiredArgsConstructor
 public class ProductController {
     private final ProductService productService;
+    private final LookupCacheService lookupCacheService;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody ProductDto request) {
@@ -29,8 +33,10 @@ public class ProductController {
     }
 
     @PostMapping("/getProducts")
-    public ResponseEntity<?> getProducts(@RequestBody ProductDto productDto) {
-        return ResponseEntity.ok(productService.getProducts(productDto));
+    public ResponseEntity<?> getProducts(@RequestBody ProductDto productDto,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return lookupCacheService.respond(LookupType.PRODUCT, ifNoneMatch, () -> productService.getProducts(productDto),
+                productDto.getSearch(), productDto.getStatus(), productDto.getCategoryId());
     }
 
     @PostMapping("/search")
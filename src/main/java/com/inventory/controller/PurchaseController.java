@@ -1,12 +1,18 @@
 package com.inventory.controller;
 
+import com.inventory.dao.ExportQuery;
+import com.inventory.enums.ExportFormat;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.PurchaseDto;
 import com.inventory.dto.PurchaseRequestDto;
 import com.inventory.service.PurchaseService;
+import com.inventory.service.SearchExportService;
+import com.inventory.metrics.SqlBudget;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/purchases")
@@ -14,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PurchaseController {
     private final PurchaseService purchaseService;
+    private final ObjectProvider<SearchExportService> searchExportService;
     
     @PostMapping("/create")
     public ResponseEntity<ApiResponse<?>> createPurchase(@RequestBody PurchaseRequestDto request) {
@@ -21,7 +28,11 @@ public class PurchaseController {
     }
     
     @PostMapping("/searchPurchase")
+    @SqlBudget(10)
     public ResponseEntity<?> searchPurchases(@RequestBody PurchaseDto searchParams) {
+        if (Boolean.TRUE.equals(searchParams.getCursorMode())) {
+            return ResponseEntity.ok(purchaseService.searchPurchasesByCursor(searchParams));
+        }
         return ResponseEntity.ok(purchaseService.searchPurchases(searchParams));
     }
     
@@ -41,4 +52,14 @@ public class PurchaseController {
     public ResponseEntity<?> getPurchaseDetail(@RequestBody PurchaseDto request) {
         return ResponseEntity.ok(purchaseService.getPurchaseDetail(request));
     }
-}
\ No newline at end of file
+
+    @PostMapping("/export/{format}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String format, @RequestBody PurchaseDto request) {
+        ExportFormat exportFormat = ExportFormat.fromPath(format);
+        ExportQuery query = purchaseService.getPurchaseExportQuery(request);
+        StreamingResponseBody body = outputStream -> searchExportService.getObject().write(query, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .headers(exportFormat.attachmentHeaders("purchases"))
+                .body(body);
+    }
+}
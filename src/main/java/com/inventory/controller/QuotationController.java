@@ -1,12 +1,20 @@
 package com.inventory.controller;
 
 
+import com.inventory.dao.ExportQuery;
+import com.inventory.enums.ExportFormat;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.QuotationDto;
 import com.inventory.service.QuotationService;
+import com.inventory.service.SearchExportService;
+import com.inventory.metrics.SqlBudget;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -19,6 +27,7 @@ import org.springframework.http.MediaType;
 @Slf4j
 public class QuotationController {
     private final QuotationService quotationService;
+    private final ObjectProvider<SearchExportService> searchExportService;
 
     @PostMapping("/create")
     public ResponseEntity<ApiResponse<?>> createQuotation(@RequestBody com.inventory.dto.request.QuotationRequestDto request) {
@@ -32,8 +41,12 @@ public class QuotationController {
     }
 
     @PostMapping("/search")
+    @SqlBudget(10)
     public ResponseEntity<?> searchQuotations(@RequestBody QuotationDto searchParams) {
         log.debug("Received search quotation request: {}", searchParams);
+        if (Boolean.TRUE.equals(searchParams.getCursorMode())) {
+            return ResponseEntity.ok(quotationService.searchQuotationsByCursor(searchParams));
+        }
         return ResponseEntity.ok(quotationService.searchQuotations(searchParams));
     }
 
@@ -78,4 +91,27 @@ public class QuotationController {
         log.debug("Received quotation delete request for ID: {}", request.getQuotationId());
         return ResponseEntity.ok(quotationService.deleteQuotation(request));
     }
+
+    @PostMapping("/export-pdf-zip")
+    public ResponseEntity<StreamingResponseBody> exportQuotationPdfZip(@RequestBody QuotationDto request) {
+        List<Long> ids = quotationService.getQuotationIdsForPdfExport(request);
+        Long clientId = request.getClientId();
+        StreamingResponseBody body = outputStream -> quotationService.writeQuotationPdfZip(clientId, ids, outputStream);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("filename", "quotations.zip");
+
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @PostMapping("/export/{format}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String format, @RequestBody QuotationDto request) {
+        ExportFormat exportFormat = ExportFormat.fromPath(format);
+        ExportQuery query = quotationService.getQuotationExportQuery(request);
+        StreamingResponseBody body = outputStream -> searchExportService.getObject().write(query, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .headers(exportFormat.attachmentHeaders("quotations"))
+                .body(body);
+    }
 }
@@ -1,15 +1,23 @@
 package com.inventory.controller;
 
+import com.inventory.dao.ExportQuery;
+import com.inventory.enums.ExportFormat;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.SaleDto;
 import com.inventory.dto.SaleRequestDto;
 import com.inventory.service.SaleService;
+import com.inventory.service.SearchExportService;
+import com.inventory.metrics.SqlBudget;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/sales")
@@ -17,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class SaleController {
     private final SaleService saleService;
+    private final ObjectProvider<SearchExportService> searchExportService;
     
     @PostMapping("/create")
     public ResponseEntity<ApiResponse<?>> createPurchase(@RequestBody SaleRequestDto request) {
@@ -24,7 +33,11 @@ public class SaleController {
     }
     
     @PostMapping("/searchSale")
+    @SqlBudget(10)
     public ResponseEntity<?> searchPurchases(@RequestBody SaleDto searchParams) {
+        if (Boolean.TRUE.equals(searchParams.getCursorMode())) {
+            return ResponseEntity.ok(saleService.searchSalesByCursor(searchParams));
+        }
         return ResponseEntity.ok(saleService.searchSales(searchParams));
     }
     
@@ -60,4 +73,27 @@ public class SaleController {
 
         return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/export-pdf-zip")
+    public ResponseEntity<StreamingResponseBody> exportSalePdfZip(@RequestBody SaleDto request) {
+        List<Long> ids = saleService.getSaleIdsForPdfExport(request);
+        Long clientId = request.getClientId();
+        StreamingResponseBody body = outputStream -> saleService.writeSalePdfZip(clientId, ids, outputStream);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("filename", "sale-invoices.zip");
+
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    @PostMapping("/export/{format}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String format, @RequestBody SaleDto request) {
+        ExportFormat exportFormat = ExportFormat.fromPath(format);
+        ExportQuery query = saleService.getSaleExportQuery(request);
+        StreamingResponseBody body = outputStream -> searchExportService.getObject().write(query, exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .headers(exportFormat.attachmentHeaders("sales"))
+                .body(body);
+    }
+}
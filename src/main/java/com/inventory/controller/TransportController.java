@@ -6,6 +6,7 @@ import com.inventory.service.TransportPdfGenerationService;
 import com.inventory.service.TransportService;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class TransportController {
     private final TransportService transportService;
+    @Lazy
     private final TransportPdfGenerationService pdfGenerationService;
     
     @PostMapping("/create")
@@ -1,17 +1,21 @@
 package com.inventory.controller;
 
 import com.inventory.dto.TransportMasterDto;
+import com.inventory.enums.LookupType;
 import com.inventory.service.TransportMasterService;
+import com.inventory.service.LookupCacheService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/transports")
-@CrossOrigin(origins = "*", allowedHeaders = "*")
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = HttpHeaders.ETAG)
 @RequiredArgsConstructor
 public class TransportMasterController {
     private final TransportMasterService transportMasterService;
+    private final LookupCacheService lookupCacheService;
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody TransportMasterDto request) {
@@ -31,8 +35,10 @@ public class TransportMasterController {
     }
 
     @PostMapping("/getTransports")
-    public ResponseEntity<?> getTransports(@RequestBody TransportMasterDto request) {
-        return ResponseEntity.ok(transportMasterService.getTransports(request));
+    public ResponseEntity<?> getTransports(@RequestBody TransportMasterDto request,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return lookupCacheService.respond(LookupType.TRANSPORT_MASTER, ifNoneMatch, () -> transportMasterService.getTransports(request),
+                request.getSearch());
     }
 
     @PostMapping("/search")
@@ -6,6 +6,7 @@ import com.inventory.dto.request.AttendanceSearchRequestDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
 import org.hibernate.jpa.QueryHints;
 import org.springframework.stereotype.Repository;
 
@@ -18,7 +19,10 @@ import java.util.List;
 import java.util.Map;
 
 @Repository
+@RequiredArgsConstructor
 public class AttendanceDao {
+    private final SearchCountResolver searchCountResolver;
+
     @PersistenceContext
     private EntityManager entityManager;
     
@@ -146,6 +150,38 @@ public class AttendanceDao {
         return attendances;
     }
     
+    /**
+     * Attendance rows of every employee of the client for the period, grouped by employee id.
+     * Row shape matches {@link #getMonthlyAttendance}.
+     */
+    public Map<Long, List<Map<String, Object>>> getAttendanceByEmployeeForPeriod(Long clientId, LocalDate startDate, LocalDate endDate) {
+        String sql = """
+            select DATE(a.start_date_time) as attendance_date, a.start_date_time, a.end_date_time,
+            a.regular_hours, a.overtime_hours, a.regular_pay, a.overtime_pay , a.total_pay, a.shift,
+            a.employee_id
+                FROM
+                    attendance a
+                WHERE a.client_id = :clientId
+                AND DATE(a.start_date_time) BETWEEN :startDate AND :endDate
+                ORDER BY a.employee_id, a.start_date_time
+        """;
+
+        Query query = entityManager.createNativeQuery(sql)
+            .setParameter("clientId", clientId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            .setHint(QueryHints.HINT_FETCH_SIZE, 500);
+
+        List<Object[]> results = query.getResultList();
+        Map<Long, List<Object[]>> rowsByEmployee = new HashMap<>();
+        for (Object[] row : results) {
+            rowsByEmployee.computeIfAbsent(((Number) row[9]).longValue(), k -> new ArrayList<>()).add(row);
+        }
+        Map<Long, List<Map<String, Object>>> attendanceByEmployee = new HashMap<>();
+        rowsByEmployee.forEach((employeeId, rows) -> attendanceByEmployee.put(employeeId, transformAttendanceResults(rows)));
+        return attendanceByEmployee;
+    }
+
     public List<Map<String, Object>> getAllEmployeesAttendanceSummary(Long clientId, LocalDate startDate, LocalDate endDate) {
         String sql = """
             SELECT 
@@ -201,13 +237,41 @@ public class AttendanceDao {
     }
     
     /**
-     * Get all attendance records with pagination and filters
-     * Optimized for performance with proper indexing and efficient joins
-     * Returns Map with content and pagination metadata
+     * Unpaged variant of {@link #getAllAttendanceWithFilters} for file exports
      */
-    public Map<String, Object> getAllAttendanceWithFilters(Long clientId, AttendanceDto request) {
-        StringBuilder baseCondition = new StringBuilder();
+    public ExportQuery buildAttendanceExportQuery(Long clientId, AttendanceDto request) {
         Map<String, Object> params = new HashMap<>();
+        StringBuilder baseCondition = buildAttendanceConditions(clientId, request, params);
+
+        String sortColumn = getSortColumn(request.getSortBy());
+        String sortDirection = "desc".equalsIgnoreCase(request.getSortDir()) ? "DESC" : "ASC";
+
+        String sql = """
+            SELECT 
+                e.name as employee_name, 
+                e.mobile_number as employee_mobile,
+                e.department as employee_department,
+                a.shift,
+                a.start_date_time, 
+                a.end_date_time, 
+                a.regular_hours, 
+                a.overtime_hours, 
+                a.regular_pay, 
+                a.overtime_pay, 
+                a.total_pay,
+                a.remarks
+            FROM attendance a
+            JOIN employee e ON a.employee_id = e.id
+        """ + baseCondition +
+        " ORDER BY " + sortColumn + " " + sortDirection;
+
+        return new ExportQuery(sql, params, List.of(
+                "Employee", "Mobile", "Department", "Shift", "Start Time", "End Time", "Regular Hours",
+                "Overtime Hours", "Regular Pay", "Overtime Pay", "Total Pay", "Remarks"));
+    }
+
+    private StringBuilder buildAttendanceConditions(Long clientId, AttendanceDto request, Map<String, Object> params) {
+        StringBuilder baseCondition = new StringBuilder();
         
         // Base condition
         baseCondition.append(" WHERE a.client_id = :clientId");
@@ -246,13 +310,21 @@ public class AttendanceDao {
             params.put("employeeMobile", "%" + request.getEmployeeMobile() + "%");
         }
         
-        // Count Query
-        String countSql = "SELECT COUNT(a.id) FROM attendance a " +
-                         "JOIN employee e ON a.employee_id = e.id" +
-                         baseCondition;
-        Query countQuery = entityManager.createNativeQuery(countSql);
-        setQueryParameters(countQuery, params);
-        Long totalRecords = ((Number) countQuery.getSingleResult()).longValue();
+        return baseCondition;
+    }
+    
+    /**
+     * Get all attendance records with pagination and filters
+     * Optimized for performance with proper indexing and efficient joins
+     * Returns Map with content and pagination metadata
+     */
+    public Map<String, Object> getAllAttendanceWithFilters(Long clientId, AttendanceDto request) {
+        Map<String, Object> params = new HashMap<>();
+        StringBuilder baseCondition = buildAttendanceConditions(clientId, request, params);
+        
+        // Total per requested count mode
+        Long totalCount = searchCountResolver.count(request.getCountMode(), "attendance",
+                "FROM attendance a JOIN employee e ON a.employee_id = e.id" + baseCondition, params);
         
         // Determine sort column
         String sortColumn = getSortColumn(request.getSortBy());
@@ -288,11 +360,13 @@ public class AttendanceDao {
         
         Query query = entityManager.createNativeQuery(sql);
         setQueryParameters(query, params);
-        query.setParameter("pageSize", request.getSize());
+        query.setParameter("pageSize", SearchCountResolver.pageLimit(request.getCountMode(), request.getSize()));
         query.setParameter("offset", request.getPage() * request.getSize());
         
         @SuppressWarnings("unchecked")
         List<Object[]> results = query.getResultList();
+        long totalRecords = SearchCountResolver.resolveTotal(totalCount, results,
+                (long) request.getPage() * request.getSize(), request.getSize());
         
         return buildAttendanceResponse(results, totalRecords, request);
     }
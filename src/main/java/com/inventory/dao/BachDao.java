@@ -4,24 +4,33 @@ import com.inventory.dto.BachDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
 
 @Repository
+@RequiredArgsConstructor
 public class BachDao {
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    private static final SortWhitelist SORTS = SortWhitelist.of("b",
+            "date", "shift", "name", "operator", "machine_id", "created_at");
+
+    private final SearchCountResolver searchCountResolver;
+
     @PersistenceContext
     private EntityManager entityManager;
 
     public Map<String, Object> search(BachDto dto) {
-        StringBuilder countSql = new StringBuilder("SELECT COUNT(b.id) FROM batch b WHERE 1=1");
+        StringBuilder fromSql = new StringBuilder("FROM batch b WHERE 1=1");
         Map<String, Object> params = new HashMap<>();
-        appendConditions(countSql, params, dto);
-
-        Query countQuery = entityManager.createNativeQuery(countSql.toString());
-        params.forEach(countQuery::setParameter);
-        long totalRecords = ((Number) countQuery.getSingleResult()).longValue();
+        appendConditions(fromSql, params, dto);
+        Long totalCount = searchCountResolver.count(dto.getCountMode(), "batch", fromSql.toString(), params);
 
         StringBuilder sql = new StringBuilder();
         sql.append("""
@@ -31,16 +40,18 @@ public class BachDao {
             WHERE 1=1
         """);
         appendConditions(sql, params, dto);
-        sql.append(" ORDER BY b." + dto.getSortBy() + " " + dto.getSortDir().toUpperCase());
+        sql.append(" ORDER BY ").append(SORTS.orderBy(dto.getSortBy(), dto.getSortDir()));
         sql.append(" LIMIT :pageSize OFFSET :offset");
 
         Query query = entityManager.createNativeQuery(sql.toString());
         params.forEach(query::setParameter);
-        query.setParameter("pageSize", dto.getSize());
+        query.setParameter("pageSize", SearchCountResolver.pageLimit(dto.getCountMode(), dto.getSize()));
         query.setParameter("offset", dto.getPage() * dto.getSize());
 
         @SuppressWarnings("unchecked")
         List<Object[]> results = (List<Object[]>) query.getResultList();
+        long totalRecords = SearchCountResolver.resolveTotal(totalCount, results,
+                (long) dto.getPage() * dto.getSize(), dto.getSize());
         Map<String, Object> response = new HashMap<>();
         List<Map<String, Object>> content = new ArrayList<>();
         for (Object[] row : results) {
@@ -89,91 +100,89 @@ public class BachDao {
         }
     }
 
-    public List<Long> findBatchIdsForExport(BachDto dto) {
-        StringBuilder sql = new StringBuilder("SELECT b.id FROM batch b WHERE 1=1");
-        Map<String, Object> params = new HashMap<>();
-        appendConditions(sql, params, dto);
-        // Default ordering for export
-        sql.append(" ORDER BY b." + dto.getSortBy() + " " + dto.getSortDir().toUpperCase());
-
-        Query query = entityManager.createNativeQuery(sql.toString());
-        params.forEach(query::setParameter);
-
-        @SuppressWarnings("unchecked")
-        List<Number> ids = (List<Number>) query.getResultList();
-        List<Long> result = new ArrayList<>();
-        for (Number n : ids) {
-            if (n != null) result.add(n.longValue());
-        }
-        return result;
-    }
-
     /**
-     * Fetches all batch data for export in a single query with joins
-     * Returns batch data with machine information
+     * Opens a forward-only cursor over the batches matching the filter, joined with machine name.
+     * Rows are ordered by batch id so mixer and production cursors can be merged alongside; the
+     * export therefore has a fixed order. {@code sortDir} picks the direction, {@code sortBy} is
+     * ignored.
      */
-    public List<Object[]> findAllBatchesForExport(BachDto dto) {
+    public ScrollableResults<Object[]> scrollBatchesForExport(BachDto dto) {
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT b.id, b.date, b.shift, b.name, b.operator, b.resign_bag_use, ");
         sql.append("b.resign_bag_opening_stock, b.cpw_bag_use, b.cpw_bag_opening_stock, ");
         sql.append("m.name as machine_name ");
-        sql.append("FROM (select * from batch b where 1=1 ");
+        sql.append("FROM batch b ");
+        sql.append("LEFT JOIN machine_master m ON b.machine_id = m.id ");
+        sql.append("WHERE 1=1");
         Map<String, Object> params = new HashMap<>();
         appendConditions(sql, params, dto);
-        sql.append(") b ");
-        sql.append("LEFT JOIN machine_master m ON b.machine_id = m.id ");
-        sql.append(" ORDER BY b." + dto.getSortBy() + " " + dto.getSortDir().toUpperCase());
+        sql.append(" ORDER BY b.id ").append(exportDirection(dto));
 
-        Query query = entityManager.createNativeQuery(sql.toString());
-        params.forEach(query::setParameter);
-
-        @SuppressWarnings("unchecked")
-        List<Object[]> result = (List<Object[]>) query.getResultList();
-        return result;
+        return scroll(sql.toString(), params);
     }
 
     /**
-     * Fetches all mixer data for given batch IDs in a single query with product information
+     * Opens a forward-only cursor over the mixer rows of the batches matching the filter,
+     * in the same batch order as {@link #scrollBatchesForExport}.
      */
-    public List<Object[]> findAllMixersForExport(List<Long> batchIds) {
-        if (batchIds == null || batchIds.isEmpty()) {
-            return new ArrayList<>();
-        }
-
+    public ScrollableResults<Object[]> scrollMixersForExport(BachDto dto) {
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT m.batch_id, m.quantity, p.name as product_name ");
-        sql.append("FROM (select * from mixer where batch_id in (:batchIds)) m ");
+        sql.append("FROM mixer m ");
+        sql.append("JOIN batch b ON m.batch_id = b.id ");
         sql.append("LEFT JOIN product p ON m.product_id = p.id ");
-        sql.append("ORDER BY m.batch_id, m.id ");
-
-        Query query = entityManager.createNativeQuery(sql.toString());
-        query.setParameter("batchIds", batchIds);
+        sql.append("WHERE 1=1");
+        Map<String, Object> params = new HashMap<>();
+        appendConditions(sql, params, dto);
+        sql.append(" ORDER BY m.batch_id ").append(exportDirection(dto)).append(", m.id");
 
-        @SuppressWarnings("unchecked")
-        List<Object[]> result = (List<Object[]>) query.getResultList();
-        return result;
+        return scroll(sql.toString(), params);
     }
 
     /**
-     * Fetches all production data for given batch IDs in a single query with product information
+     * Opens a forward-only cursor over the production rows of the batches matching the filter,
+     * in the same batch order as {@link #scrollBatchesForExport}.
      */
-    public List<Object[]> findAllProductionsForExport(List<Long> batchIds) {
-        if (batchIds == null || batchIds.isEmpty()) {
-            return new ArrayList<>();
-        }
-
+    public ScrollableResults<Object[]> scrollProductionsForExport(BachDto dto) {
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT p.batch_id, p.quantity, p.number_of_roll, p.is_wastage, pr.name as product_name ");
-        sql.append("FROM (select * from production where batch_id in (:batchIds)) p ");
+        sql.append("FROM production p ");
+        sql.append("JOIN batch b ON p.batch_id = b.id ");
         sql.append("LEFT JOIN product pr ON p.product_id = pr.id ");
-        sql.append("ORDER BY p.batch_id, p.id ");
+        sql.append("WHERE 1=1");
+        Map<String, Object> params = new HashMap<>();
+        appendConditions(sql, params, dto);
+        sql.append(" ORDER BY p.batch_id ").append(exportDirection(dto)).append(", p.id");
+
+        return scroll(sql.toString(), params);
+    }
+
+    public boolean existsBatchForExport(BachDto dto) {
+        StringBuilder sql = new StringBuilder("SELECT 1 FROM batch b WHERE 1=1");
+        Map<String, Object> params = new HashMap<>();
+        appendConditions(sql, params, dto);
+        sql.append(" LIMIT 1");
 
         Query query = entityManager.createNativeQuery(sql.toString());
-        query.setParameter("batchIds", batchIds);
+        params.forEach(query::setParameter);
+        return !query.getResultList().isEmpty();
+    }
 
-        @SuppressWarnings("unchecked")
-        List<Object[]> result = (List<Object[]>) query.getResultList();
-        return result;
+    public static boolean isAscending(BachDto dto) {
+        return "asc".equalsIgnoreCase(dto.getSortDir());
+    }
+
+    private String exportDirection(BachDto dto) {
+        return isAscending(dto) ? "ASC" : "DESC";
+    }
+
+    @SuppressWarnings("unchecked")
+    private ScrollableResults<Object[]> scroll(String sql, Map<String, Object> params) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        params.forEach(query::setParameter);
+        query.setFetchSize(EXPORT_FETCH_SIZE);
+        query.setReadOnly(true);
+        return query.scroll(ScrollMode.FORWARD_ONLY);
     }
 }
 
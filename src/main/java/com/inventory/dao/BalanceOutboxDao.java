@@ -0,0 +1,141 @@
+package com.inventory.dao;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import com.inventory.enums.OutboxTarget;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Claims and applies {@code balance_outbox} rows. All statements run in the dispatcher's
+ * transaction: claimed rows stay locked (other instances skip them) until the deltas are
+ * applied and the rows marked processed, so each row takes effect exactly once.
+ * <p>
+ * Statements are synchronized on {@code balance_outbox} only, so Hibernate does not drop every
+ * second-level cache region on each batch; product and customer are not cached.
+ * <p>
+ * Readers of stock and balances use {@link #stockWithPending} / {@link #balanceWithPending}, so
+ * they also see deltas that are committed but not applied yet.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BalanceOutboxDao {
+    private final EntityManager entityManager;
+
+    /**
+     * {@code alias.remaining_quantity} plus the stock deltas still pending for the product. A row
+     * is applied and marked processed in one transaction, so one statement counts each delta
+     * once, either in the column or as pending.
+     */
+    public static String stockWithPending(String alias) {
+        return withPending(alias, "remaining_quantity", OutboxTarget.PRODUCT);
+    }
+
+    /** {@code alias.remaining_payment_amount} plus the balance deltas still pending for the customer. */
+    public static String balanceWithPending(String alias) {
+        return withPending(alias, "remaining_payment_amount", OutboxTarget.CUSTOMER);
+    }
+
+    private static String withPending(String alias, String column, OutboxTarget targetType) {
+        return "COALESCE(COALESCE(" + alias + column + ", 0) + (SELECT SUM(o.delta) FROM balance_outbox o "
+                + "WHERE o.processed_at IS NULL AND o.target_type = '" + targetType.name() + "' "
+                + "AND o.target_id = " + alias + "id), " + alias + column + ")";
+    }
+
+    /** Current stock by product id, including pending deltas; products without stock are left out. */
+    @SuppressWarnings("unchecked")
+    public Map<Long, BigDecimal> findStock(Collection<Long> productIds) {
+        Map<Long, BigDecimal> stock = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return stock;
+        }
+        List<Object[]> rows = (List<Object[]>) query("SELECT p.id, " + stockWithPending("p.") + " FROM product p WHERE p.id IN (:ids)")
+                .addSynchronizedQuerySpace("product")
+                .setParameterList("ids", productIds)
+                .getResultList();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                stock.put(((Number) row[0]).longValue(), (BigDecimal) row[1]);
+            }
+        }
+        return stock;
+    }
+
+    /** Locks up to {@code limit} unprocessed rows, oldest first, skipping rows claimed elsewhere. */
+    @SuppressWarnings("unchecked")
+    public List<Long> claimPending(int limit) {
+        return ((List<Number>) entityManager.createNativeQuery(
+                        "SELECT id FROM balance_outbox WHERE processed_at IS NULL ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED")
+                .setParameter("limit", limit)
+                .getResultList())
+                .stream()
+                .map(Number::longValue)
+                .toList();
+    }
+
+    /**
+     * Adds the summed product deltas of the claimed rows to {@code product.remaining_quantity}.
+     *
+     * @return ids of the updated products
+     */
+    public List<Long> applyProductDeltas(Collection<Long> outboxIds) {
+        return apply("product", "remaining_quantity", "PRODUCT", outboxIds);
+    }
+
+    /**
+     * Adds the summed customer deltas of the claimed rows to {@code customer.remaining_payment_amount}.
+     *
+     * @return ids of the updated customers
+     */
+    public List<Long> applyCustomerDeltas(Collection<Long> outboxIds) {
+        return apply("customer", "remaining_payment_amount", "CUSTOMER", outboxIds);
+    }
+
+    public int markProcessed(Collection<Long> outboxIds) {
+        return query("UPDATE balance_outbox SET processed_at = now() WHERE id IN (:ids)")
+                .setParameterList("ids", outboxIds)
+                .executeUpdate();
+    }
+
+    public int deleteProcessedBefore(OffsetDateTime before) {
+        return query("DELETE FROM balance_outbox WHERE processed_at IS NOT NULL AND processed_at < :before")
+                .setParameter("before", before)
+                .executeUpdate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> apply(String table, String column, String targetType, Collection<Long> outboxIds) {
+        String deltas = "SELECT target_id, SUM(delta) AS delta FROM balance_outbox "
+                + "WHERE id IN (:ids) AND target_type = :targetType GROUP BY target_id";
+
+        // Lock the target rows in id order first, so concurrent writers cannot deadlock with us
+        query("SELECT t.id FROM " + table + " t WHERE t.id IN (SELECT target_id FROM (" + deltas + ") d) ORDER BY t.id FOR UPDATE")
+                .setParameterList("ids", outboxIds)
+                .setParameter("targetType", targetType)
+                .getResultList();
+
+        return ((List<Number>) query("UPDATE " + table + " t SET " + column + " = COALESCE(t." + column + ", 0) + d.delta "
+                + "FROM (" + deltas + ") d WHERE t.id = d.target_id AND d.delta <> 0 RETURNING t.id")
+                .setParameterList("ids", outboxIds)
+                .setParameter("targetType", targetType)
+                .getResultList())
+                .stream()
+                .map(Number::longValue)
+                .toList();
+    }
+
+    private NativeQuery<?> query(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("balance_outbox");
+    }
+}
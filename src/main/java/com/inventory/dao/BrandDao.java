@@ -11,6 +11,9 @@ import java.util.*;
 
 @Repository
 public class BrandDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("b",
+            "name", "remarks", "status", "created_at", "updated_at");
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -93,9 +96,9 @@ public class BrandDao {
         appendConditions(sql, params, dto);
 
         sql.append("""
-                ORDER BY b.%s %s
+                ORDER BY %s
                 LIMIT :pageSize OFFSET :offset
-            """.formatted(dto.getSortBy(), dto.getSortDir().toUpperCase()));
+            """.formatted(SORTS.orderBy(dto.getSortBy(), dto.getSortDir())));
 
         Query query = entityManager.createNativeQuery(sql.toString());
         params.forEach(query::setParameter);
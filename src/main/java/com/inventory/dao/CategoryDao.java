@@ -14,6 +14,9 @@ import java.util.Map;
 
 @Repository
 public class CategoryDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("c",
+            "name", "status", "remaining_quantity", "created_at", "updated_at");
+
     @PersistenceContext
     private EntityManager entityManager;
     public List<Map<String, Object>> getCategories(CategoryDto categoryDto) {
@@ -117,9 +120,9 @@ public class CategoryDao {
         appendSearchConditions(sql, params, categoryDto);
 
         sql.append("""
-                ORDER BY c.%s %s
+                ORDER BY %s
                 LIMIT :pageSize OFFSET :offset
-            """.formatted(categoryDto.getSortBy(), categoryDto.getSortDir().toUpperCase()));
+            """.formatted(SORTS.orderBy(categoryDto.getSortBy(), categoryDto.getSortDir())));
 
         Query query = entityManager.createNativeQuery(sql.toString());
         setQueryParameters(query, params, categoryDto);
@@ -4,6 +4,7 @@ import com.inventory.dto.CustomerDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
@@ -13,7 +14,10 @@ import java.util.List;
 import java.util.Map;
 
 @Repository
+@RequiredArgsConstructor
 public class CustomerDao {
+    private final SearchCountResolver searchCountResolver;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -21,50 +25,25 @@ public class CustomerDao {
         StringBuilder countSql = new StringBuilder();
         Map<String, Object> params = new HashMap<>();
 
-        countSql.append("SELECT COUNT(c.id) FROM customer c WHERE c.client_id = :clientId");
+        countSql.append("FROM customer c WHERE c.client_id = :clientId");
         params.put("clientId", dto.getClientId());
+        appendSearchConditions(countSql, params, dto);
 
-        if (StringUtils.hasText(dto.getSearch())) {
-            countSql.append(" AND (LOWER(c.name) LIKE LOWER(:search) OR c.mobile LIKE :search OR LOWER(c.gst) LIKE LOWER(:search))");
-            params.put("search", "%" + dto.getSearch().trim() + "%");
-        }
-        if(dto.getStartDate() != null){
-            countSql.append(" AND c.next_action_date >= :startDate");
-            params.put("startDate", dto.getStartDate());
-        }
-        if(dto.getEndDate() != null){
-            countSql.append(" AND c.next_action_date <= :endDate");
-            params.put("endDate", dto.getEndDate());
-        }
-
-        Query countQuery = entityManager.createNativeQuery(countSql.toString());
-        params.forEach(countQuery::setParameter);
-        
-        long totalRecords = ((Number) countQuery.getSingleResult()).longValue();
+        Long totalCount = searchCountResolver.count(dto.getCountMode(), "customer", countSql.toString(), params);
 
         StringBuilder sql = new StringBuilder();
         sql.append("""
             SELECT 
                 c.id, c.name, c.gst, c.address, c.mobile,
-                c.remaining_payment_amount, c.next_action_date,
+                %s, c.next_action_date,
                 c.email, c.remarks, c.status,
                 c.reference_name,
                 c.created_at, c.updated_at
             FROM customer c
             WHERE c.client_id = :clientId
-        """);
+        """.formatted(BalanceOutboxDao.balanceWithPending("c.")));
 
-        if (StringUtils.hasText(dto.getSearch())) {
-            sql.append(" AND (LOWER(c.name) LIKE LOWER(:search))");
-        }
-        if(dto.getStartDate() != null){
-            sql.append(" AND c.next_action_date >= :startDate");
-            params.put("startDate", dto.getStartDate());
-        }
-        if(dto.getEndDate() != null){
-            sql.append(" AND c.next_action_date <= :endDate");
-            params.put("endDate", dto.getEndDate());
-        }
+        appendSearchConditions(sql, params, dto);
 
         params.put("clientId", dto.getClientId());
 
@@ -72,13 +51,54 @@ public class CustomerDao {
 
         Query query = entityManager.createNativeQuery(sql.toString());
         params.forEach(query::setParameter);
-        query.setParameter("pageSize", dto.getPerPageRecord());
+        query.setParameter("pageSize", SearchCountResolver.pageLimit(dto.getCountMode(), dto.getPerPageRecord()));
         query.setParameter("offset", (long) dto.getCurrentPage() * dto.getPerPageRecord());
 
         List<Object[]> results = query.getResultList();
+        long totalRecords = SearchCountResolver.resolveTotal(totalCount, results,
+                (long) dto.getCurrentPage() * dto.getPerPageRecord(), dto.getPerPageRecord());
         return transformResults(results, totalRecords, dto.getPerPageRecord());
     }
 
+    public ExportQuery buildCustomerExportQuery(CustomerDto dto) {
+        StringBuilder sql = new StringBuilder();
+        Map<String, Object> params = new HashMap<>();
+
+        sql.append("""
+            SELECT 
+                c.name, c.mobile, c.email, c.gst, c.address,
+                %s, c.next_action_date,
+                c.reference_name, c.status, c.remarks
+            FROM customer c
+            WHERE c.client_id = :clientId
+        """.formatted(BalanceOutboxDao.balanceWithPending("c.")));
+        params.put("clientId", dto.getClientId());
+
+        appendSearchConditions(sql, params, dto);
+        sql.append(" ORDER BY c.id DESC");
+
+        return new ExportQuery(sql.toString(), params, List.of(
+                "Name", "Mobile", "Email", "GST", "Address", "Remaining Payment Amount", "Next Action Date",
+                "Reference Name", "Status", "Remarks"));
+    }
+
+    private void appendSearchConditions(StringBuilder sql, Map<String, Object> params, CustomerDto dto) {
+        if (StringUtils.hasText(dto.getSearch())) {
+            sql.append(" AND (").append(SearchExpressions.customerName("c.")).append(" LIKE :search")
+                    .append(" OR ").append(SearchExpressions.customerMobile("c.")).append(" LIKE :search")
+                    .append(" OR ").append(SearchExpressions.customerGst("c.")).append(" LIKE :search)");
+            params.put("search", SearchExpressions.containsTerm(dto.getSearch()));
+        }
+        if(dto.getStartDate() != null){
+            sql.append(" AND c.next_action_date >= :startDate");
+            params.put("startDate", dto.getStartDate());
+        }
+        if(dto.getEndDate() != null){
+            sql.append(" AND c.next_action_date <= :endDate");
+            params.put("endDate", dto.getEndDate());
+        }
+    }
+
     private Map<String, Object> transformResults(List<Object[]> results, long totalRecords, int pageSize) {
         List<Map<String, Object>> customers = new ArrayList<>();
 
@@ -126,8 +146,8 @@ public class CustomerDao {
         params.put("clientId", dto.getClientId());
 
         if (StringUtils.hasText(dto.getSearch())) {
-            sql.append(" AND LOWER(c.name) LIKE LOWER(:search)");
-            params.put("search", "%" + dto.getSearch().trim() + "%");
+            sql.append(" AND ").append(SearchExpressions.customerName("c.")).append(" LIKE :search");
+            params.put("search", SearchExpressions.containsTerm(dto.getSearch()));
         }
 
         sql.append(" ORDER BY c.name ASC");
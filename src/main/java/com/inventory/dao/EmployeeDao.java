@@ -15,6 +15,9 @@ import java.util.Map;
 
 @Repository
 public class EmployeeDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("e",
+            "name", "mobile_number", "email", "address", "designation", "department", "status", "created_at");
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -42,9 +45,9 @@ public class EmployeeDao {
 
         appendSearchConditions(sql, params, dto);
         sql.append("""
-            ORDER BY e.%s %s
+            ORDER BY %s
             LIMIT :pageSize OFFSET :offset
-        """.formatted(dto.getSortBy(), dto.getSortDir().toUpperCase()));
+        """.formatted(SORTS.orderBy(dto.getSortBy(), dto.getSortDir())));
 
         Query query = entityManager.createNativeQuery(sql.toString());
         setQueryParameters(query, params, dto);
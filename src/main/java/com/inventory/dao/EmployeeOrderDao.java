@@ -16,10 +16,13 @@ import java.util.Map;
 @Repository
 @RequiredArgsConstructor
 public class EmployeeOrderDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("eo", "quantity", "status", "created_at", "updated_at")
+            .with("product_name", "p.name");
+
     private final EntityManager entityManager;
     
     public Map<String, Object> searchEmployeeOrders(EmployeeOrderDto dto) {
-        StringBuilder countQuery = new StringBuilder("SELECT COUNT(*) FROM (SELECT * FROM employee_orders WHERE client_id = :clientId) eo JOIN (SELECT * FROM product WHERE client_id = :clientId) p ON eo.product_id = p.id");
+        StringBuilder countQuery = new StringBuilder("SELECT COUNT(*) FROM employee_orders eo JOIN product p ON p.id = eo.product_id AND p.client_id = :clientId WHERE eo.client_id = :clientId");
         StringBuilder dataQuery = new StringBuilder("""
             SELECT 
                 eo.id, 
@@ -31,17 +34,16 @@ public class EmployeeOrderDao {
                 eo.quantity,
                 eo.remarks,
                 eo.status
-            FROM (SELECT * FROM employee_orders WHERE client_id = :clientId) eo
-            JOIN (SELECT * FROM product WHERE client_id = :clientId) p ON eo.product_id = p.id 
-            WHERE 1=1
+            FROM employee_orders eo
+            JOIN product p ON p.id = eo.product_id AND p.client_id = :clientId
+            WHERE eo.client_id = :clientId
         """);
         
         Map<String, Object> params = new HashMap<>();
         params.put("clientId", dto.getClientId());
         buildWhereClause(countQuery, dataQuery, params, dto);
         
-        dataQuery.append(" ORDER BY eo.").append(dto.getSortBy())
-                .append(" ").append(dto.getSortDir())
+        dataQuery.append(" ORDER BY ").append(SORTS.orderBy(dto.getSortBy(), dto.getSortDir()))
                 .append(" LIMIT :perPageRecord OFFSET :offset");
         
         Query query = entityManager.createNativeQuery(countQuery.toString());
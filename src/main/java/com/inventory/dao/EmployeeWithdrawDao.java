@@ -25,9 +25,9 @@ public class EmployeeWithdrawDao {
         Map<String, Object> params = new HashMap<>();
 
         select.append("SELECT ew.id, e.name AS employee_name, e.mobile_number, ew.employee_id, ew.withdraw_date, ew.payment, ew.remarks, ew.created_at ");
-        fromWhere.append("FROM (select * from employee_withdraw ew where ew.client_id = :clientId) ew ");
-        fromWhere.append("LEFT JOIN (select id, name, mobile_number from employee where client_id = :clientId) e ON e.id = ew.employee_id ");
-        fromWhere.append("WHERE 1=1 ");
+        fromWhere.append("FROM employee_withdraw ew ");
+        fromWhere.append("LEFT JOIN employee e ON e.id = ew.employee_id AND e.client_id = :clientId ");
+        fromWhere.append("WHERE ew.client_id = :clientId ");
         params.put("clientId", dto.getClientId());
 
         if (dto.getEmployeeId() != null) {
@@ -89,9 +89,10 @@ public class EmployeeWithdrawDao {
                 e.id as employee_id,
                 e.name as employee_name,
                 COALESCE(SUM(ew.payment), 0) as total_withdraw
-            FROM (select * from employee e where e.client_id = :clientId and e.status = 'A') e
+            FROM employee e
             LEFT JOIN employee_withdraw ew ON e.id = ew.employee_id 
                 AND ew.withdraw_date BETWEEN :startDate AND :endDate
+            WHERE e.client_id = :clientId AND e.status = 'A'
             GROUP BY e.id, e.name
             ORDER BY e.name ASC
         """;
@@ -114,6 +115,35 @@ public class EmployeeWithdrawDao {
         
         return summaries;
     }
+
+    /**
+     * Withdraw records of every employee of the client for the period, grouped by employee id.
+     */
+    public Map<Long, List<Map<String, Object>>> getWithdrawRecordsByEmployee(Long clientId, LocalDate startDate, LocalDate endDate) {
+        String sql = """
+            SELECT ew.employee_id, ew.withdraw_date, ew.payment, ew.remarks
+            FROM employee_withdraw ew
+            WHERE ew.client_id = :clientId
+            AND ew.withdraw_date BETWEEN :startDate AND :endDate
+            ORDER BY ew.employee_id, ew.withdraw_date
+        """;
+
+        Query query = entityManager.createNativeQuery(sql)
+            .setParameter("clientId", clientId)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate);
+
+        List<Object[]> results = query.getResultList();
+        Map<Long, List<Map<String, Object>>> withdrawsByEmployee = new HashMap<>();
+        for (Object[] row : results) {
+            Map<String, Object> withdraw = new HashMap<>();
+            withdraw.put("withdrawDate", row[1]);
+            withdraw.put("payment", row[2]);
+            withdraw.put("remarks", row[3]);
+            withdrawsByEmployee.computeIfAbsent(((Number) row[0]).longValue(), k -> new ArrayList<>()).add(withdraw);
+        }
+        return withdrawsByEmployee;
+    }
 }
 
 
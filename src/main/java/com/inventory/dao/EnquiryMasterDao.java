@@ -11,6 +11,9 @@ import java.util.*;
 
 @Repository
 public class EnquiryMasterDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("e",
+            "name", "mobile", "mail", "subject", "status", "type", "company", "city", "state", "created_at", "updated_at");
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -40,8 +43,8 @@ public class EnquiryMasterDao {
         """);
 
         if (StringUtils.hasText(dto.getSearch())) {
-            sql.append(" AND (LOWER(e.name) LIKE LOWER(:search) OR LOWER(e.mobile) LIKE LOWER(:search) OR LOWER(e.mail) LIKE LOWER(:search) OR LOWER(e.subject) LIKE LOWER(:search) OR LOWER(e.type) LIKE LOWER(:search) OR LOWER(e.company) LIKE LOWER(:search) OR LOWER(e.city) LIKE LOWER(:search) OR LOWER(e.state) LIKE LOWER(:search))");
-            params.put("search", "%" + dto.getSearch().trim() + "%");
+            sql.append(" AND ").append(SearchExpressions.enquiryDocument("e.")).append(" LIKE :search");
+            params.put("search", SearchExpressions.containsTerm(dto.getSearch()));
         }
 
         sql.append(" AND e.client_id = :clientId");
@@ -117,9 +120,9 @@ public class EnquiryMasterDao {
         appendConditions(sql, params, dto);
 
         sql.append("""
-                ORDER BY e.%s %s
+                ORDER BY %s
                 LIMIT :pageSize OFFSET :offset
-            """.formatted(dto.getSortBy(), dto.getSortDir().toUpperCase()));
+            """.formatted(SORTS.orderBy(dto.getSortBy(), dto.getSortDir())));
 
         Query query = entityManager.createNativeQuery(sql.toString());
         params.forEach(query::setParameter);
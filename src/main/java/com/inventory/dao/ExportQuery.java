@@ -0,0 +1,11 @@
+package com.inventory.dao;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unpaged search SQL handed to {@link com.inventory.service.SearchExportService}. The select list must
+ * line up with {@code headers}, one column per header.
+ */
+public record ExportQuery(String sql, Map<String, Object> params, List<String> headers) {
+}
@@ -11,6 +11,10 @@ import java.util.*;
 
 @Repository
 public class FollowUpDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("f",
+            "follow_up_status", "next_action_date", "enquiry_id", "created_at", "updated_at")
+            .with("enquiry_name", "e.name");
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -105,9 +109,9 @@ public class FollowUpDao {
         appendConditions(sql, params, dto);
 
         sql.append("""
-                ORDER BY f.%s %s
+                ORDER BY %s
                 LIMIT :pageSize OFFSET :offset
-            """.formatted(dto.getSortBy(), dto.getSortDir().toUpperCase()));
+            """.formatted(SORTS.orderBy(dto.getSortBy(), dto.getSortDir())));
 
         Query query = entityManager.createNativeQuery(sql.toString());
         params.forEach(query::setParameter);
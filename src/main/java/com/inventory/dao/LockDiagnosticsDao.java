@@ -0,0 +1,67 @@
+package com.inventory.dao;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Row-lock waits in Postgres: sessions of this database user that wait on a lock, with the
+ * session(s) blocking them. Runs outside a read-only transaction on purpose, so it reads the
+ * primary where the locks are taken.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LockDiagnosticsDao {
+    private final EntityManager entityManager;
+
+    public List<Map<String, Object>> findBlockedSessions() {
+        String sql = """
+                SELECT waiting.pid,
+                       l.locktype,
+                       l.relation::regclass::text AS relation,
+                       l.mode,
+                       EXTRACT(EPOCH FROM now() - waiting.query_start) * 1000 AS waiting_ms,
+                       left(waiting.query, 300) AS waiting_query,
+                       blocking.pid AS blocking_pid,
+                       blocking.state AS blocking_state,
+                       EXTRACT(EPOCH FROM now() - blocking.xact_start) * 1000 AS blocking_xact_ms,
+                       left(blocking.query, 300) AS blocking_query
+                FROM pg_stat_activity waiting
+                JOIN pg_locks l ON l.pid = waiting.pid AND NOT l.granted
+                CROSS JOIN LATERAL unnest(pg_blocking_pids(waiting.pid)) AS b(pid)
+                JOIN pg_stat_activity blocking ON blocking.pid = b.pid
+                WHERE waiting.datname = current_database()
+                  AND waiting.usename = current_user
+                ORDER BY waiting.query_start
+                """;
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql).getResultList();
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Object[] row : rows) {
+            Map<String, Object> session = new LinkedHashMap<>();
+            session.put("pid", row[0]);
+            session.put("lockType", row[1]);
+            session.put("relation", row[2]);
+            session.put("mode", row[3]);
+            session.put("waitingMs", toLong(row[4]));
+            session.put("waitingQuery", row[5]);
+            session.put("blockingPid", row[6]);
+            session.put("blockingState", row[7]);
+            session.put("blockingTransactionMs", toLong(row[8]));
+            session.put("blockingQuery", row[9]);
+            result.add(session);
+        }
+        return result;
+    }
+
+    private static Long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+}
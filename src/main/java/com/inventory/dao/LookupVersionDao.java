@@ -0,0 +1,47 @@
+package com.inventory.dao;
+
+import java.util.List;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import com.inventory.enums.LookupType;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reads and bumps the shared {@code lookup_version} counters behind the lookup cache.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LookupVersionDao {
+    private final EntityManager entityManager;
+
+    /** Current version, 0 when the list has never changed. */
+    public long current(LookupType type, Long clientId) {
+        @SuppressWarnings("unchecked")
+        List<Number> rows = entityManager.createNativeQuery(
+                        "SELECT version FROM lookup_version WHERE client_id = :clientId AND lookup_type = :type")
+                .setParameter("clientId", clientId)
+                .setParameter("type", type.name())
+                .getResultList();
+        return rows.isEmpty() ? 0L : rows.get(0).longValue();
+    }
+
+    /** Increments the version; must run in the transaction that changes the list. */
+    public void bump(LookupType type, Long clientId) {
+        entityManager.createNativeQuery("""
+                        INSERT INTO lookup_version (client_id, lookup_type, version, updated_at)
+                        VALUES (:clientId, :type, 1, now())
+                        ON CONFLICT (client_id, lookup_type)
+                        DO UPDATE SET version = lookup_version.version + 1, updated_at = now()
+                        """)
+                .unwrap(NativeQuery.class)
+                // Only lookup_version is touched; keeps Hibernate from dropping every second-level cache region
+                .addSynchronizedQuerySpace("lookup_version")
+                .setParameter("clientId", clientId)
+                .setParameter("type", type.name())
+                .executeUpdate();
+    }
+}
@@ -11,6 +11,9 @@ import java.util.*;
 
 @Repository
 public class MachineMasterDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("m",
+            "name", "status", "created_at");
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -33,7 +36,7 @@ public class MachineMasterDao {
         """);
         appendConditions(sql, params, dto);
 
-        sql.append(" ORDER BY m." + dto.getSortBy() + " " + dto.getSortDir().toUpperCase());
+        sql.append(" ORDER BY ").append(SORTS.orderBy(dto.getSortBy(), dto.getSortDir()));
         sql.append(" LIMIT :pageSize OFFSET :offset");
 
         Query query = entityManager.createNativeQuery(sql.toString());
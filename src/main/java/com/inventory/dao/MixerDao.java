@@ -10,6 +10,9 @@ import java.util.*;
 
 @Repository
 public class MixerDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("m",
+            "batch_id", "product_id", "quantity");
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -29,7 +32,7 @@ public class MixerDao {
             WHERE 1=1
         """);
         appendConditions(sql, params, dto);
-        sql.append(" ORDER BY m." + dto.getSortBy() + " " + dto.getSortDir().toUpperCase());
+        sql.append(" ORDER BY ").append(SORTS.orderBy(dto.getSortBy(), dto.getSortDir()));
         sql.append(" LIMIT :pageSize OFFSET :offset");
 
         Query query = entityManager.createNativeQuery(sql.toString());
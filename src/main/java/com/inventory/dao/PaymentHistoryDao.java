@@ -64,6 +64,42 @@ public class PaymentHistoryDao {
             WHERE ph.client_id = :clientId
         """);
 
+        appendSearchConditions(sql, params, dto);
+
+        sql.append(" ORDER BY ph.created_at DESC LIMIT :pageSize OFFSET :offset");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        query.setParameter("pageSize", dto.getPerPageRecord());
+        query.setParameter("offset", (long) dto.getCurrentPage() * dto.getPerPageRecord());
+
+        List<Object[]> results = query.getResultList();
+        return transformResults(results, totalRecords, dto.getPerPageRecord());
+    }
+
+    public ExportQuery buildPaymentHistoryExportQuery(PaymentHistoryDto dto) {
+        StringBuilder sql = new StringBuilder();
+        Map<String, Object> params = new HashMap<>();
+
+        sql.append("""
+            SELECT 
+                ph.date, c.name as customer_name, ph.type, ph.amount, ph.is_received, ph.remarks,
+                TRIM(CONCAT(u1.first_name, ' ', u1.last_name)) as created_by_name, ph.created_at
+            FROM payment_history ph
+            LEFT JOIN customer c ON ph.customer_id = c.id
+            LEFT JOIN user_master u1 ON ph.created_by = u1.id
+            WHERE ph.client_id = :clientId
+        """);
+        params.put("clientId", dto.getClientId());
+
+        appendSearchConditions(sql, params, dto);
+        sql.append(" ORDER BY ph.created_at DESC");
+
+        return new ExportQuery(sql.toString(), params, List.of(
+                "Date", "Customer", "Type", "Amount", "Is Received", "Remarks", "Created By", "Created At"));
+    }
+
+    private void appendSearchConditions(StringBuilder sql, Map<String, Object> params, PaymentHistoryDto dto) {
         if (dto.getCustomerId() != null) {
             sql.append(" AND ph.customer_id = :customerId");
             params.put("customerId", dto.getCustomerId());
@@ -83,16 +119,6 @@ public class PaymentHistoryDao {
             sql.append(" AND ph.date <= :endDate");
             params.put("endDate", dto.getEndDate());
         }
-
-        sql.append(" ORDER BY ph.created_at DESC LIMIT :pageSize OFFSET :offset");
-
-        Query query = entityManager.createNativeQuery(sql.toString());
-        params.forEach(query::setParameter);
-        query.setParameter("pageSize", dto.getPerPageRecord());
-        query.setParameter("offset", (long) dto.getCurrentPage() * dto.getPerPageRecord());
-
-        List<Object[]> results = query.getResultList();
-        return transformResults(results, totalRecords, dto.getPerPageRecord());
     }
 
     private Map<String, Object> transformResults(List<Object[]> results, long totalRecords, int pageSize) {
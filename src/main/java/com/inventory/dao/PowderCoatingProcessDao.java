@@ -11,6 +11,11 @@ import java.util.*;
 
 @Repository
 public class PowderCoatingProcessDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("pcp",
+            "quantity", "remaining_quantity", "total_bags", "status", "unit_price", "total_amount", "created_at", "updated_at")
+            .with("customer_name", "c.name")
+            .with("product_name", "p.name");
+
     @PersistenceContext
     private EntityManager entityManager;
     
@@ -21,10 +26,10 @@ public class PowderCoatingProcessDao {
 
         countSql.append("""
             SELECT COUNT(pcp.id)
-            FROM (SELECT * FROM powder_coating_process WHERE client_id = :clientId) pcp
-            LEFT JOIN (SELECT * FROM customer WHERE client_id = :clientId) c ON pcp.customer_id = c.id
-            LEFT JOIN (SELECT * FROM product WHERE client_id = :clientId) p ON pcp.product_id = p.id
-            WHERE 1=1
+            FROM powder_coating_process pcp
+            LEFT JOIN customer c ON pcp.customer_id = c.id AND c.client_id = :clientId
+            LEFT JOIN product p ON pcp.product_id = p.id AND p.client_id = :clientId
+            WHERE pcp.client_id = :clientId
         """);
         params.put("clientId", dto.getClientId());
 
@@ -53,18 +58,18 @@ public class PowderCoatingProcessDao {
                 p.name as product_name,
                 pcp.unit_price,
                 pcp.total_amount
-            FROM (SELECT * FROM powder_coating_process WHERE client_id = :clientId) pcp
-            LEFT JOIN (SELECT * FROM customer WHERE client_id = :clientId) c ON pcp.customer_id = c.id
-            LEFT JOIN (SELECT * FROM product WHERE client_id = :clientId) p ON pcp.product_id = p.id
-            WHERE 1=1
+            FROM powder_coating_process pcp
+            LEFT JOIN customer c ON pcp.customer_id = c.id AND c.client_id = :clientId
+            LEFT JOIN product p ON pcp.product_id = p.id AND p.client_id = :clientId
+            WHERE pcp.client_id = :clientId
         """);
 
         appendSearchConditions(sql, params, dto);
 
         sql.append("""
-            ORDER BY pcp.%s %s
+            ORDER BY %s
             LIMIT :pageSize OFFSET :offset
-        """.formatted(dto.getSortBy(), dto.getSortDir().toUpperCase()));
+        """.formatted(SORTS.orderBy(dto.getSortBy(), dto.getSortDir())));
 
         Query query = entityManager.createNativeQuery(sql.toString());
         setQueryParameters(query, params, dto);
@@ -152,10 +157,10 @@ public class PowderCoatingProcessDao {
                 p.name as product_name,
                 pcp.unit_price,
                 pcp.total_amount
-            FROM (SELECT * FROM powder_coating_process WHERE client_id = :clientId) pcp
-            LEFT JOIN (SELECT * FROM customer WHERE client_id = :clientId) c ON c.id = pcp.customer_id
-            LEFT JOIN (SELECT * FROM product WHERE client_id = :clientId) p ON p.id = pcp.product_id
-            WHERE pcp.id = :id
+            FROM powder_coating_process pcp
+            LEFT JOIN customer c ON c.id = pcp.customer_id AND c.client_id = :clientId
+            LEFT JOIN product p ON p.id = pcp.product_id AND p.client_id = :clientId
+            WHERE pcp.id = :id AND pcp.client_id = :clientId
         """;
 
         Query nativeQuery = entityManager.createNativeQuery(query);
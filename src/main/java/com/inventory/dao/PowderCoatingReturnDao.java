@@ -20,11 +20,11 @@ public class PowderCoatingReturnDao {
 
         countSql.append("""
             SELECT COUNT(r.id)
-            FROM (SELECT * FROM powder_coating_return WHERE client_id = :clientId) r
-            LEFT JOIN (SELECT * FROM powder_coating_process WHERE client_id = :clientId) p ON r.process_id = p.id
-            LEFT JOIN (SELECT * FROM customer WHERE client_id = :clientId) c ON p.customer_id = c.id
-            LEFT JOIN (SELECT * FROM product WHERE client_id = :clientId) pr ON p.product_id = pr.id
-            WHERE 1=1
+            FROM powder_coating_return r
+            LEFT JOIN powder_coating_process p ON r.process_id = p.id AND p.client_id = :clientId
+            LEFT JOIN customer c ON p.customer_id = c.id AND c.client_id = :clientId
+            LEFT JOIN product pr ON p.product_id = pr.id AND pr.client_id = :clientId
+            WHERE r.client_id = :clientId
         """);
         params.put("clientId", dto.getClientId());
 
@@ -46,11 +46,11 @@ public class PowderCoatingReturnDao {
                 p.remaining_quantity,
                 c.name as customer_name,
                 pr.name as product_name
-            FROM (SELECT * FROM powder_coating_return WHERE client_id = :clientId) r
-            LEFT JOIN (SELECT * FROM powder_coating_process WHERE client_id = :clientId) p ON r.process_id = p.id
-            LEFT JOIN (SELECT * FROM customer WHERE client_id = :clientId) c ON p.customer_id = c.id
-            LEFT JOIN (SELECT * FROM product WHERE client_id = :clientId) pr ON p.product_id = pr.id
-            WHERE 1=1
+            FROM powder_coating_return r
+            LEFT JOIN powder_coating_process p ON r.process_id = p.id AND p.client_id = :clientId
+            LEFT JOIN customer c ON p.customer_id = c.id AND c.client_id = :clientId
+            LEFT JOIN product pr ON p.product_id = pr.id AND pr.client_id = :clientId
+            WHERE r.client_id = :clientId
         """);
 
         appendSearchConditions(sql, params, dto);
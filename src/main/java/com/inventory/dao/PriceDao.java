@@ -1,56 +1,116 @@
 package com.inventory.dao;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.NoResultException;
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Reads and maintains the {@code last_price} table. The refresh methods recompute the rows
+ * for the given customer and products from the item tables, so the same call covers
+ * inserts, edits and deletes of sale/purchase items.
+ */
 @Repository
 @RequiredArgsConstructor
 public class PriceDao {
     private final EntityManager entityManager;
-    
-    @Transactional
-    public Map<String, Object> getLastPrices(Long productId, Long customerId) {
-        String query = """
-                SELECT\s
-                    COALESCE(p.purchase_amount, 0) AS last_purchase_price,
-                    COALESCE(s.unit_price, p.sale_amount, 0) AS last_sale_price
-                FROM\s
-                    (SELECT * from product p where p.id = :productId) p
-                FULL OUTER JOIN\s
-                    (SELECT s.unit_price\s
-                     FROM sale s\s
-                     JOIN purchase p ON s.purchase_id = p.id
-                     WHERE s.customer_id = :customerId AND p.product_id = :productId
-                     ORDER BY s.id DESC\s
-                     LIMIT 1) s
-                ON TRUE
-            """;
-            
-        try {
-            Object[] result = (Object[]) entityManager.createNativeQuery(query)
-                .setParameter("productId", productId)
-                .setParameter("customerId", customerId)
-                .getSingleResult();
-                
+
+    /**
+     * Last prices for each product, falling back to the product's own sale/purchase amount
+     * when the customer has no history. Products of other clients are not returned.
+     */
+    public Map<Long, Map<String, Object>> findLastPrices(Long clientId, Long customerId, Collection<Long> productIds) {
+        List<Object[]> rows = SqlBuilder.select(
+                        "p.id",
+                        "COALESCE(lp.last_purchase_price, p.purchase_amount, 0) AS last_purchase_price",
+                        "COALESCE(lp.last_sale_price, p.sale_amount, 0) AS last_sale_price")
+                .from("product p")
+                .leftJoin("last_price lp", "lp.product_id = p.id AND lp.client_id = :clientId AND lp.customer_id = :customerId")
+                .where("p.client_id = :clientId", "clientId", clientId)
+                .where("p.id IN (:productIds)", "productIds", productIds)
+                .param("customerId", customerId)
+                .createQuery(entityManager)
+                .getResultList();
+
+        Map<Long, Map<String, Object>> result = new HashMap<>();
+        for (Object[] row : rows) {
             Map<String, Object> prices = new HashMap<>();
-            prices.put("lastPurchasePrice", result[0]);
-            prices.put("lastSalePrice", result[1]);
-            
-            return prices;
-        } catch (NoResultException e) {
-            e.printStackTrace();
-            Map<String, Object> emptyPrices = new HashMap<>();
-            emptyPrices.put("lastPurchasePrice", BigDecimal.ZERO);
-            emptyPrices.put("lastSalePrice", BigDecimal.ZERO);
-            return emptyPrices;
+            prices.put("lastPurchasePrice", row[1]);
+            prices.put("lastSalePrice", row[2]);
+            result.put(((Number) row[0]).longValue(), prices);
+        }
+        return result;
+    }
+
+    public static Map<String, Object> emptyPrices() {
+        Map<String, Object> prices = new HashMap<>();
+        prices.put("lastPurchasePrice", BigDecimal.ZERO);
+        prices.put("lastSalePrice", BigDecimal.ZERO);
+        return prices;
+    }
+
+    /**
+     * Recomputes the last sale price of the given products for one customer from {@code sale_items}.
+     */
+    public void refreshSalePrices(Long clientId, Long customerId, Collection<Long> productIds) {
+        refresh("last_sale_price", "last_sale_item_id", """
+                SELECT DISTINCT ON (si.product_id) s.client_id, s.customer_id, si.product_id, si.unit_price, si.id, now()
+                FROM sale_items si
+                JOIN sale s ON s.id = si.sale_id
+                WHERE s.client_id = :clientId AND s.customer_id = :customerId AND si.product_id IN (:productIds)
+                ORDER BY si.product_id, si.id DESC
+                """, clientId, customerId, productIds);
+    }
+
+    /**
+     * Recomputes the last purchase price of the given products for one supplier from {@code purchase_items}.
+     */
+    public void refreshPurchasePrices(Long clientId, Long customerId, Collection<Long> productIds) {
+        refresh("last_purchase_price", "last_purchase_item_id", """
+                SELECT DISTINCT ON (pi.product_id) pu.client_id, pu.customer_id, pi.product_id, pi.unit_price, pi.id, now()
+                FROM purchase_items pi
+                JOIN purchase pu ON pu.id = pi.purchase_id
+                WHERE pu.client_id = :clientId AND pu.customer_id = :customerId AND pi.product_id IN (:productIds)
+                ORDER BY pi.product_id, pi.id DESC
+                """, clientId, customerId, productIds);
+    }
+
+    private void refresh(String priceColumn, String itemColumn, String latestItems,
+                         Long clientId, Long customerId, Collection<Long> productIds) {
+        if (clientId == null || customerId == null || productIds == null || productIds.isEmpty()) {
+            return;
         }
+        // Pending item inserts/deletes must reach the database before the recompute reads them
+        entityManager.flush();
+
+        // Clear first so products whose last item was removed fall back to the product amount
+        update("UPDATE last_price SET " + priceColumn + " = NULL, " + itemColumn + " = NULL, updated_at = now() "
+                + "WHERE client_id = :clientId AND customer_id = :customerId AND product_id IN (:productIds)",
+                clientId, customerId, productIds);
+        update("INSERT INTO last_price (client_id, customer_id, product_id, " + priceColumn + ", " + itemColumn + ", updated_at) "
+                + latestItems
+                + " ON CONFLICT (client_id, customer_id, product_id) DO UPDATE SET "
+                + priceColumn + " = EXCLUDED." + priceColumn + ", "
+                + itemColumn + " = EXCLUDED." + itemColumn + ", "
+                + "updated_at = EXCLUDED.updated_at",
+                clientId, customerId, productIds);
+    }
+
+    private void update(String sql, Long clientId, Long customerId, Collection<Long> productIds) {
+        entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                // Only last_price is touched; keeps Hibernate from dropping every second-level cache region
+                .addSynchronizedQuerySpace("last_price")
+                .setParameter("clientId", clientId)
+                .setParameter("customerId", customerId)
+                .setParameterList("productIds", productIds)
+                .executeUpdate();
     }
-} 
\ No newline at end of file
+}
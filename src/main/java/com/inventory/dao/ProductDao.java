@@ -15,6 +15,11 @@ import java.util.Map;
 
 @Repository
 public class ProductDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("p",
+            "name", "description", "minimum_stock", "status", "remaining_quantity", "purchase_amount", "sale_amount",
+            "tax_percentage", "weight", "measurement", "created_at", "updated_at")
+            .with("category_name", "c.name");
+
     @PersistenceContext
     private EntityManager entityManager;
     
@@ -37,12 +42,9 @@ public class ProductDao {
 
         if (productDto != null) {
             if (StringUtils.hasText(productDto.getSearch())) {
-                sql.append(" AND LOWER(p.name) LIKE LOWER(:name)");
-                params.put("name", "%" + productDto.getSearch().trim() + "%");
-            }
-            if (StringUtils.hasText(productDto.getSearch())) {
-                sql.append(" AND LOWER(p.description) LIKE LOWER(:description)");
-                params.put("description", "%" + productDto.getSearch().trim() + "%");
+                sql.append(" AND ").append(SearchExpressions.productName("p.")).append(" LIKE :search")
+                        .append(" AND ").append(SearchExpressions.productDescription("p.")).append(" LIKE :search");
+                params.put("search", SearchExpressions.containsTerm(productDto.getSearch()));
             }
             
             if (StringUtils.hasText(productDto.getStatus())) {
@@ -115,7 +117,7 @@ public class ProductDao {
                 p.description,
                 p.minimum_stock,
                 p.status,
-                p.remaining_quantity,
+                %s,
                 c.id as category_id,
                 c.name as category_name,
                 p.purchase_amount,
@@ -128,14 +130,14 @@ public class ProductDao {
             FROM product p
             LEFT JOIN category c ON p.category_id = c.id
             WHERE 1=1
-        """);
+        """.formatted(BalanceOutboxDao.stockWithPending("p.")));
 
         appendSearchConditions(sql, params, productDto);
 
         sql.append("""
-                ORDER BY p.%s %s
+                ORDER BY %s
                 LIMIT :pageSize OFFSET :offset
-            """.formatted(productDto.getSortBy(), productDto.getSortDir().toUpperCase()));
+            """.formatted(SORTS.orderBy(productDto.getSortBy(), productDto.getSortDir())));
 
         Query query = entityManager.createNativeQuery(sql.toString());
         setQueryParameters(query, params, productDto);
@@ -148,8 +150,9 @@ public class ProductDao {
     private void appendSearchConditions(StringBuilder sql, Map<String, Object> params, ProductDto productDto) {
         if (productDto != null) {
             if (StringUtils.hasText(productDto.getSearch())) {
-                sql.append(" AND (LOWER(p.name) LIKE LOWER(:search) OR LOWER(p.description) LIKE LOWER(:search))");
-                params.put("search", "%" + productDto.getSearch().trim() + "%");
+                sql.append(" AND (").append(SearchExpressions.productName("p.")).append(" LIKE :search")
+                        .append(" OR ").append(SearchExpressions.productDescription("p.")).append(" LIKE :search)");
+                params.put("search", SearchExpressions.containsTerm(productDto.getSearch()));
             }
 
             if (StringUtils.hasText(productDto.getStatus())) {
@@ -10,6 +10,9 @@ import java.util.*;
 
 @Repository
 public class ProductionDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("p",
+            "batch_id", "product_id", "quantity", "number_of_roll", "is_wastage");
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -29,7 +32,7 @@ public class ProductionDao {
             WHERE 1=1
         """);
         appendConditions(sql, params, dto);
-        sql.append(" ORDER BY p." + dto.getSortBy() + " " + dto.getSortDir().toUpperCase());
+        sql.append(" ORDER BY ").append(SORTS.orderBy(dto.getSortBy(), dto.getSortDir()));
         sql.append(" LIMIT :pageSize OFFSET :offset");
 
         Query query = entityManager.createNativeQuery(sql.toString());
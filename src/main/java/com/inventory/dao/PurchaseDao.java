@@ -1,11 +1,14 @@
 package com.inventory.dao;
 
 import com.inventory.dto.PurchaseDto;
+import com.inventory.dto.projection.PurchaseSearchRow;
 import com.inventory.entity.Purchase;
 import com.inventory.entity.PurchaseItem;
+import com.inventory.util.KeysetCursor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
 import org.hibernate.jpa.QueryHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -18,106 +21,81 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Repository
+@Slf4j
 public class PurchaseDao {
     @PersistenceContext
     private EntityManager entityManager;
 
-    public Page<Map<String, Object>> searchPurchases(PurchaseDto dto) {
-        try {
-            StringBuilder countQuery = new StringBuilder();
-            StringBuilder actualQuery = new StringBuilder();
-            StringBuilder nativeQuery = new StringBuilder();
-            Map<String, Object> params = new HashMap<>();
-
-            actualQuery.append("""
-                SELECT 
-                    p.id, p.total_purchase_amount, 
-                    p.purchase_date, p.invoice_number, c.name as customer_name
-                """);
-
-            countQuery.append("SELECT COUNT(*) ");
-
-            nativeQuery.append("""
-                FROM (select * from purchase p where p.client_id = :clientId) p 
-                LEFT JOIN (select * from customer c where c.client_id = :clientId) c ON p.customer_id = c.id
-                WHERE 1=1
-                """);
-            params.put("clientId", dto.getClientId());
+    private static final String[] SEARCH_COLUMNS = {
+            "p.id", "p.total_purchase_amount", "p.purchase_date", "p.invoice_number", "c.name as customer_name"};
 
-            appendSearchConditions(nativeQuery, params, dto);
+    public Page<PurchaseSearchRow> searchPurchases(PurchaseDto dto) {
+        try {
+            SqlBuilder sql = searchQuery(dto, SEARCH_COLUMNS);
+            Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*) " + sql.fromClause());
+            sql.params().forEach(countQuery::setParameter);
+            Long totalCount = ((Number) countQuery.getSingleResult()).longValue();
 
-            countQuery.append(nativeQuery);
-            nativeQuery.append(" ORDER BY p.id DESC LIMIT :perPageRecord OFFSET :offset");
-            actualQuery.append(nativeQuery);
+            sql.orderBy("p.id DESC").page(dto.getPerPageRecord(), (long) dto.getCurrentPage() * dto.getPerPageRecord());
 
             Pageable pageable = PageRequest.of(dto.getCurrentPage(), dto.getPerPageRecord());
-            Query countQueryObj = entityManager.createNativeQuery(countQuery.toString());
-            Query query = entityManager.createNativeQuery(actualQuery.toString());
-
-            setQueryParameters(query, countQueryObj, params, dto);
-
-            Long totalCount = ((Number) countQueryObj.getSingleResult()).longValue();
-            List<Object[]> results = query.getResultList();
-            List<Map<String, Object>> purchases = transformResults(results);
+            @SuppressWarnings("unchecked")
+            List<Object[]> results = sql.createQuery(entityManager).getResultList();
+            List<PurchaseSearchRow> purchases = transformResults(results);
 
             return new PageImpl<>(purchases, pageable, totalCount);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Purchase search failed", e);
             return new PageImpl<>(new ArrayList<>(), 
                 PageRequest.of(dto.getCurrentPage(), dto.getPerPageRecord()), 0L);
         }
     }
 
-    private void appendSearchConditions(StringBuilder sql, Map<String, Object> params, PurchaseDto dto) {
-        if (!Objects.isNull(dto.getSearch()) && dto.getSearch().trim().length() > 0) {
-            sql.append("""
-                AND (LOWER(p.invoice_number) LIKE :search)
-                """);
-            params.put("search", "%" + dto.getSearch().toLowerCase().trim() + "%");
-        }
-        if(!Objects.isNull(dto.getStartDate())) {
-            sql.append("""
-                AND (p.purchase_date >= :startDate)
-                """);
-            params.put("startDate", dto.getStartDate());
-        }
-        if(!Objects.isNull(dto.getEndDate())) {
-            sql.append("""
-                AND (p.purchase_date <= :endDate)
-                """);
-            params.put("endDate", dto.getEndDate());
-        }
-        if(!Objects.isNull(dto.getCustomerId())) {
-            sql.append("""
-                AND p.customer_id = :customerId
-                """);
-            params.put("customerId", dto.getCustomerId());
+    /**
+     * Keyset variant of {@link #searchPurchases}: seeks past the id in {@code dto.cursor} instead of
+     * using OFFSET. No total count is returned.
+     */
+    public Map<String, Object> searchPurchasesByCursor(PurchaseDto dto) {
+        SqlBuilder sql = searchQuery(dto, SEARCH_COLUMNS);
+        if (dto.getCursor() != null && !dto.getCursor().isBlank()) {
+            sql.where("p.id < :cursorId", "cursorId", KeysetCursor.decode(dto.getCursor()).id());
         }
+        sql.orderBy("p.id DESC").limit(dto.getPerPageRecord() + 1);
 
-        
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = sql.createQuery(entityManager).getResultList();
+        return KeysetCursor.toResponse(transformResults(results), dto.getPerPageRecord(),
+                purchase -> new KeysetCursor(null, purchase.id()));
     }
 
-    private void setQueryParameters(Query query, Query countQuery, Map<String, Object> params, PurchaseDto dto) {
-        params.forEach((key, value) -> {
-            query.setParameter(key, value);
-            countQuery.setParameter(key, value);
-        });
+    public ExportQuery buildPurchaseExportQuery(PurchaseDto dto) {
+        SqlBuilder sql = searchQuery(dto,
+                "p.invoice_number", "p.purchase_date", "c.name as customer_name", "p.total_purchase_amount")
+                .orderBy("p.id DESC");
 
-        query.setParameter("perPageRecord", dto.getPerPageRecord());
-        query.setParameter("offset", (long) dto.getCurrentPage() * dto.getPerPageRecord());
+        return new ExportQuery(sql.toSql(), sql.params(), List.of(
+                "Invoice Number", "Purchase Date", "Customer", "Total Amount"));
+    }
+
+    private SqlBuilder searchQuery(PurchaseDto dto, String... columns) {
+        SqlBuilder sql = SqlBuilder.select(columns)
+                .from("purchase p")
+                .leftJoin("customer c", "c.id = p.customer_id AND c.client_id = :clientId")
+                .where("p.client_id = :clientId", "clientId", dto.getClientId());
+        if (!Objects.isNull(dto.getSearch()) && dto.getSearch().trim().length() > 0) {
+            sql.where("LOWER(p.invoice_number) LIKE :search",
+                    "search", "%" + dto.getSearch().toLowerCase().trim() + "%");
+        }
+        sql.whereIfPresent("p.purchase_date >= :startDate", "startDate", dto.getStartDate());
+        sql.whereIfPresent("p.purchase_date <= :endDate", "endDate", dto.getEndDate());
+        sql.whereIfPresent("p.customer_id = :customerId", "customerId", dto.getCustomerId());
+        return sql;
     }
 
-    private List<Map<String, Object>> transformResults(List<Object[]> results) {
-        List<Map<String, Object>> purchases = new ArrayList<>();
+    private List<PurchaseSearchRow> transformResults(List<Object[]> results) {
+        List<PurchaseSearchRow> purchases = new ArrayList<>(results.size());
         for (Object[] row : results) {
-            Map<String, Object> purchase = new HashMap<>();
-            int i = 0;
-            purchase.put("id", row[i++]);
-            purchase.put("totalPurchaseAmount", row[i++]);
-            purchase.put("purchaseDate", row[i++]);
-            purchase.put("invoiceNumber", row[i++]);
-            purchase.put("customerName", row[i++]);
-            purchases.add(purchase);
+            purchases.add(PurchaseSearchRow.from(row));
         }
         return purchases;
     }
@@ -168,9 +146,9 @@ public class PurchaseDao {
                 pi.id as item_id, pi.quantity, pi.unit_price, pi.discount_percentage,
                 pi.discount_amount, pi.final_price, 
                 pi.product_id, pi.remarks
-            FROM (SELECT * FROM purchase WHERE id = :purchaseId AND client_id = :clientId) p
-            LEFT JOIN (SELECT * FROM purchase_items WHERE purchase_id = :purchaseId) pi ON p.id = pi.purchase_id
-            WHERE p.id = :purchaseId
+            FROM purchase p
+            LEFT JOIN purchase_items pi ON pi.purchase_id = p.id
+            WHERE p.id = :purchaseId AND p.client_id = :clientId
         """;
 
         Query query = entityManager.createNativeQuery(sql)
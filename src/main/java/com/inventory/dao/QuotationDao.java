@@ -1,10 +1,13 @@
 package com.inventory.dao;
 
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.inventory.entity.Quotation;
@@ -12,15 +15,29 @@ import org.springframework.stereotype.Repository;
 
 import com.inventory.dto.QuotationDto;
 import com.inventory.exception.ValidationException;
+import com.inventory.util.KeysetCursor;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
 
 import java.time.LocalDate;
 
 @Repository
+@RequiredArgsConstructor
 public class QuotationDao {
+    private static final Map<String, KeysetSort> KEYSET_SORTS = Map.of(
+            "id", new KeysetSort(null, "id", null),
+            "quote_date", new KeysetSort("q.quote_date", "quoteDate", LocalDate::parse),
+            "total_amount", new KeysetSort("COALESCE(q.total_amount, 0)", "totalAmount", BigDecimal::new));
+
+    private static final SortWhitelist SORTS = SortWhitelist.of("q",
+            "quote_number", "quote_date", "valid_until", "total_amount", "status", "created_at")
+            .with("customer_name", "COALESCE(c.name, q.customer_name, '')");
+
+    private final SearchCountResolver searchCountResolver;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -31,11 +48,8 @@ public class QuotationDao {
         StringBuilder nativeQuery = buildNativeQuery();
         StringBuilder conditions = buildSearchConditions(params, searchParams);
 
-        // Count Query
-        String countSql = buildCountQuery(nativeQuery.toString(), conditions.toString());
-        Query countQuery = entityManager.createNativeQuery(countSql);
-        setQueryParameters(countQuery, params, null);
-        Long totalRecords = ((Number) countQuery.getSingleResult()).longValue();
+        Long totalRecords = searchCountResolver.count(searchParams.getCountMode(), "quotation",
+                nativeQuery.toString() + conditions, params);
 
         // Main Query with pagination
         String mainSql = buildMainQuery(nativeQuery.toString(), conditions.toString(), searchParams);
@@ -45,16 +59,122 @@ public class QuotationDao {
         setQueryParameters(query, params, searchParams);
 
         List<Object[]> results = query.getResultList();
+        totalRecords = SearchCountResolver.resolveTotal(totalRecords, results,
+                (long) searchParams.getCurrentPage() * searchParams.getPerPageRecord(), searchParams.getPerPageRecord());
         return transformResults(results, totalRecords, searchParams.getPerPageRecord());
     }
 
+    /**
+     * Keyset variant of {@link #searchQuotations}. The cursor carries the last row's sort value and id,
+     * and the next page seeks with a row comparison on (sort column, id) instead of OFFSET.
+     * Only sort columns listed in {@link #KEYSET_SORTS} can be paged this way.
+     */
+    public Map<String, Object> searchQuotationsByCursor(QuotationDto searchParams) {
+        KeysetSort sort = KEYSET_SORTS.get(searchParams.getSortBy() != null ? searchParams.getSortBy() : "id");
+        if (sort == null) {
+            throw new ValidationException("Cursor pagination supports sorting by " + KEYSET_SORTS.keySet());
+        }
+        boolean ascending = "asc".equalsIgnoreCase(searchParams.getSortDir());
+        String direction = ascending ? "ASC" : "DESC";
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("clientId", searchParams.getClientId());
+
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT q.id, q.quote_number, q.quote_date,")
+                .append(" q.total_amount, q.status, COALESCE(c.name, q.customer_name, '') as customer_name, ")
+                .append(" q.valid_until, q.remarks, COALESCE(q.contact_number, c.mobile, '') as contact_number ")
+                .append(buildNativeQuery())
+                .append(buildSearchConditions(params, searchParams));
+
+        if (searchParams.getCursor() != null && !searchParams.getCursor().isBlank()) {
+            KeysetCursor cursor = KeysetCursor.decode(searchParams.getCursor());
+            String comparator = ascending ? " > " : " < ";
+            if (sort.expression() == null) {
+                sql.append(" AND q.id").append(comparator).append(":cursorId");
+            } else {
+                sql.append(" AND (").append(sort.expression()).append(", q.id)").append(comparator)
+                        .append("(:cursorValue, :cursorId)");
+                params.put("cursorValue", sort.parseCursorValue(cursor));
+            }
+            params.put("cursorId", cursor.id());
+        }
+
+        if (sort.expression() != null) {
+            sql.append(" ORDER BY ").append(sort.expression()).append(" ").append(direction).append(", q.id ").append(direction);
+        } else {
+            sql.append(" ORDER BY q.id ").append(direction);
+        }
+        sql.append(" LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+        query.setParameter("limit", searchParams.getPerPageRecord() + 1);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = query.getResultList();
+        return KeysetCursor.toResponse(transformRows(results), searchParams.getPerPageRecord(),
+                quotation -> new KeysetCursor(sort.cursorValue(quotation), ((Number) quotation.get("id")).longValue()));
+    }
+
+    /**
+     * @param expression SQL sort expression, null when ordering by id alone
+     * @param resultKey  key of the sort value in a transformed row
+     * @param parser     turns the cursor's sort value back into the column's Java type
+     */
+    private record KeysetSort(String expression, String resultKey, Function<String, Object> parser) {
+        /**
+         * Parses the sort value of a client-supplied cursor, rejecting tampered or malformed
+         * values with a 400 before they reach the database.
+         */
+        Object parseCursorValue(KeysetCursor cursor) {
+            if (cursor.sortValue() == null) {
+                throw new ValidationException("Invalid pagination cursor");
+            }
+            try {
+                return parser.apply(cursor.sortValue());
+            } catch (RuntimeException e) {
+                throw new ValidationException("Invalid pagination cursor");
+            }
+        }
+
+        String cursorValue(Map<String, Object> row) {
+            if (expression == null) {
+                return null;
+            }
+            Object value = row.get(resultKey);
+            if (value == null) {
+                // only total_amount is nullable, and it is sorted as 0
+                return "0";
+            }
+            return value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value);
+        }
+    }
+
+    public ExportQuery buildQuotationExportQuery(QuotationDto searchParams) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("clientId", searchParams.getClientId());
+
+        String sql = new StringBuilder()
+                .append("SELECT q.quote_number, q.quote_date, COALESCE(c.name, q.customer_name, '') as customer_name,")
+                .append(" COALESCE(q.contact_number, c.mobile, '') as contact_number, q.total_amount, q.status,")
+                .append(" q.valid_until, q.remarks ")
+                .append(buildNativeQuery())
+                .append(buildSearchConditions(params, searchParams))
+                .append(" ORDER BY q.id DESC")
+                .toString();
+
+        return new ExportQuery(sql, params, List.of(
+                "Quote Number", "Quote Date", "Customer", "Contact Number", "Total Amount", "Status",
+                "Valid Until", "Remarks"));
+    }
+
     private StringBuilder buildNativeQuery() {
         return new StringBuilder("""
-            FROM (SELECT * FROM quotation q WHERE q.client_id = :clientId) q
-            LEFT JOIN (SELECT * FROM customer c WHERE c.client_id = :clientId) c 
-            ON q.customer_id = c.id
-            WHERE 1=1
-            """);   
+            FROM quotation q
+            LEFT JOIN customer c ON c.id = q.customer_id AND c.client_id = :clientId
+            WHERE q.client_id = :clientId
+            """);
     }
 
     private String buildMainQuery(String nativeQuery, String conditions, QuotationDto searchParams) {
@@ -64,20 +184,11 @@ public class QuotationDao {
                 .append(" q.valid_until, q.remarks, COALESCE(q.contact_number, c.mobile, '') as contact_number ")
                 .append(nativeQuery)
                 .append(conditions)
-                .append(" ORDER BY q.").append(searchParams.getSortBy()).append(" ")
-                .append(searchParams.getSortDir())
+                .append(" ORDER BY ").append(SORTS.orderBy(searchParams.getSortBy(), searchParams.getSortDir()))
                 .append(" LIMIT :pageSize OFFSET :offset")
                 .toString();
     }
 
-    private String buildCountQuery(String nativeQuery, String conditions) {
-        return new StringBuilder()
-                .append("SELECT COUNT(*) ")
-                .append(nativeQuery)
-                .append(conditions)
-                .toString();
-    }
-
     private StringBuilder buildSearchConditions(Map<String, Object> params, QuotationDto searchParams) {
         StringBuilder conditions = new StringBuilder();
 
@@ -112,12 +223,24 @@ public class QuotationDao {
     private void setQueryParameters(Query query, Map<String, Object> params, QuotationDto searchParams) {
         params.forEach((key, value) -> query.setParameter(key, value));
         if (searchParams != null) {
-            query.setParameter("pageSize", searchParams.getPerPageRecord());
+            query.setParameter("pageSize", SearchCountResolver.pageLimit(searchParams.getCountMode(), searchParams.getPerPageRecord()));
             query.setParameter("offset", searchParams.getCurrentPage() * searchParams.getPerPageRecord());
         }
     }
 
     private Map<String, Object> transformResults(List<Object[]> results, Long totalRecords, Integer pageSize) {
+        List<Map<String, Object>> quotations = transformRows(results);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", quotations);
+        response.put("totalElements", totalRecords);
+        response.put("pageSize", pageSize);
+        response.put("totalPages", (totalRecords + pageSize - 1) / pageSize);
+
+        return response;
+    }
+
+    private List<Map<String, Object>> transformRows(List<Object[]> results) {
         List<Map<String, Object>> quotations = new ArrayList<>();
 
         for (Object[] row : results) {
@@ -134,18 +257,15 @@ public class QuotationDao {
             quotation.put("contactNumber", row[index++]);
             quotations.add(quotation);
         }
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("content", quotations);
-        response.put("totalElements", totalRecords);
-        response.put("pageSize", pageSize);
-        response.put("totalPages", (totalRecords + pageSize - 1) / pageSize);
-
-        return response;
+        return quotations;
     }
 
-    public Map<String, Object> getQuotationDetail(QuotationDto request) {
-        StringBuilder sql = new StringBuilder("""
+    /**
+     * Quotation header joined with its items, one row per item. Items are left-joined so a
+     * quotation without items still yields its header row (with null item columns).
+     */
+    private static String quotationDetailSql(String where) {
+        return """
             SELECT 
                 q.id, q.quote_number, q.quote_date, q.valid_until,
                 q.total_amount, q.status, q.remarks, q.terms_conditions,
@@ -161,17 +281,20 @@ public class QuotationDao {
                 qi.discount_price, qi.quotation_discount_price,
                 b.id as brand_id, b.name as brand_name,
                 qi.number_of_roll, qi.weight_per_roll, qi.remarks
-            FROM (select * from quotation q where q.client_id = :clientId and q.id = :quotationId) q
-            JOIN (select * from quotation_items qi where qi.client_id = :clientId """);
+            FROM quotation q
+            LEFT JOIN quotation_items qi ON qi.quotation_id = q.id AND qi.client_id = :clientId
+            LEFT JOIN customer c ON c.id = q.customer_id AND c.client_id = :clientId
+            LEFT JOIN product p ON p.id = qi.product_id AND p.client_id = :clientId
+            LEFT JOIN brand b ON b.id = qi.brand_id AND b.client_id = :clientId
+            LEFT JOIN transport_master tm ON tm.id = q.transport_master_id AND tm.client_id = :clientId
+            WHERE """ + where + "\n";
+    }
+
+    public Map<String, Object> getQuotationDetail(QuotationDto request) {
+        StringBuilder sql = new StringBuilder(quotationDetailSql("q.id = :quotationId AND q.client_id = :clientId"));
             if(request.getQuotationItemIds() != null && !request.getQuotationItemIds().isEmpty()) {
-                sql.append(" and qi.id in (:quotationItemIds) ");
+                sql.append(" AND qi.id IN (:quotationItemIds) ");
             }
-            sql.append(" ) qi ON q.id = qi.quotation_id " +
-            " LEFT JOIN (select * from customer c where c.client_id = :clientId) c ON q.customer_id = c.id " +
-            " LEFT JOIN (select * from product p where p.client_id = :clientId) p ON qi.product_id = p.id " +
-            " LEFT JOIN (select * from brand b where b.client_id = :clientId) b ON qi.brand_id = b.id " +
-            " LEFT JOIN (select * from transport_master tm where tm.client_id = :clientId) tm ON q.transport_master_id = tm.id " +
-            " WHERE q.id = :quotationId  ");
         Query query = entityManager.createNativeQuery(sql.toString());
         query.setParameter("quotationId", request.getId());
         query.setParameter("clientId", request.getClientId());
@@ -183,6 +306,61 @@ public class QuotationDao {
         return transformDetailResults(results);
     }
 
+    /**
+     * Loads the PDF data of several quotations in one query, keyed by quotation id in id order.
+     */
+    public Map<Long, Map<String, Object>> getQuotationDetails(List<Long> quotationIds, Long clientId) {
+        if (quotationIds == null || quotationIds.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        Query query = entityManager.createNativeQuery(
+                quotationDetailSql("q.id IN (:quotationIds) AND q.client_id = :clientId") + "ORDER BY q.id, qi.id");
+        query.setParameter("quotationIds", quotationIds);
+        query.setParameter("clientId", clientId);
+
+        List<Object[]> results = query.getResultList();
+        Map<Long, List<Object[]>> rowsByQuotation = new LinkedHashMap<>();
+        for (Object[] row : results) {
+            rowsByQuotation.computeIfAbsent(((Number) row[0]).longValue(), k -> new ArrayList<>()).add(row);
+        }
+        Map<Long, Map<String, Object>> details = new LinkedHashMap<>();
+        rowsByQuotation.forEach((quotationId, rows) -> details.put(quotationId, transformDetailResults(rows)));
+        return details;
+    }
+
+    public List<Long> findQuotationIdsForExport(QuotationDto request) {
+        StringBuilder sql = new StringBuilder("""
+            SELECT q.id FROM quotation q
+            WHERE q.client_id = :clientId
+            """);
+        Map<String, Object> params = new HashMap<>();
+        params.put("clientId", request.getClientId());
+
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            sql.append(" AND q.id IN (:ids)");
+            params.put("ids", request.getIds());
+        }
+        if (request.getStartDate() != null) {
+            sql.append(" AND q.quote_date >= :startDate");
+            params.put("startDate", request.getStartDate());
+        }
+        if (request.getEndDate() != null) {
+            sql.append(" AND q.quote_date <= :endDate");
+            params.put("endDate", request.getEndDate());
+        }
+        if (request.getCustomerId() != null) {
+            sql.append(" AND q.customer_id = :customerId");
+            params.put("customerId", request.getCustomerId());
+        }
+        sql.append(" ORDER BY q.id");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+
+        List<Object> results = query.getResultList();
+        return results.stream().map(id -> ((Number) id).longValue()).collect(Collectors.toList());
+    }
+
     private Map<String, Object> transformDetailResults(List<Object[]> results) {
         if (results.isEmpty()) {
             throw new ValidationException("Quotation not found");
@@ -218,6 +396,9 @@ public class QuotationDao {
         quotation.put("caseNumber", firstRow[index++]);
         // Process items
         for (Object[] row : results) {
+            if (row[22] == null) {
+                continue; // quotation without items
+            }
             index = 22;
             Map<String, Object> item = new HashMap<>();
             item.put("id", row[index++]);
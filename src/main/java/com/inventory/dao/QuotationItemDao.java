@@ -1,9 +1,11 @@
 package com.inventory.dao;
 
+import com.inventory.dto.projection.QuotationItemSearchRow;
 import com.inventory.dto.request.QuotationItemRequestDto;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
@@ -13,20 +15,26 @@ import java.util.List;
 import java.util.Map;
 
 @Repository
+@RequiredArgsConstructor
 public class QuotationItemDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("qi",
+            "quotation_id", "quantity", "unit_price", "final_price", "number_of_roll", "created_roll",
+            "is_production", "is_dispatch", "quotation_item_status")
+            .with("product_name", "p.name")
+            .with("brand_name", "b.name");
+
+    private final SearchCountResolver searchCountResolver;
+
     @PersistenceContext
     private EntityManager entityManager;
 
     public Map<String, Object> search(QuotationItemRequestDto dto, Long clientId) {
-        StringBuilder countSql = new StringBuilder();
+        StringBuilder fromSql = new StringBuilder();
         Map<String, Object> params = new HashMap<>();
 
-        countSql.append("SELECT COUNT(qi.id) FROM quotation_items qi WHERE 1=1");
-        appendSearchConditions(countSql, params, dto, clientId);
-
-        Query countQuery = entityManager.createNativeQuery(countSql.toString());
-        params.forEach(countQuery::setParameter);
-        long totalRecords = ((Number) countQuery.getSingleResult()).longValue();
+        fromSql.append("FROM quotation_items qi WHERE 1=1");
+        appendSearchConditions(fromSql, params, dto, clientId);
+        Long totalCount = searchCountResolver.count(dto.getCountMode(), "quotation_items", fromSql.toString(), params);
 
         StringBuilder sql = new StringBuilder();
         sql.append("""
@@ -44,43 +52,21 @@ public class QuotationItemDao {
         """);
 
         appendSearchConditions(sql, params, dto, clientId);
-        sql.append(" ORDER BY qi." + dto.getSortBy() + " " + dto.getSortDir().toUpperCase());
+        sql.append(" ORDER BY ").append(SORTS.orderBy(dto.getSortBy(), dto.getSortDir()));
         sql.append(" LIMIT :pageSize OFFSET :offset");
 
         Query query = entityManager.createNativeQuery(sql.toString());
         params.forEach(query::setParameter);
-        query.setParameter("pageSize", dto.getSize());
+        query.setParameter("pageSize", SearchCountResolver.pageLimit(dto.getCountMode(), dto.getSize()));
         query.setParameter("offset", dto.getPage() * dto.getSize());
 
         @SuppressWarnings("unchecked")
         List<Object[]> rows = query.getResultList();
-        List<Map<String, Object>> content = new ArrayList<>();
-        for (Object[] r : rows) {
-            Map<String, Object> m = new HashMap<>();
-            m.put("id", r[0]);
-            m.put("quotationId", r[1]);
-            m.put("productId", r[2]);
-            m.put("quantity", r[3]);
-            m.put("unitPrice", r[4]);
-            m.put("discountPrice", r[5]);
-            m.put("quotationDiscountPercentage", r[6]);
-            m.put("quotationDiscountAmount", r[7]);
-            m.put("quotationDiscountPrice", r[8]);
-            m.put("taxPercentage", r[9]);
-            m.put("taxAmount", r[10]);
-            m.put("finalPrice", r[11]);
-            m.put("clientId", r[12]);
-            m.put("brandId", r[13]);
-            m.put("numberOfRoll", r[14]);
-            m.put("createdRoll", r[15]);
-            m.put("weightPerRoll", r[16]);
-            m.put("remarks", r[17]);
-            m.put("isProduction", r[18]);
-            m.put("isDispatch", r[19]);
-            m.put("quotationItemStatus", r[20]);
-            m.put("productName", r[21]);
-            m.put("brandName", r[22]);
-            content.add(m);
+        long totalRecords = SearchCountResolver.resolveTotal(totalCount, rows,
+                (long) dto.getPage() * dto.getSize(), dto.getSize());
+        List<QuotationItemSearchRow> content = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            content.add(QuotationItemSearchRow.from(row));
         }
 
         Map<String, Object> response = new HashMap<>();
@@ -95,13 +81,12 @@ public class QuotationItemDao {
         sql.append(" AND qi.client_id = :clientId");
         params.put("clientId", clientId);
 
+        // Inlined rather than bound so the planner can match the partial production/dispatch indexes
         if (dto.getIsProduction() != null) {
-            sql.append(" AND qi.is_production = :isProduction");
-            params.put("isProduction", dto.getIsProduction());
+            sql.append(" AND qi.is_production = ").append(dto.getIsProduction().booleanValue());
         }
         if (dto.getIsDispatch() != null) {
-            sql.append(" AND qi.is_dispatch = :isDispatch");
-            params.put("isDispatch", dto.getIsDispatch());
+            sql.append(" AND qi.is_dispatch = ").append(dto.getIsDispatch().booleanValue());
         }
         if (dto.getQuotationItemStatuses() != null && !dto.getQuotationItemStatuses().isEmpty()) {
             sql.append(" AND qi.quotation_item_status IN (:status) ");
@@ -1,145 +1,119 @@
 package com.inventory.dao;
 
 import com.inventory.dto.SaleDto;
+import com.inventory.dto.projection.SaleSearchRow;
 import com.inventory.entity.Sale;
+import com.inventory.util.KeysetCursor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
 
 @Repository
+@RequiredArgsConstructor
+@Slf4j
 public class SaleDao {
+    private final SearchCountResolver searchCountResolver;
+
     @PersistenceContext
     private EntityManager entityManager;
 
-    public Page<Map<String, Object>> searchSales(SaleDto dto) {
-        try {
-            StringBuilder countQuery = new StringBuilder();
-            StringBuilder actualQuery = new StringBuilder();
-            StringBuilder nativeQuery = new StringBuilder();
-            Map<String, Object> params = new HashMap<>();
-
-            actualQuery.append("""
-                SELECT 
-                    s.id, s.total_sale_amount, 
-                    s.sale_date, s.invoice_number, c.name as customer_name, s.is_black,
-                    s.transport_master_id, s.case_number, s.reference_name
-                """);
+    private static final String[] SEARCH_COLUMNS = {
+            "s.id", "s.total_sale_amount", "s.sale_date", "s.invoice_number", "c.name as customer_name",
+            "s.is_black", "s.transport_master_id", "s.case_number", "s.reference_name"};
 
-            countQuery.append("SELECT COUNT(*) ");
-
-            nativeQuery.append("""
-                FROM (select * from sale s where s.client_id = :clientId) s 
-                LEFT JOIN (select * from customer c where c.client_id = :clientId) c ON s.customer_id = c.id
-                WHERE 1=1
-                """);
-            params.put("clientId", dto.getClientId());
-
-            appendSearchConditions(nativeQuery, params, dto);
+    public Page<SaleSearchRow> searchSales(SaleDto dto) {
+        try {
+            SqlBuilder sql = searchQuery(dto, SEARCH_COLUMNS);
+            Long totalCount = searchCountResolver.count(dto.getCountMode(), "sale", sql.fromClause(), sql.params());
 
-            countQuery.append(nativeQuery);
-            nativeQuery.append(" ORDER BY s.id DESC LIMIT :perPageRecord OFFSET :offset");
-            actualQuery.append(nativeQuery);
+            long offset = (long) dto.getCurrentPage() * dto.getPerPageRecord();
+            sql.orderBy("s.id DESC")
+                    .page(SearchCountResolver.pageLimit(dto.getCountMode(), dto.getPerPageRecord()), offset);
 
             Pageable pageable = PageRequest.of(dto.getCurrentPage(), dto.getPerPageRecord());
-            Query countQueryObj = entityManager.createNativeQuery(countQuery.toString());
-            Query query = entityManager.createNativeQuery(actualQuery.toString());
-
-            setQueryParameters(query, countQueryObj, params, dto);
-
-            Long totalCount = ((Number) countQueryObj.getSingleResult()).longValue();
             @SuppressWarnings("unchecked")
-            List<Object[]> results = query.getResultList();
-            List<Map<String, Object>> sales = transformResults(results);
+            List<Object[]> results = sql.createQuery(entityManager).getResultList();
+            totalCount = SearchCountResolver.resolveTotal(totalCount, results, offset, dto.getPerPageRecord());
+            List<SaleSearchRow> sales = transformResults(results);
 
             return new PageImpl<>(sales, pageable, totalCount);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Sale search failed", e);
             return new PageImpl<>(new ArrayList<>(), 
                 PageRequest.of(dto.getCurrentPage(), dto.getPerPageRecord()), 0L);
         }
     }
 
-    private void appendSearchConditions(StringBuilder sql, Map<String, Object> params, SaleDto
-            dto) {
-        if (!Objects.isNull(dto.getSearch()) && dto.getSearch().trim().length() > 0) {
-            sql.append("""
-                AND (LOWER(s.invoice_number) LIKE :search)
-                """);
-            params.put("search", "%" + dto.getSearch().toLowerCase().trim() + "%");
-        }
-        if(!Objects.isNull(dto.getStartDate())) {
-            sql.append("""
-                AND (s.sale_date >= :startDate)
-                """);
-            params.put("startDate", dto.getStartDate());
-        }
-        if(!Objects.isNull(dto.getEndDate())) {
-            sql.append("""
-                AND (s.sale_date <= :endDate)
-                """);
-            params.put("endDate", dto.getEndDate());
-        }
-        
-        if(!Objects.isNull(dto.getCustomerId())) {
-            sql.append("""
-                AND s.customer_id = :customerId
-                """);
-            params.put("customerId", dto.getCustomerId());
-        }
-        if(!Objects.isNull(dto.getTransportMasterId())) {
-            sql.append("""
-                AND s.transport_master_id = :transportMasterId
-                """);
-            params.put("transportMasterId", dto.getTransportMasterId());
-        }
-        if(!Objects.isNull(dto.getCaseNumber()) && dto.getCaseNumber().trim().length() > 0) {
-            sql.append("""
-                AND LOWER(s.case_number) LIKE :caseNumber
-                """);
-            params.put("caseNumber", "%" + dto.getCaseNumber().toLowerCase().trim() + "%");
-        }
-        if(!Objects.isNull(dto.getReferenceName()) && dto.getReferenceName().trim().length() > 0) {
-            sql.append("""
-                AND LOWER(s.reference_name) LIKE :referenceName
-                """);
-            params.put("referenceName", "%" + dto.getReferenceName().toLowerCase().trim() + "%");
+    /**
+     * Keyset variant of {@link #searchSales}: seeks past the id in {@code dto.cursor} instead of using
+     * OFFSET, so every page costs the same however deep the caller pages. No total count is returned.
+     */
+    public Map<String, Object> searchSalesByCursor(SaleDto dto) {
+        SqlBuilder sql = searchQuery(dto, SEARCH_COLUMNS);
+        if (dto.getCursor() != null && !dto.getCursor().isBlank()) {
+            sql.where("s.id < :cursorId", "cursorId", KeysetCursor.decode(dto.getCursor()).id());
         }
+        sql.orderBy("s.id DESC").limit(dto.getPerPageRecord() + 1);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = sql.createQuery(entityManager).getResultList();
+        return KeysetCursor.toResponse(transformResults(results), dto.getPerPageRecord(),
+                sale -> new KeysetCursor(null, sale.id()));
     }
 
-    private void setQueryParameters(Query query, Query countQuery, Map<String, Object> params, SaleDto dto) {
-        params.forEach((key, value) -> {
-            query.setParameter(key, value);
-            countQuery.setParameter(key, value);
-        });
+    public ExportQuery buildSaleExportQuery(SaleDto dto) {
+        SqlBuilder sql = searchQuery(dto, "s.invoice_number", "s.sale_date", "c.name as customer_name",
+                "s.total_sale_amount", "s.case_number", "s.reference_name", "s.is_black")
+                .orderBy("s.id DESC");
+
+        return new ExportQuery(sql.toSql(), sql.params(), List.of(
+                "Invoice Number", "Sale Date", "Customer", "Total Amount", "Case Number", "Reference Name", "Is Black"));
+    }
 
-        query.setParameter("perPageRecord", dto.getPerPageRecord());
-        query.setParameter("offset", (long) dto.getCurrentPage() * dto.getPerPageRecord());
+    private SqlBuilder searchQuery(SaleDto dto, String... columns) {
+        SqlBuilder sql = SqlBuilder.select(columns)
+                .from("sale s")
+                .leftJoin("customer c", "c.id = s.customer_id AND c.client_id = :clientId")
+                .where("s.client_id = :clientId", "clientId", dto.getClientId());
+        appendSearchConditions(sql, dto);
+        return sql;
+    }
+
+    private void appendSearchConditions(SqlBuilder sql, SaleDto dto) {
+        if (StringUtils.hasText(dto.getSearch())) {
+            sql.where(SearchExpressions.saleInvoiceNumber("s.") + " LIKE :search",
+                    "search", SearchExpressions.containsTerm(dto.getSearch()));
+        }
+        sql.whereIfPresent("s.sale_date >= :startDate", "startDate", dto.getStartDate());
+        sql.whereIfPresent("s.sale_date <= :endDate", "endDate", dto.getEndDate());
+        sql.whereIfPresent("s.customer_id = :customerId", "customerId", dto.getCustomerId());
+        sql.whereIfPresent("s.transport_master_id = :transportMasterId", "transportMasterId", dto.getTransportMasterId());
+        if (StringUtils.hasText(dto.getCaseNumber())) {
+            sql.where("LOWER(s.case_number) LIKE :caseNumber",
+                    "caseNumber", SearchExpressions.containsTerm(dto.getCaseNumber()));
+        }
+        if (StringUtils.hasText(dto.getReferenceName())) {
+            sql.where("LOWER(s.reference_name) LIKE :referenceName",
+                    "referenceName", SearchExpressions.containsTerm(dto.getReferenceName()));
+        }
     }
 
-    private List<Map<String, Object>> transformResults(List<Object[]> results) {
-        List<Map<String, Object>> sales = new ArrayList<>();
+    private List<SaleSearchRow> transformResults(List<Object[]> results) {
+        List<SaleSearchRow> sales = new ArrayList<>(results.size());
         for (Object[] row : results) {
-            Map<String, Object> sale = new HashMap<>();
-            int i = 0;
-            sale.put("id", row[i++]);
-            sale.put("totalSaleAmount", row[i++]);
-            sale.put("saleDate", row[i++]);
-            sale.put("invoiceNumber", row[i++]);
-            sale.put("customerName", row[i++]);
-            sale.put("is_black", row[i++]);
-            sale.put("transportMasterId", row[i++]);
-            sale.put("caseNumber", row[i++]);
-            sale.put("referenceName", row[i++]);
-            sales.add(sale);
+            sales.add(SaleSearchRow.from(row));
         }
         return sales;
     }
@@ -154,9 +128,9 @@ public class SaleDao {
                 si.id as item_id, si.quantity, si.unit_price, si.discount_percentage,
                 si.discount_amount, si.discount_price, si.tax_percentage, si.tax_amount, si.final_price, 
                 si.product_id, si.remarks, si.number_of_roll, si.weight_per_roll
-            FROM (SELECT * FROM sale WHERE id = :saleId AND client_id = :clientId) s
-            LEFT JOIN (SELECT * FROM sale_items si WHERE sale_id = :saleId) si ON s.id = si.sale_id
-            WHERE s.id = :saleId
+            FROM sale s
+            LEFT JOIN sale_items si ON si.sale_id = s.id
+            WHERE s.id = :saleId AND s.client_id = :clientId
         """;
 
         Query query = entityManager.createNativeQuery(sql)
@@ -168,8 +142,7 @@ public class SaleDao {
         return transformToDetailResponse(results);
     }
 
-    public Map<String, Object> getSalePdfDetail(Long saleId, Long clientId) {
-        String sql = """
+    private static final String SALE_PDF_COLUMNS = """
             SELECT 
                 s.id, s.invoice_number, s.sale_date, s.total_sale_amount,
                 c.name as customer_name, c.address, c.mobile, c.gst,
@@ -180,12 +153,16 @@ public class SaleDao {
                 si.number_of_roll, si.weight_per_roll,
                 s.transport_master_id, s.case_number, s.reference_name,
                 tm.name as transport_master_name
-            FROM (SELECT * FROM sale WHERE id = :saleId AND client_id = :clientId) s
-            LEFT JOIN (SELECT * FROM customer WHERE client_id = :clientId) c ON s.customer_id = c.id
-            LEFT JOIN (SELECT * FROM sale_items WHERE sale_id = :saleId) si ON s.id = si.sale_id
-            LEFT JOIN (SELECT * FROM product WHERE client_id = :clientId) p ON si.product_id = p.id
-            LEFT JOIN (SELECT * FROM transport_master WHERE client_id = :clientId) tm ON s.transport_master_id = tm.id
-            WHERE s.id = :saleId
+            """;
+
+    public Map<String, Object> getSalePdfDetail(Long saleId, Long clientId) {
+        String sql = SALE_PDF_COLUMNS + """
+            FROM sale s
+            LEFT JOIN customer c ON c.id = s.customer_id AND c.client_id = :clientId
+            LEFT JOIN sale_items si ON si.sale_id = s.id
+            LEFT JOIN product p ON p.id = si.product_id AND p.client_id = :clientId
+            LEFT JOIN transport_master tm ON tm.id = s.transport_master_id AND tm.client_id = :clientId
+            WHERE s.id = :saleId AND s.client_id = :clientId
         """;
 
         Query query = entityManager.createNativeQuery(sql)
@@ -197,6 +174,54 @@ public class SaleDao {
         return transformToPdfDetail(results);
     }
 
+    /**
+     * Loads the PDF data of several sales in one query, keyed by sale id in id order.
+     */
+    public Map<Long, Map<String, Object>> getSalePdfDetails(List<Long> saleIds, Long clientId) {
+        if (saleIds == null || saleIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String sql = SALE_PDF_COLUMNS + """
+            FROM sale s
+            LEFT JOIN customer c ON c.id = s.customer_id AND c.client_id = :clientId
+            LEFT JOIN sale_items si ON si.sale_id = s.id
+            LEFT JOIN product p ON p.id = si.product_id AND p.client_id = :clientId
+            LEFT JOIN transport_master tm ON tm.id = s.transport_master_id AND tm.client_id = :clientId
+            WHERE s.id IN (:saleIds) AND s.client_id = :clientId
+            ORDER BY s.id, si.id
+        """;
+
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("saleIds", saleIds)
+                .setParameter("clientId", clientId);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = query.getResultList();
+
+        Map<Long, List<Object[]>> rowsBySale = new LinkedHashMap<>();
+        for (Object[] row : results) {
+            rowsBySale.computeIfAbsent(((Number) row[0]).longValue(), k -> new ArrayList<>()).add(row);
+        }
+        Map<Long, Map<String, Object>> details = new LinkedHashMap<>();
+        rowsBySale.forEach((saleId, rows) -> details.put(saleId, transformToPdfDetail(rows)));
+        return details;
+    }
+
+    public List<Long> findSaleIdsForExport(SaleDto dto) {
+        SqlBuilder sql = SqlBuilder.select("s.id")
+                .from("sale s")
+                .where("s.client_id = :clientId", "clientId", dto.getClientId());
+        if (dto.getIds() != null && !dto.getIds().isEmpty()) {
+            sql.where("s.id IN (:ids)", "ids", dto.getIds());
+        }
+        appendSearchConditions(sql, dto);
+        sql.orderBy("s.id");
+
+        @SuppressWarnings("unchecked")
+        List<Object> results = sql.createQuery(entityManager).getResultList();
+        return results.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+
     private Map<String, Object> transformToPdfDetail(List<Object[]> results) {
         if (results.isEmpty()) {
             return Collections.emptyMap();
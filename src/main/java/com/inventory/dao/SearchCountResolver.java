@@ -0,0 +1,206 @@
+package com.inventory.dao;
+
+import com.inventory.enums.CountMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the total for a paginated search according to the requested {@link CountMode}.
+ * Callers pass the FROM/WHERE part of their search SQL, so the same filters are used for
+ * the exact count, the cached count and the EXPLAIN estimate.
+ */
+@Component
+@Slf4j
+public class SearchCountResolver {
+    private static final long CACHE_TTL_MILLIS = 30_000;
+    private static final int MAX_CACHED_COUNTS = 10_000;
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+
+    private record CachedCount(long count, long tableVersion, long expiresAt) {
+    }
+
+    /**
+     * @return the total for the filters, or null in {@link CountMode#HAS_NEXT} mode
+     */
+    public Long count(CountMode mode, String table, String fromClause, Map<String, Object> params) {
+        return switch (mode != null ? mode : CountMode.EXACT) {
+            case HAS_NEXT -> null;
+            case ESTIMATED -> estimate(fromClause, params);
+            case CACHED -> cached(table, fromClause, params);
+            case EXACT -> exact(fromClause, params);
+        };
+    }
+
+    /**
+     * Rows to fetch for a page; HAS_NEXT mode asks for one extra row as the look-ahead.
+     */
+    public static int pageLimit(CountMode mode, int pageSize) {
+        return mode == CountMode.HAS_NEXT ? pageSize + 1 : pageSize;
+    }
+
+    /**
+     * Returns {@code count} when one was resolved. Otherwise drops the look-ahead row from
+     * {@code rows} and returns a total that is just large enough for the existing page
+     * arithmetic (totalPages, hasNext) to report whether another page exists.
+     */
+    public static long resolveTotal(Long count, List<?> rows, long offset, int pageSize) {
+        if (count != null) {
+            return count;
+        }
+        long total = offset + rows.size();
+        if (rows.size() > pageSize) {
+            rows.remove(rows.size() - 1);
+        }
+        return total;
+    }
+
+    /**
+     * Drops cached counts for a table; called after a committed write to it.
+     */
+    public void invalidate(String table) {
+        tableVersions.computeIfAbsent(table, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long exact(String fromClause, Map<String, Object> params) {
+        Query query = entityManager.createNativeQuery("SELECT COUNT(*) " + fromClause);
+        params.forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private long cached(String table, String fromClause, Map<String, Object> params) {
+        String fingerprint = table + "|" + fromClause + "|" + new TreeMap<>(params);
+        long version = tableVersions.computeIfAbsent(table, key -> new AtomicLong()).get();
+        long now = System.currentTimeMillis();
+
+        CachedCount cached = cachedCounts.get(fingerprint);
+        if (cached != null && cached.tableVersion() == version && cached.expiresAt() > now) {
+            return cached.count();
+        }
+
+        long count = exact(fromClause, params);
+        if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+            cachedCounts.values().removeIf(entry -> entry.expiresAt() <= now);
+            if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+                cachedCounts.clear();
+            }
+        }
+        cachedCounts.put(fingerprint, new CachedCount(count, version, now + CACHE_TTL_MILLIS));
+        return count;
+    }
+
+    private long estimate(String fromClause, Map<String, Object> params) {
+        Long estimate = explainRows(fromClause, params);
+        return estimate != null ? estimate : exact(fromClause, params);
+    }
+
+    /**
+     * Runs the EXPLAIN over plain JDBC under a savepoint. A failed statement aborts the whole
+     * PostgreSQL transaction, and a failed Hibernate query marks it rollback-only, so either
+     * would break the exact-count fallback and the rest of the search.
+     */
+    private Long explainRows(String fromClause, Map<String, Object> params) {
+        List<Object> values = new ArrayList<>();
+        String sql = "EXPLAIN SELECT 1 " + toPositional(fromClause, params, values);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < values.size(); i++) {
+                    statement.setObject(i + 1, values.get(i));
+                }
+                Long rows = null;
+                try (ResultSet plan = statement.executeQuery()) {
+                    Matcher matcher = plan.next() ? PLAN_ROWS.matcher(plan.getString(1)) : null;
+                    if (matcher != null && matcher.find()) {
+                        rows = Long.parseLong(matcher.group(1));
+                    }
+                }
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+                return rows;
+            } catch (SQLException e) {
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                }
+                log.warn("Could not estimate search total, falling back to exact count", e);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Rewrites {@code :name} parameters to JDBC placeholders, expanding collections for IN
+     * lists. Quoted literals and {@code ::} casts are left alone.
+     */
+    private static String toPositional(String sql, Map<String, Object> params, List<Object> values) {
+        StringBuilder out = new StringBuilder(sql.length());
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            boolean parameter = !quoted && c == ':' && i + 1 < sql.length()
+                    && Character.isJavaIdentifierStart(sql.charAt(i + 1))
+                    && (i == 0 || sql.charAt(i - 1) != ':');
+            if (!parameter) {
+                out.append(c);
+                continue;
+            }
+            int end = i + 1;
+            while (end < sql.length() && Character.isJavaIdentifierPart(sql.charAt(end))) {
+                end++;
+            }
+            Object value = params.get(sql.substring(i + 1, end));
+            if (value instanceof Collection<?> items) {
+                StringJoiner placeholders = new StringJoiner(", ");
+                for (Object item : items) {
+                    placeholders.add("?");
+                    values.add(jdbcValue(item));
+                }
+                out.append(placeholders);
+            } else {
+                out.append('?');
+                values.add(jdbcValue(value));
+            }
+            i = end - 1;
+        }
+        return out.toString();
+    }
+
+    private static Object jdbcValue(Object value) {
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof java.util.Date date && !(value instanceof java.sql.Date || value instanceof Timestamp)) {
+            return new Timestamp(date.getTime());
+        }
+        return value;
+    }
+}
@@ -0,0 +1,89 @@
+package com.inventory.dao;
+
+import java.util.List;
+
+/**
+ * SQL expressions used by the free-text search predicates, shared with the trigram index
+ * definitions so that both stay identical (Postgres only uses an expression index when the
+ * query repeats the indexed expression). Searches should compare these with
+ * {@code LIKE :term}, where the term is built by {@link #containsTerm}.
+ */
+public final class SearchExpressions {
+
+    private SearchExpressions() {
+    }
+
+    public static String customerName(String alias) {
+        return "lower(" + alias + "name)";
+    }
+
+    public static String customerMobile(String alias) {
+        return alias + "mobile";
+    }
+
+    public static String customerGst(String alias) {
+        return "lower(" + alias + "gst)";
+    }
+
+    public static String productName(String alias) {
+        return "lower(" + alias + "name)";
+    }
+
+    public static String productDescription(String alias) {
+        return "lower(" + alias + "description)";
+    }
+
+    public static String saleInvoiceNumber(String alias) {
+        return "lower(" + alias + "invoice_number)";
+    }
+
+    /**
+     * All searchable enquiry fields folded into one document, so the eight-way OR becomes a
+     * single predicate served by a single index. Fields are joined with the unit separator
+     * (chr(31)), which {@link #containsTerm} strips from the input, so a term still has to
+     * match within one field as it did with the OR.
+     */
+    public static String enquiryDocument(String alias) {
+        List<String> fields = List.of("name", "mobile", "mail", "subject", "type", "company", "city", "state");
+        StringBuilder document = new StringBuilder("lower(");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                document.append(" || chr(31) || ");
+            }
+            document.append("coalesce(").append(alias).append(fields.get(i)).append(", '')");
+        }
+        return document.append(")").toString();
+    }
+
+    /**
+     * Lower-cased {@code %term%} pattern with LIKE wildcards in the user input escaped and the
+     * {@link #enquiryDocument} field separator removed.
+     */
+    public static String containsTerm(String search) {
+        String escaped = search.trim().toLowerCase()
+                .replace("\u001f", "")
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * Trigram GIN index DDL for the expressions above.
+     */
+    public static List<String> trigramIndexes() {
+        return List.of(
+                index("idx_customer_name_trgm", "customer", customerName("")),
+                index("idx_customer_mobile_trgm", "customer", customerMobile("")),
+                index("idx_customer_gst_trgm", "customer", customerGst("")),
+                index("idx_product_name_trgm", "product", productName("")),
+                index("idx_product_description_trgm", "product", productDescription("")),
+                index("idx_sale_invoice_number_trgm", "sale", saleInvoiceNumber("")),
+                index("idx_enquiry_master_fields_trgm", "enquiry_master", enquiryDocument("")));
+    }
+
+    private static String index(String name, String table, String expression) {
+        return "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON " + table
+                + " USING gin ((" + expression + ") gin_trgm_ops)";
+    }
+}
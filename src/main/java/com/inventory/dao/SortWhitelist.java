@@ -0,0 +1,59 @@
+package com.inventory.dao;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps client-supplied {@code sortBy}/{@code sortDir} onto a fixed set of ORDER BY expressions,
+ * so request values never reach the SQL text. Keys match case-insensitively and ignore
+ * underscores, so both {@code quote_date} and {@code quoteDate} resolve to the same column.
+ * Unknown keys fall back to the default column; the row id is appended as a tie-breaker
+ * to keep page boundaries stable.
+ */
+public final class SortWhitelist {
+    private final Map<String, String> expressions = new HashMap<>();
+    private final String defaultExpression;
+    private final String tieBreaker;
+
+    private SortWhitelist(String defaultExpression, String tieBreaker) {
+        this.defaultExpression = defaultExpression;
+        this.tieBreaker = tieBreaker;
+    }
+
+    /**
+     * Whitelist of plain columns of one table alias, defaulting to and tie-breaking on {@code alias.id}.
+     */
+    public static SortWhitelist of(String alias, String... columns) {
+        SortWhitelist whitelist = new SortWhitelist(alias + ".id", alias + ".id");
+        whitelist.expressions.put("id", alias + ".id");
+        for (String column : columns) {
+            whitelist.expressions.put(normalize(column), alias + "." + column);
+        }
+        return whitelist;
+    }
+
+    /**
+     * Adds a sort key backed by an arbitrary expression, e.g. a joined column.
+     */
+    public SortWhitelist with(String key, String expression) {
+        expressions.put(normalize(key), expression);
+        return this;
+    }
+
+    public String orderBy(String sortBy, String sortDir) {
+        String expression = sortBy != null ? expressions.getOrDefault(normalize(sortBy), defaultExpression) : defaultExpression;
+        String direction = direction(sortDir);
+        if (expression.equals(tieBreaker)) {
+            return expression + " " + direction;
+        }
+        return expression + " " + direction + ", " + tieBreaker + " " + direction;
+    }
+
+    public static String direction(String sortDir) {
+        return "asc".equalsIgnoreCase(sortDir) ? "ASC" : "DESC";
+    }
+
+    private static String normalize(String key) {
+        return key.replace("_", "").toLowerCase();
+    }
+}
@@ -0,0 +1,157 @@
+package com.inventory.dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small builder for the native search queries in the DAOs. It produces flat joins over
+ * base tables with an explicit select list (tenant filters go into the ON clause rather
+ * than a {@code SELECT *} subquery per table), keeps every value a bound parameter, and
+ * takes ORDER BY only from a {@link SortWhitelist}.
+ * <pre>
+ * SqlBuilder sql = SqlBuilder.select("s.id", "c.name")
+ *         .from("sale s")
+ *         .leftJoin("customer c", "c.id = s.customer_id AND c.client_id = :clientId")
+ *         .where("s.client_id = :clientId", "clientId", clientId)
+ *         .orderBy(SORTS, sortBy, sortDir)
+ *         .page(pageSize, offset);
+ * </pre>
+ */
+public final class SqlBuilder {
+    private final List<String> columns;
+    private final List<String> joins = new ArrayList<>();
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> params = new HashMap<>();
+    private String from;
+    private String orderBy;
+    private Integer limit;
+    private Long offset;
+
+    private SqlBuilder(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public static SqlBuilder select(String... columns) {
+        return new SqlBuilder(List.of(columns));
+    }
+
+    public SqlBuilder from(String table) {
+        this.from = table;
+        return this;
+    }
+
+    public SqlBuilder join(String table, String on) {
+        joins.add("JOIN " + table + " ON " + on);
+        return this;
+    }
+
+    public SqlBuilder leftJoin(String table, String on) {
+        joins.add("LEFT JOIN " + table + " ON " + on);
+        return this;
+    }
+
+    public SqlBuilder where(String condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    public SqlBuilder where(String condition, String param, Object value) {
+        conditions.add(condition);
+        params.put(param, value);
+        return this;
+    }
+
+    /**
+     * Adds the condition only when {@code value} is present (non-null, and non-blank for strings).
+     */
+    public SqlBuilder whereIfPresent(String condition, String param, Object value) {
+        if (value == null || (value instanceof String text && text.isBlank())) {
+            return this;
+        }
+        return where(condition, param, value);
+    }
+
+    public SqlBuilder param(String name, Object value) {
+        params.put(name, value);
+        return this;
+    }
+
+    public SqlBuilder orderBy(SortWhitelist sorts, String sortBy, String sortDir) {
+        this.orderBy = sorts.orderBy(sortBy, sortDir);
+        return this;
+    }
+
+    /**
+     * Fixed ORDER BY written by the DAO itself; never pass request values here.
+     */
+    public SqlBuilder orderBy(String fixedOrder) {
+        this.orderBy = fixedOrder;
+        return this;
+    }
+
+    public SqlBuilder limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public SqlBuilder page(int limit, long offset) {
+        this.limit = limit;
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * FROM, joins and WHERE without select list, order or paging; used for counts.
+     */
+    public String fromClause() {
+        StringBuilder sql = new StringBuilder("FROM ").append(from);
+        for (String join : joins) {
+            sql.append(' ').append(join);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.toString();
+    }
+
+    public String toSql() {
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(String.join(", ", columns))
+                .append(' ')
+                .append(fromClause());
+        if (orderBy != null) {
+            sql.append(" ORDER BY ").append(orderBy);
+        }
+        if (limit != null) {
+            sql.append(" LIMIT :limit");
+        }
+        if (offset != null) {
+            sql.append(" OFFSET :offset");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Parameters for {@link #fromClause()}; paging parameters are not included.
+     */
+    public Map<String, Object> params() {
+        return params;
+    }
+
+    public Query createQuery(EntityManager entityManager) {
+        Query query = entityManager.createNativeQuery(toSql());
+        params.forEach(query::setParameter);
+        if (limit != null) {
+            query.setParameter("limit", limit);
+        }
+        if (offset != null) {
+            query.setParameter("offset", offset);
+        }
+        return query;
+    }
+}
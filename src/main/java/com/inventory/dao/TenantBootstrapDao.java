@@ -0,0 +1,94 @@
+package com.inventory.dao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Set-based seeding of the system products every client needs (bag stock products used by
+ * batches). One INSERT ... SELECT covers all active clients, or one client when
+ * {@code clientId} is given.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TenantBootstrapDao {
+    private final EntityManager entityManager;
+
+    /**
+     * Inserts the missing {@code codes} products for active clients, serialized by advisory
+     * locks so concurrently starting instances do not insert twice. Seeding all clients takes
+     * the {@code system_products} lock exclusively; seeding one client holds it shared plus a
+     * lock of its own, so different clients are seeded in parallel.
+     *
+     * @return client id of each product created
+     */
+    public List<Long> insertMissingProducts(List<String> codes, Long clientId) {
+        if (clientId == null) {
+            entityManager.createNativeQuery("SELECT pg_advisory_xact_lock(hashtext('system_products'))")
+                    .getSingleResult();
+        } else {
+            entityManager.createNativeQuery("SELECT pg_advisory_xact_lock_shared(hashtext('system_products')), "
+                            + "pg_advisory_xact_lock(hashtext('system_products'), CAST(:clientId AS int))")
+                    .setParameter("clientId", clientId)
+                    .getSingleResult();
+        }
+
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < codes.size(); i++) {
+            values.add("(:code" + i + ")");
+        }
+        String sql = "INSERT INTO product (name, product_code, status, client_id, purchase_amount, sale_amount, "
+                + "weight, remaining_quantity, tax_percentage, created_at, updated_at) "
+                + "SELECT code.code, code.code, 'A', c.id, 0, 0, 0, 0, 18, now(), now() "
+                + "FROM client c "
+                + "CROSS JOIN (VALUES " + String.join(", ", values) + ") AS code(code) "
+                + "WHERE c.status = 'A' "
+                + (clientId != null ? "AND c.id = :clientId " : "")
+                + "AND NOT EXISTS (SELECT 1 FROM product p WHERE p.client_id = c.id AND p.product_code = code.code) "
+                + "RETURNING client_id";
+
+        NativeQuery<?> query = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("product");
+        for (int i = 0; i < codes.size(); i++) {
+            query.setParameter("code" + i, codes.get(i));
+        }
+        if (clientId != null) {
+            query.setParameter("clientId", clientId);
+        }
+        @SuppressWarnings("unchecked")
+        List<Number> clientIds = (List<Number>) query.getResultList();
+        return clientIds.stream().map(Number::longValue).toList();
+    }
+
+    /**
+     * Product id per client and code; the oldest product wins if a client has duplicates.
+     */
+    public Map<Long, Map<String, Long>> findProductIds(List<String> codes, Long clientId) {
+        String sql = "SELECT p.client_id, p.product_code, MIN(p.id) FROM product p "
+                + "WHERE p.product_code IN (:codes) AND p.client_id IS NOT NULL "
+                + (clientId != null ? "AND p.client_id = :clientId " : "")
+                + "GROUP BY p.client_id, p.product_code";
+        Query query = entityManager.createNativeQuery(sql).setParameter("codes", codes);
+        if (clientId != null) {
+            query.setParameter("clientId", clientId);
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+
+        Map<Long, Map<String, Long>> result = new HashMap<>();
+        for (Object[] row : rows) {
+            result.computeIfAbsent(((Number) row[0]).longValue(), k -> new HashMap<>())
+                    .put((String) row[1], ((Number) row[2]).longValue());
+        }
+        return result;
+    }
+}
@@ -21,69 +21,34 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TransportDao {
     private final EntityManager entityManager;
+    private final SearchCountResolver searchCountResolver;
     
+    private static final SortWhitelist SORTS = SortWhitelist.of("t", "created_at", "total_weight", "total_bags")
+            .with("customer_name", "c.name");
+
     public Map<String, Object> searchTransports(TransportDto dto) {
-        Map<String, Object> params = new HashMap<>();
-        StringBuilder countQuery = new StringBuilder("SELECT COUNT(*) FROM transport t JOIN customer c ON t.customer_id = c.id WHERE t.client_id = :clientId");
-        StringBuilder dataQuery = new StringBuilder("""
-            SELECT 
-                t.id, 
-                t.created_at as createdAt, 
-                c.name as customerName, 
-                c.id as customerId,
-                t.total_weight as totalWeight,
-                t.total_bags as totalBags
-            FROM (SELECT * FROM transport WHERE client_id = :clientId) t
-            JOIN (SELECT * FROM customer WHERE client_id = :clientId) c ON t.customer_id = c.id
-            WHERE 1=1
-        """);
-        params.put("clientId", dto.getClientId());
-        buildWhereClause(countQuery, dataQuery, params, dto);
-        
-        // Add sorting
-        String sortField = getSortField(dto.getSortBy());
-        dataQuery.append(" ORDER BY ").append(sortField).append(" ").append(dto.getSortDir())
-                .append(" LIMIT :perPageRecord OFFSET :offset");
-        
-        // Execute count query
-        Query query = entityManager.createNativeQuery(countQuery.toString());
-        setParameters(query, params);
-        long totalRecords = ((Number) query.getSingleResult()).longValue();
-        
-        // Execute data query with pagination
-        query = entityManager.createNativeQuery(dataQuery.toString());
-        params.put("offset", dto.getCurrentPage() * dto.getPerPageRecord());
-        params.put("perPageRecord", dto.getPerPageRecord());
-        setParameters(query, params);
-        
-        List<Object[]> results = query.getResultList();
-        return transformResults(results, totalRecords, dto);
-    }
-    
-    private void buildWhereClause(StringBuilder countQuery, StringBuilder dataQuery, 
-            Map<String, Object> params, TransportDto dto) {
+        SqlBuilder sql = SqlBuilder.select(
+                        "t.id", "t.created_at as createdAt", "c.name as customerName", "c.id as customerId",
+                        "t.total_weight as totalWeight", "t.total_bags as totalBags")
+                .from("transport t")
+                .join("customer c", "c.id = t.customer_id AND c.client_id = :clientId")
+                .where("t.client_id = :clientId", "clientId", dto.getClientId());
         if (StringUtils.hasText(dto.getSearch())) {
-            String search = "%" + dto.getSearch().toLowerCase() + "%";
-            countQuery.append(" AND LOWER(c.name) LIKE :search");
-            dataQuery.append(" AND LOWER(c.name) LIKE :search");
-            params.put("search", search);
-        }
-        
-        if (dto.getStartDate() != null) {
-            countQuery.append(" AND t.created_at >= :startDate");
-            dataQuery.append(" AND t.created_at >= :startDate");
-            params.put("startDate", dto.getStartDate());
+            sql.where("LOWER(c.name) LIKE :search", "search", "%" + dto.getSearch().toLowerCase() + "%");
         }
+        sql.whereIfPresent("t.created_at >= :startDate", "startDate", dto.getStartDate());
+        sql.whereIfPresent("t.created_at <= :endDate", "endDate", dto.getEndDate());
 
-        if (dto.getEndDate() != null) {
-            countQuery.append(" AND t.created_at <= :endDate");
-            dataQuery.append(" AND t.created_at <= :endDate");
-            params.put("endDate", dto.getEndDate());
-        }
-    }
+        // Total per requested count mode
+        Long totalCount = searchCountResolver.count(dto.getCountMode(), "transport", sql.fromClause(), sql.params());
+
+        long offset = (long) dto.getCurrentPage() * dto.getPerPageRecord();
+        sql.orderBy(SORTS, dto.getSortBy(), dto.getSortDir())
+                .page(SearchCountResolver.pageLimit(dto.getCountMode(), dto.getPerPageRecord()), offset);
 
-    private void setParameters(Query query, Map<String, Object> params) {
-        params.forEach(query::setParameter);
+        List<Object[]> results = sql.createQuery(entityManager).getResultList();
+        long totalRecords = SearchCountResolver.resolveTotal(totalCount, results, offset, dto.getPerPageRecord());
+        return transformResults(results, totalRecords, dto);
     }
 
     private Map<String, Object> transformResults(List<Object[]> results, long totalRecords, TransportDto dto) {
@@ -117,9 +82,9 @@ public class TransportDao {
                 t.total_bags as totalBags,
                 c.id as customerId,
                 c.name as customerName
-            FROM (SELECT * FROM transport WHERE client_id = :clientId) t
-            LEFT JOIN (SELECT * FROM customer WHERE client_id = :clientId) c ON t.customer_id = c.id
-            WHERE t.id = :transportId
+            FROM transport t
+            LEFT JOIN customer c ON c.id = t.customer_id AND c.client_id = :clientId
+            WHERE t.id = :transportId AND t.client_id = :clientId
         """;
         
         Query nativeQuery = entityManager.createNativeQuery(query);
@@ -164,18 +129,12 @@ public class TransportDao {
                 s.discount_price as sale_discount_price,
                 s.total_amount as sale_total_amount
             FROM transport_bag b
-            LEFT JOIN (
-                SELECT * FROM transport_items 
-                WHERE transport_id = :transportId AND client_id = :clientId
-            ) ti ON ti.transport_bag_id = b.id
-            LEFT JOIN (
-                SELECT * FROM purchase 
-                WHERE transport_id = :transportId AND client_id = :clientId
-            ) pur ON pur.transport_item_id = ti.id
-            LEFT JOIN (
-                SELECT * FROM sale 
-                WHERE transport_id = :transportId AND client_id = :clientId
-            ) s ON s.transport_item_id = ti.id
+            LEFT JOIN transport_items ti ON ti.transport_bag_id = b.id
+                AND ti.transport_id = :transportId AND ti.client_id = :clientId
+            LEFT JOIN purchase pur ON pur.transport_item_id = ti.id
+                AND pur.transport_id = :transportId AND pur.client_id = :clientId
+            LEFT JOIN sale s ON s.transport_item_id = ti.id
+                AND s.transport_id = :transportId AND s.client_id = :clientId
             WHERE b.transport_id = :transportId
             ORDER BY b.id, ti.id
         """;
@@ -274,16 +233,6 @@ public class TransportDao {
         return transport;
     }
 
-    private String getSortField(String sortBy) {
-        // Map frontend sort fields to actual entity fields
-        return switch (sortBy.toLowerCase()) {
-            case "customername" -> "c.name";
-            case "totalweight" -> "t.totalWeight";
-            case "totalbags" -> "t.totalBags";
-            default -> "t." + sortBy;
-        };
-    }
-
     public Map<String, Object> getTransportPdfData(Long transportId, Long clientId) {
         String query = """
             SELECT 
@@ -296,9 +245,9 @@ public class TransportDao {
                 c.address as customerAddress,
                 c.mobile as customerMobile,
                 c.gst as customerGst
-            FROM (SELECT * FROM transport WHERE client_id = :clientId) t
-            LEFT JOIN (SELECT * FROM customer WHERE client_id = :clientId) c ON t.customer_id = c.id
-            WHERE t.id = :transportId
+            FROM transport t
+            LEFT JOIN customer c ON c.id = t.customer_id AND c.client_id = :clientId
+            WHERE t.id = :transportId AND t.client_id = :clientId
         """;
         
         Query nativeQuery = entityManager.createNativeQuery(query);
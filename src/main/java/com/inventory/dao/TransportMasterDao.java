@@ -11,6 +11,9 @@ import java.util.*;
 
 @Repository
 public class TransportMasterDao {
+    private static final SortWhitelist SORTS = SortWhitelist.of("t",
+            "name", "mobile", "gst", "remarks", "status", "created_at", "updated_at");
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -99,9 +102,9 @@ public class TransportMasterDao {
         appendConditions(sql, params, dto);
 
         sql.append("""
-                ORDER BY t.%s %s
+                ORDER BY %s
                 LIMIT :pageSize OFFSET :offset
-            """.formatted(dto.getSortBy(), dto.getSortDir().toUpperCase()));
+            """.formatted(SORTS.orderBy(dto.getSortBy(), dto.getSortDir())));
 
         Query query = entityManager.createNativeQuery(sql.toString());
         params.forEach(query::setParameter);
@@ -14,6 +14,7 @@ public class ApiResponse<T> {
     private boolean success;
     private String message;
     private T data;
+    private String errorCode;
     
     public static <T> ApiResponse<T> success(String message) {
         return ApiResponse.<T>builder()
@@ -36,4 +37,12 @@ public class ApiResponse<T> {
                 .message(message)
                 .build();
     }
+
+    public static <T> ApiResponse<T> error(String message, String errorCode) {
+        return ApiResponse.<T>builder()
+                .success(false)
+                .message(message)
+                .errorCode(errorCode)
+                .build();
+    }
 } 
\ No newline at end of file
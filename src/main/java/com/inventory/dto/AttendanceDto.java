@@ -3,6 +3,8 @@ package com.inventory.dto;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.inventory.enums.CountMode;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -62,6 +64,8 @@ public class AttendanceDto {
     @JsonIgnore
     @Builder.Default
     private Integer size = 10;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private CountMode countMode;
     
     // Sorting parameters
     @JsonIgnore
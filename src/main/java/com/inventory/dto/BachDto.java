@@ -1,6 +1,7 @@
 package com.inventory.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.inventory.enums.CountMode;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -41,6 +42,7 @@ public class BachDto {
     private Integer size = 10;
     private String sortBy = "id";
     private String sortDir = "desc";
+    private CountMode countMode;
 
     @Data
     @Getter
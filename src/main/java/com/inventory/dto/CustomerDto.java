@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.inventory.config.CustomDateDeserializer;
+import com.inventory.enums.CountMode;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -41,6 +42,7 @@ public class CustomerDto {
     private String search;
     private Integer currentPage = 0;
     private Integer perPageRecord = 10;
+    private CountMode countMode;
     private Long clientId;
     private String referenceName;
 } 
\ No newline at end of file
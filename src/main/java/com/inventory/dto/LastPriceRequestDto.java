@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Data
 @Getter
 @Setter
@@ -13,4 +15,5 @@ public class LastPriceRequestDto {
     private Long productId;
     private Long customerId;
     private Long clientId;
+    private List<Long> productIds;
 } 
\ No newline at end of file
@@ -32,6 +32,8 @@ public class PurchaseDto {
     private BigDecimal otherExpenses;
     private Integer currentPage;
     private Integer perPageRecord;
+    private Boolean cursorMode;
+    private String cursor;
     private String search;
     private String status;
 //    private String coilNumber;
@@ -9,6 +9,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
 import com.inventory.dto.request.QuotationItemRequestDto;
+import com.inventory.enums.CountMode;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -42,6 +43,7 @@ public class QuotationDto {
     private BigDecimal quotationDiscountPercentage;
     private BigDecimal quotationDiscountAmount;
     private List<Long> quotationItemIds;
+    private List<Long> ids;
     private List<QuotationItemRequestDto> items;
 
     // Search parameters
@@ -50,6 +52,9 @@ public class QuotationDto {
     private Integer perPageRecord = 10;
     //    private Integer currentPage;
 //    private Integer perPageRecord;
+    private Boolean cursorMode;
+    private String cursor;
+    private CountMode countMode;
     private String sortBy = "id";
     private String sortDir = "desc";
     private Long clientId;
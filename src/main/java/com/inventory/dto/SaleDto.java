@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.inventory.config.CustomDateDeserializer;
+import com.inventory.enums.CountMode;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -45,6 +46,9 @@ public class SaleDto {
     private BigDecimal otherExpenses;
     private Integer currentPage;
     private Integer perPageRecord;
+    private Boolean cursorMode;
+    private String cursor;
+    private CountMode countMode;
 //    private String coilNumber;
     private BigDecimal discount;
     private BigDecimal discountAmount;
@@ -53,4 +57,5 @@ public class SaleDto {
     private Date endDate;
     private Boolean isBlack;
     private List<Long> quotationItemIds;
+    private List<Long> ids;
 }
\ No newline at end of file
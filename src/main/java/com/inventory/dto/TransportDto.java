@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.inventory.config.CustomDateDeserializer;
+import com.inventory.enums.CountMode;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -27,6 +28,7 @@ public class TransportDto {
     private String search;
     private Integer currentPage = 0;
     private Integer perPageRecord = 10;
+    private CountMode countMode;
     private String sortBy = "id";
     private String sortDir = "desc";
     
@@ -0,0 +1,40 @@
+package com.inventory.dto.projection;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Conversions from the raw values of a native query row to the column types of a projection.
+ */
+final class Columns {
+    private Columns() {
+    }
+
+    static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    static BigDecimal toBigDecimal(Object value) {
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * Keeps the JDBC {@link Timestamp} as is, so the value serializes exactly as it did when
+     * search rows were plain maps.
+     */
+    static Date toDate(Object value) {
+        if (value instanceof LocalDateTime localDateTime) {
+            return Timestamp.valueOf(localDateTime);
+        }
+        return (Date) value;
+    }
+}
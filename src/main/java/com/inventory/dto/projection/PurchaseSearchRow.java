@@ -0,0 +1,24 @@
+package com.inventory.dto.projection;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * One row of the purchase search page, in the column order of {@code PurchaseDao}'s search select list.
+ */
+public record PurchaseSearchRow(
+        Long id,
+        BigDecimal totalPurchaseAmount,
+        Date purchaseDate,
+        String invoiceNumber,
+        String customerName) {
+
+    public static PurchaseSearchRow from(Object[] row) {
+        return new PurchaseSearchRow(
+                Columns.toLong(row[0]),
+                Columns.toBigDecimal(row[1]),
+                Columns.toDate(row[2]),
+                (String) row[3],
+                (String) row[4]);
+    }
+}
@@ -0,0 +1,59 @@
+package com.inventory.dto.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the quotation item search, in the column order of {@code QuotationItemDao}'s select list.
+ */
+public record QuotationItemSearchRow(
+        Long id,
+        Long quotationId,
+        Long productId,
+        BigDecimal quantity,
+        BigDecimal unitPrice,
+        BigDecimal discountPrice,
+        BigDecimal quotationDiscountPercentage,
+        BigDecimal quotationDiscountAmount,
+        BigDecimal quotationDiscountPrice,
+        BigDecimal taxPercentage,
+        BigDecimal taxAmount,
+        BigDecimal finalPrice,
+        Long clientId,
+        Long brandId,
+        Integer numberOfRoll,
+        Integer createdRoll,
+        BigDecimal weightPerRoll,
+        String remarks,
+        Boolean isProduction,
+        Boolean isDispatch,
+        String quotationItemStatus,
+        String productName,
+        String brandName) {
+
+    public static QuotationItemSearchRow from(Object[] row) {
+        return new QuotationItemSearchRow(
+                Columns.toLong(row[0]),
+                Columns.toLong(row[1]),
+                Columns.toLong(row[2]),
+                Columns.toBigDecimal(row[3]),
+                Columns.toBigDecimal(row[4]),
+                Columns.toBigDecimal(row[5]),
+                Columns.toBigDecimal(row[6]),
+                Columns.toBigDecimal(row[7]),
+                Columns.toBigDecimal(row[8]),
+                Columns.toBigDecimal(row[9]),
+                Columns.toBigDecimal(row[10]),
+                Columns.toBigDecimal(row[11]),
+                Columns.toLong(row[12]),
+                Columns.toLong(row[13]),
+                Columns.toInteger(row[14]),
+                Columns.toInteger(row[15]),
+                Columns.toBigDecimal(row[16]),
+                (String) row[17],
+                (Boolean) row[18],
+                (Boolean) row[19],
+                (String) row[20],
+                (String) row[21],
+                (String) row[22]);
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory.dto.projection;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * One row of the sale search page, in the column order of {@code SaleDao}'s search select list.
+ */
+public record SaleSearchRow(
+        Long id,
+        BigDecimal totalSaleAmount,
+        Date saleDate,
+        String invoiceNumber,
+        String customerName,
+        @JsonProperty("is_black") Boolean isBlack,
+        Long transportMasterId,
+        String caseNumber,
+        String referenceName) {
+
+    public static SaleSearchRow from(Object[] row) {
+        return new SaleSearchRow(
+                Columns.toLong(row[0]),
+                Columns.toBigDecimal(row[1]),
+                Columns.toDate(row[2]),
+                (String) row[3],
+                (String) row[4],
+                (Boolean) row[5],
+                Columns.toLong(row[6]),
+                (String) row[7],
+                (String) row[8]);
+    }
+}
@@ -20,4 +20,10 @@ public class PayrollSummaryRequestDto {
     
     @JsonFormat(pattern = "dd-MM-yyyy")
     private LocalDate endDate;
+
+    // Renders one section per employee after the summary table
+    private Boolean perEmployeeSections = false;
+
+    // Adds daily attendance and withdraw tables to each employee section
+    private Boolean includeDetails = false;
 }
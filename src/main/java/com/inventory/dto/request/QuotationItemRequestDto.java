@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.inventory.enums.CountMode;
 
 import lombok.Data;
 import lombok.Getter;
@@ -44,6 +45,7 @@ public class QuotationItemRequestDto {
     // Search & pagination
     private Integer page = 0;
     private Integer size = 10;
+    private CountMode countMode;
     private String sortBy = "id";
     private String sortDir = "desc";
 }
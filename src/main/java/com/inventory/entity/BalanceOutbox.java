@@ -0,0 +1,47 @@
+package com.inventory.entity;
+
+import com.inventory.enums.OutboxTarget;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * A pending stock or customer balance change, written in the same transaction as the sale,
+ * purchase or payment that caused it and applied later by
+ * {@link com.inventory.service.BalanceOutboxDispatcher}. A row is applied exactly once: the
+ * dispatcher marks it processed in the transaction that applies it. Indexes are created by the
+ * V4/V6 migrations, as partial indexes on the unprocessed or processed rows.
+ */
+@Data
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "balance_outbox")
+public class BalanceOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "client_id")
+    private Long clientId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 16)
+    private OutboxTarget targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Column(name = "delta", nullable = false, precision = 19, scale = 3)
+    private BigDecimal delta;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP")
+    private OffsetDateTime createdAt = OffsetDateTime.now();
+
+    @Column(name = "processed_at", columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime processedAt;
+}
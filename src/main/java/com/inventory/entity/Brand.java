@@ -2,6 +2,8 @@ package com.inventory.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.OffsetDateTime;
 
@@ -11,6 +13,8 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "brand")
 @Table(name = "brand", indexes = {
         @Index(name = "idx_brand_name", columnList = "name"),
         @Index(name = "idx_brand_client_id", columnList = "client_id"),
@@ -2,6 +2,7 @@ package com.inventory.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.OffsetDateTime;
 import java.math.BigDecimal;
@@ -9,6 +10,7 @@ import java.util.List;
 
 @Data
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
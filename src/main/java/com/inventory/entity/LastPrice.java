@@ -0,0 +1,51 @@
+package com.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Last sale and purchase price per client, customer and product. Rows are upserted by
+ * {@link com.inventory.dao.PriceDao} whenever sale or purchase items are written, so price
+ * lookups never have to scan the item tables.
+ */
+@Data
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "last_price", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_last_price_client_customer_product", columnNames = {"client_id", "customer_id", "product_id"})
+})
+public class LastPrice {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "last_sale_price", precision = 19, scale = 2)
+    private BigDecimal lastSalePrice;
+
+    @Column(name = "last_sale_item_id")
+    private Long lastSaleItemId;
+
+    @Column(name = "last_purchase_price", precision = 19, scale = 2)
+    private BigDecimal lastPurchasePrice;
+
+    @Column(name = "last_purchase_item_id")
+    private Long lastPurchaseItemId;
+
+    @Column(name = "updated_at", length = 29, columnDefinition = "TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP")
+    private OffsetDateTime updatedAt = OffsetDateTime.now();
+}
@@ -0,0 +1,38 @@
+package com.inventory.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Current version of one client's lookup list. Bumped by {@link com.inventory.dao.LookupVersionDao}
+ * in the transaction that changes the list, so every instance of
+ * {@link com.inventory.service.LookupCacheService} sees the same version.
+ */
+@Data
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "lookup_version", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_lookup_version_client_type", columnNames = {"client_id", "lookup_type"})
+})
+public class LookupVersion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "client_id", nullable = false)
+    private Long clientId;
+
+    @Column(name = "lookup_type", nullable = false, length = 32)
+    private String lookupType;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", length = 29, columnDefinition = "TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP")
+    private OffsetDateTime updatedAt = OffsetDateTime.now();
+}
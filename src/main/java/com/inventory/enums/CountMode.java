@@ -0,0 +1,17 @@
+package com.inventory.enums;
+
+/**
+ * How a paginated search computes its total.
+ * <ul>
+ *     <li>EXACT - run COUNT(*) with the search filters (default)</li>
+ *     <li>CACHED - exact count reused for a short time per filter set, dropped when the table is written</li>
+ *     <li>ESTIMATED - planner row estimate from EXPLAIN, no table scan</li>
+ *     <li>HAS_NEXT - no count; one extra row is fetched to tell whether another page exists</li>
+ * </ul>
+ */
+public enum CountMode {
+    EXACT,
+    CACHED,
+    ESTIMATED,
+    HAS_NEXT
+}
@@ -0,0 +1,41 @@
+package com.inventory.enums;
+
+import java.util.Set;
+
+/**
+ * Cost class of an API call, used by tenant admission to pick the rate limit that applies.
+ * Derived from the HTTP method and the last path segment, since most read endpoints in this
+ * API are POSTs ({@code /search}, {@code /detail}, {@code /getCustomers}, ...).
+ */
+public enum EndpointClass {
+    READ,
+    WRITE,
+    REPORT,
+    PDF;
+
+    private static final Set<String> READ_SEGMENTS = Set.of(
+            "detail", "details", "get-detail", "full-details", "list", "all", "latest", "batch", "codes",
+            "by-enquiry");
+
+    public static EndpointClass of(String method, String uri) {
+        String path = uri.toLowerCase();
+        if (path.contains("pdf") || path.contains("dispatch-slip")) {
+            return PDF;
+        }
+        if (path.contains("/export")) {
+            return REPORT;
+        }
+        if ("GET".equalsIgnoreCase(method)) {
+            return READ;
+        }
+        if (!"POST".equalsIgnoreCase(method)) {
+            return WRITE;
+        }
+        String last = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        last = last.substring(last.lastIndexOf('/') + 1);
+        if (last.startsWith("search") || last.startsWith("get") || READ_SEGMENTS.contains(last)) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
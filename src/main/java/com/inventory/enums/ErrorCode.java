@@ -0,0 +1,35 @@
+package com.inventory.enums;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Machine-readable reason carried by {@link com.inventory.exception.ValidationException} and
+ * returned to clients as {@code errorCode}, so they do not have to parse messages.
+ */
+@Getter
+public enum ErrorCode {
+    VALIDATION_FAILED(HttpStatus.UNPROCESSABLE_ENTITY),
+    BAD_REQUEST(HttpStatus.BAD_REQUEST),
+    NOT_FOUND(HttpStatus.NOT_FOUND),
+    UNAUTHORIZED(HttpStatus.UNAUTHORIZED),
+    FORBIDDEN(HttpStatus.FORBIDDEN),
+    CONFLICT(HttpStatus.CONFLICT),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR);
+
+    private final HttpStatus httpStatus;
+
+    ErrorCode(HttpStatus httpStatus) {
+        this.httpStatus = httpStatus;
+    }
+
+    public static ErrorCode fromStatus(HttpStatus httpStatus) {
+        for (ErrorCode code : values()) {
+            if (code.httpStatus == httpStatus) {
+                return code;
+            }
+        }
+        return httpStatus != null && httpStatus.is5xxServerError() ? INTERNAL_ERROR : VALIDATION_FAILED;
+    }
+}
@@ -0,0 +1,37 @@
+package com.inventory.enums;
+
+import com.inventory.exception.ValidationException;
+import lombok.Getter;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+@Getter
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat fromPath(String format) {
+        for (ExportFormat e : ExportFormat.values()) {
+            if (e.extension.equalsIgnoreCase(format)) return e;
+        }
+        throw new ValidationException("Unsupported export format: " + format);
+    }
+
+    public HttpHeaders attachmentHeaders(String baseName) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(contentType));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(baseName + "." + extension)
+                .build());
+        return headers;
+    }
+}
@@ -0,0 +1,15 @@
+package com.inventory.enums;
+
+/**
+ * Dropdown/lookup lists served through the lookup cache; each has its own version per client.
+ * LAST_PRICE versions the last-price cache of {@link com.inventory.service.PriceService}.
+ */
+public enum LookupType {
+    PRODUCT,
+    CUSTOMER,
+    CATEGORY,
+    BRAND,
+    TRANSPORT_MASTER,
+    MACHINE,
+    LAST_PRICE
+}
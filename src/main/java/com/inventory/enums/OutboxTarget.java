@@ -0,0 +1,11 @@
+package com.inventory.enums;
+
+/**
+ * Row a {@link com.inventory.entity.BalanceOutbox} delta is applied to.
+ */
+public enum OutboxTarget {
+    /** {@code product.remaining_quantity} */
+    PRODUCT,
+    /** {@code customer.remaining_payment_amount} */
+    CUSTOMER
+}
@@ -1,11 +1,15 @@
 package com.inventory.exception;
 
 import com.inventory.dto.ApiResponse;
+import com.inventory.enums.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+@Slf4j
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -13,14 +17,24 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ApiResponse<?>> handleValidationException(ValidationException ex) {
         return ResponseEntity
                 .status(ex.getHttpStatus())
-                .body(ApiResponse.error(ex.getMessage()));
+                .body(ApiResponse.error(ex.getMessage(), ex.getErrorCode().name()));
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<?>> handleGenericException(Exception ex) {
-        ex.printStackTrace(); // Print stack trace for debugging
+        // Arrives wrapped by the transaction manager when a client is at its connection quota
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TenantQuotaExceededException) {
+                return ResponseEntity
+                        .status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(ApiResponse.error("Too many requests in progress for this account. Please retry shortly.",
+                                ErrorCode.TOO_MANY_REQUESTS.name()));
+            }
+        }
+        log.error("Unhandled exception", ex);
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(ApiResponse.error("An unexpected error occurred. Please try again later."));
+                .body(ApiResponse.error("An unexpected error occurred. Please try again later.", ErrorCode.INTERNAL_ERROR.name()));
     }
 } 
\ No newline at end of file
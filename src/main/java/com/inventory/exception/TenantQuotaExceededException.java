@@ -0,0 +1,14 @@
+package com.inventory.exception;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Thrown when a client already holds its share of database connections. Surfaces through the
+ * transaction manager and is answered with 429 by {@link GlobalExceptionHandler}.
+ */
+public class TenantQuotaExceededException extends SQLTransientConnectionException {
+
+    public TenantQuotaExceededException(String message) {
+        super(message, "53300");
+    }
+}
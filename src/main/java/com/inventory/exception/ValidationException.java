@@ -1,38 +1,55 @@
 package com.inventory.exception;
 
+import com.inventory.enums.ErrorCode;
 import org.springframework.http.HttpStatus;
 
+/**
+ * Business failure reported to the client as-is. It is thrown for routine conditions (missing
+ * input, wrong tenant, expired token), so no stack trace is captured: filling it in dominated
+ * the cost of a rejected request. A wrapped cause keeps its own stack trace.
+ */
 public class ValidationException extends RuntimeException {
 
     private HttpStatus httpStatus = HttpStatus.UNPROCESSABLE_ENTITY;
+    private ErrorCode errorCode;
+
     public ValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
-
     public ValidationException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
         this.httpStatus = HttpStatus.NOT_FOUND;
     }
 
     public ValidationException(String message, Throwable cause, HttpStatus httpStatus) {
-        super(message, cause);
+        super(message, cause, false, false);
         this.httpStatus = httpStatus;
     }
 
     public ValidationException(String message, HttpStatus httpStatus) {
-        super(message);
+        super(message, null, false, false);
         this.httpStatus = httpStatus;
     }
 
+    public ValidationException(ErrorCode errorCode, String message) {
+        super(message, null, false, false);
+        this.errorCode = errorCode;
+        this.httpStatus = errorCode.getHttpStatus();
+    }
 
     public void setHttpStatus(HttpStatus httpStatus) {
         this.httpStatus = httpStatus;
     }
 
     public HttpStatus getHttpStatus() {
-        // TODO Auto-generated method stub
         return httpStatus;
     }
 
-} 
\ No newline at end of file
+    /**
+     * The explicit code, or one derived from the HTTP status for callers that only set a status.
+     */
+    public ErrorCode getErrorCode() {
+        return errorCode != null ? errorCode : ErrorCode.fromStatus(httpStatus);
+    }
+}
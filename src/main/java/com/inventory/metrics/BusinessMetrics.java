@@ -0,0 +1,148 @@
+package com.inventory.metrics;
+
+import com.inventory.security.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * Timers for the business write paths, published on {@code /actuator/prometheus}:
+ * <ul>
+ *     <li>{@code inventory.document.write} - sale/quotation create and update, tagged with the
+ *     operation, a line-count bucket and whether the transaction committed</li>
+ *     <li>{@code inventory.lock.wait} / {@code inventory.lock.hold} - the per-product and
+ *     per-customer locks around stock and balance updates</li>
+ *     <li>{@code inventory.number.allocation} - invoice and quote number generation</li>
+ * </ul>
+ * The same hooks emit JFR events ({@link DocumentWriteEvent}, {@link NumberAllocationEvent})
+ * carrying the client id, SQL statement count and lock wait, for per-request drill-down in a
+ * flight recording.
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessMetrics {
+    /** Lock wait accumulated on the current thread, read as a difference by document writes. */
+    private static final ThreadLocal<long[]> LOCK_WAIT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final MeterRegistry registry;
+
+    /**
+     * A held lock, returned by {@link #lock} and handed back to {@link #unlock}.
+     */
+    public record LockHold(String name, long acquiredAt, long waitNanos) {
+    }
+
+    /**
+     * Starts timing a document write in the current transaction; the timer is recorded when the
+     * transaction completes, so commit time is included.
+     */
+    public void timeDocumentWrite(String operation, int lines) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(registry);
+        DocumentWriteEvent event = new DocumentWriteEvent();
+        int sqlAtStart = SqlStatementCounter.current();
+        long lockWaitAtStart = LOCK_WAIT.get()[0];
+        event.begin();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = operation;
+                    event.clientId = clientId();
+                    event.lines = lines;
+                    event.sqlStatements = SqlStatementCounter.current() - sqlAtStart;
+                    event.lockWait = LOCK_WAIT.get()[0] - lockWaitAtStart;
+                    event.committed = status == STATUS_COMMITTED;
+                    event.commit();
+                }
+                sample.stop(Timer.builder("inventory.document.write")
+                        .tag("operation", operation)
+                        .tag("lines", lineBucket(lines))
+                        .tag("outcome", status == STATUS_COMMITTED ? "committed" : "rolled_back")
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+        });
+    }
+
+    /**
+     * Acquires {@code lock}, recording how long the caller waited for it.
+     *
+     * @return the hold to pass to {@link #unlock}
+     */
+    public LockHold lock(Lock lock, String name) {
+        long start = System.nanoTime();
+        lock.lock();
+        long acquiredAt = System.nanoTime();
+        long waitNanos = acquiredAt - start;
+        LOCK_WAIT.get()[0] += waitNanos;
+        lockTimer("inventory.lock.wait", name).record(waitNanos, TimeUnit.NANOSECONDS);
+        return new LockHold(name, acquiredAt, waitNanos);
+    }
+
+    public void unlock(Lock lock, LockHold hold) {
+        long heldFor = System.nanoTime() - hold.acquiredAt();
+        lock.unlock();
+        lockTimer("inventory.lock.hold", hold.name()).record(heldFor, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T timeNumberAllocation(String type, Supplier<T> allocation) {
+        NumberAllocationEvent event = new NumberAllocationEvent();
+        int sqlAtStart = SqlStatementCounter.current();
+        event.begin();
+        try {
+            return Timer.builder("inventory.number.allocation")
+                    .tag("type", type)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(allocation);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.type = type;
+                event.clientId = clientId();
+                event.sqlStatements = SqlStatementCounter.current() - sqlAtStart;
+                event.commit();
+            }
+        }
+    }
+
+    /** Client of the current request for JFR events; 0 outside authenticated requests. */
+    static long clientId() {
+        Long clientId = TenantContext.getClientId();
+        return clientId != null ? clientId : 0L;
+    }
+
+    private Timer lockTimer(String name, String lock) {
+        return Timer.builder(name)
+                .tag("lock", lock)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    static String lineBucket(int lines) {
+        if (lines <= 1) {
+            return "1";
+        }
+        if (lines <= 5) {
+            return "2-5";
+        }
+        if (lines <= 20) {
+            return "6-20";
+        }
+        if (lines <= 50) {
+            return "21-50";
+        }
+        return "51+";
+    }
+}
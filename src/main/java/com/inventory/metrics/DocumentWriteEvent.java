@@ -0,0 +1,36 @@
+package com.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One sale/quotation create or update, from the start of the service method to the end of
+ * its transaction. Emitted by {@link BusinessMetrics#timeDocumentWrite}.
+ */
+@Name("inventory.DocumentWrite")
+@Label("Document Write")
+@Category({"Inventory", "Documents"})
+@Description("Sale or quotation write, including commit")
+class DocumentWriteEvent extends jdk.jfr.Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Client Id")
+    long clientId;
+
+    @Label("Lines")
+    int lines;
+
+    @Label("SQL Statements")
+    int sqlStatements;
+
+    @Label("Lock Wait")
+    @Timespan
+    long lockWait;
+
+    @Label("Committed")
+    boolean committed;
+}
@@ -0,0 +1,50 @@
+package com.inventory.metrics;
+
+import com.inventory.enums.ErrorCode;
+import com.inventory.exception.ValidationException;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@code GET /actuator/jfr}: dumps the continuous flight recording and returns it as a
+ * {@code .jfr} file for JDK Mission Control or {@code jfr print}. Restricted to the operator
+ * account of {@link com.inventory.security.ActuatorSecurityConfig}.
+ * <p>
+ * Every dump overwrites the same temporary file, so repeated dumps do not fill the disk.
+ * The recording is null when the JVM has no Flight Recorder.
+ */
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+    private final Recording recording;
+    private final Path dumpFile;
+    private final ReentrantLock dumpLock = new ReentrantLock();
+
+    public FlightRecordingEndpoint(Recording recording) throws IOException {
+        this.recording = recording;
+        this.dumpFile = Files.createTempFile("inventory-", ".jfr");
+        this.dumpFile.toFile().deleteOnExit();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump() throws IOException {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new ValidationException(ErrorCode.CONFLICT, "Flight recording is not running");
+        }
+        dumpLock.lock();
+        try {
+            recording.dump(dumpFile);
+            return new FileSystemResource(dumpFile);
+        } finally {
+            dumpLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.inventory.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of the in-process locks that serialize stock, customer balance and invoice number
+ * updates. Services get their per-key lock from {@link #lockFor} instead of keeping a private
+ * map, so the locks can be inspected while requests are queued on them.
+ */
+@Component
+public class LockDiagnostics {
+    private final Map<String, ConcurrentHashMap<Long, TrackedLock>> locks = new ConcurrentHashMap<>();
+
+    public TrackedLock lockFor(String type, Long key) {
+        return locks.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> new TrackedLock(type, k));
+    }
+
+    /**
+     * The {@code limit} hottest locks of each type, ordered by current queue length and then
+     * by total time threads have waited for them. Locks that were never contended and are
+     * not currently held are left out.
+     */
+    public Map<String, List<Map<String, Object>>> hottest(int limit) {
+        Map<String, List<Map<String, Object>>> result = new LinkedHashMap<>();
+        locks.forEach((type, byKey) -> result.put(type, byKey.values().stream()
+                .filter(lock -> lock.getContended() > 0 || lock.isLocked())
+                .sorted(Comparator.comparingInt(TrackedLock::getQueueLength)
+                        .thenComparingLong(TrackedLock::getTotalWaitNanos)
+                        .reversed())
+                .limit(limit)
+                .map(LockDiagnostics::describe)
+                .toList()));
+        return result;
+    }
+
+    private static Map<String, Object> describe(TrackedLock lock) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("key", lock.getKey());
+        row.put("locked", lock.isLocked());
+        row.put("owner", lock.getOwnerName());
+        row.put("heldForMs", millis(lock.getHeldForNanos()));
+        row.put("queueLength", lock.getQueueLength());
+        row.put("acquisitions", lock.getAcquisitions());
+        row.put("contended", lock.getContended());
+        row.put("totalWaitMs", millis(lock.getTotalWaitNanos()));
+        row.put("maxWaitMs", millis(lock.getMaxWaitNanos()));
+        return row;
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
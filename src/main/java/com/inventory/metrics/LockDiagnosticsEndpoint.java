@@ -0,0 +1,37 @@
+package com.inventory.metrics;
+
+import com.inventory.dao.LockDiagnosticsDao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/locks?top=N}: the N most contended product, customer and invoice number
+ * locks in this instance (queue length, owner thread, longest and total wait) and the Postgres
+ * sessions currently blocked on a row lock. Restricted to the operator account of
+ * {@link com.inventory.security.ActuatorSecurityConfig}.
+ */
+@Component
+@WebEndpoint(id = "locks")
+@RequiredArgsConstructor
+public class LockDiagnosticsEndpoint {
+    private static final int DEFAULT_TOP = 20;
+    private static final int MAX_TOP = 500;
+
+    private final LockDiagnostics lockDiagnostics;
+    private final LockDiagnosticsDao lockDiagnosticsDao;
+
+    @ReadOperation
+    public Map<String, Object> locks(@Nullable Integer top) {
+        int limit = top == null || top < 1 ? DEFAULT_TOP : Math.min(top, MAX_TOP);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("locks", lockDiagnostics.hottest(limit));
+        result.put("database", lockDiagnosticsDao.findBlockedSessions());
+        return result;
+    }
+}
@@ -0,0 +1,153 @@
+package com.inventory.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the application DataSource so every statement is reported to {@link SqlMonitor}:
+ * the time spent in {@code execute*} and the rows fetched or affected. Connections, statements
+ * and result sets are JDK proxies over the pooled objects; anything not related to execution
+ * passes straight through.
+ */
+public class MonitoredDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final Supplier<SqlMonitor> monitor;
+
+    public MonitoredDataSource(DataSource target, Supplier<SqlMonitor> monitor) {
+        super(target);
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            SqlMonitor sqlMonitor = monitor.get();
+            if (sqlMonitor == null) {
+                return result;
+            }
+            return switch (method.getName()) {
+                case "createStatement" -> new StatementHandler(sqlMonitor, (Statement) result, null).proxy(Statement.class);
+                case "prepareStatement" -> new StatementHandler(sqlMonitor, (Statement) result, (String) args[0]).proxy(PreparedStatement.class);
+                case "prepareCall" -> new StatementHandler(sqlMonitor, (Statement) result, (String) args[0]).proxy(CallableStatement.class);
+                default -> result;
+            };
+        });
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final SqlMonitor monitor;
+        private final Statement target;
+        private final String preparedSql;
+        private String pendingSql;
+        private long pendingNanos;
+        private long pendingRows;
+
+        private StatementHandler(SqlMonitor monitor, Statement target, String preparedSql) {
+            this.monitor = monitor;
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        private <T> T proxy(Class<T> type) {
+            return MonitoredDataSource.proxy(type, target, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                finish();
+                return MonitoredDataSource.invoke(target, method, args);
+            }
+            if (!EXECUTE_METHODS.contains(name)) {
+                return MonitoredDataSource.invoke(target, method, args);
+            }
+            finish();
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            if (sql == null) {
+                return MonitoredDataSource.invoke(target, method, args);
+            }
+            monitor.beforeExecute(sql);
+            long start = System.nanoTime();
+            Object result = MonitoredDataSource.invoke(target, method, args);
+            pendingSql = sql;
+            pendingNanos = System.nanoTime() - start;
+            pendingRows = -1;
+            if (result instanceof ResultSet resultSet) {
+                // Reported when the result set is closed, with the number of rows read
+                pendingRows = 0;
+                return MonitoredDataSource.proxy(ResultSet.class, resultSet, (rsProxy, rsMethod, rsArgs) -> {
+                    Object value = MonitoredDataSource.invoke(resultSet, rsMethod, rsArgs);
+                    if ("next".equals(rsMethod.getName()) && Boolean.TRUE.equals(value)) {
+                        pendingRows++;
+                    } else if ("close".equals(rsMethod.getName())) {
+                        finish();
+                    }
+                    return value;
+                });
+            }
+            if (result instanceof Number count) {
+                pendingRows = count.longValue();
+            } else if (result instanceof int[] counts) {
+                pendingRows = 0;
+                for (int count : counts) {
+                    pendingRows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                pendingRows = 0;
+                for (long count : counts) {
+                    pendingRows += Math.max(count, 0);
+                }
+            }
+            if (!"execute".equals(name)) {
+                finish();
+            }
+            return result;
+        }
+
+        private void finish() {
+            if (pendingSql != null) {
+                String sql = pendingSql;
+                pendingSql = null;
+                monitor.afterExecute(sql, pendingNanos, pendingRows);
+            }
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(MonitoredDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One invoice or quote number allocation. Emitted by {@link BusinessMetrics#timeNumberAllocation}.
+ */
+@Name("inventory.NumberAllocation")
+@Label("Number Allocation")
+@Category({"Inventory", "Documents"})
+@Description("Invoice or quote number generation")
+class NumberAllocationEvent extends jdk.jfr.Event {
+    @Label("Type")
+    String type;
+
+    @Label("Client Id")
+    long clientId;
+
+    @Label("SQL Statements")
+    int sqlStatements;
+}
@@ -0,0 +1,33 @@
+package com.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One PDF rendered through {@link com.inventory.util.PdfRenderer}; the event duration is the
+ * render time.
+ */
+@Name("inventory.PdfRender")
+@Label("PDF Render")
+@Category({"Inventory", "PDF"})
+@Description("PDF document rendering")
+public class PdfRenderEvent extends jdk.jfr.Event {
+    @Label("Document")
+    public String document;
+
+    @Label("Client Id")
+    public long clientId;
+
+    @Label("Pages")
+    public int pages;
+
+    @Label("Size")
+    @DataAmount
+    public long size;
+
+    @Label("SQL Statements")
+    public int sqlStatements;
+}
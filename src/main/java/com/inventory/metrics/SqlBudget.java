@@ -0,0 +1,19 @@
+package com.inventory.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements one request to this endpoint may execute, counted at the
+ * JDBC level once the request has passed authentication. Exceeding it is logged;
+ * with {@code inventory.sql.budget.enforce=true} (meant for tests) the offending statement
+ * fails instead, so N+1 regressions such as a {@code findById} per line break the build.
+ * On a controller class it applies to every endpoint without its own budget.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    int value();
+}
@@ -0,0 +1,53 @@
+package com.inventory.metrics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes SQL so that every shape of one logical query maps to the same text: literals
+ * become {@code ?}, IN lists of any length collapse to {@code (?+)}, comments are dropped
+ * and whitespace and case are folded.
+ * <p>
+ * Statements come from a small set of DAO queries, so results are cached by SQL text and the
+ * regexes only run the first time a statement is seen. The cache is bounded by total text
+ * length, so queries with inlined values cannot grow it without limit.
+ */
+public final class SqlFingerprint {
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern LINE_COMMENT = Pattern.compile("--[^\\n]*");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final long MAX_CACHED_CHARS = 4_000_000;
+
+    private static final Cache<String, String> FINGERPRINTS = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_CHARS)
+            .<String, String>weigher((sql, fingerprint) -> sql.length() + fingerprint.length())
+            .build();
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        return FINGERPRINTS.get(sql, SqlFingerprint::normalize);
+    }
+
+    private static String normalize(String sql) {
+        String text = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        text = LINE_COMMENT.matcher(text).replaceAll(" ");
+        text = STRING_LITERAL.matcher(text).replaceAll("?");
+        text = NUMBER_LITERAL.matcher(text).replaceAll("?");
+        text = IN_LIST.matcher(text).replaceAll("(?+)");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim().toLowerCase();
+    }
+
+    /**
+     * Short stable id for a fingerprint, used as the metric tag instead of the full text.
+     */
+    public static String id(String fingerprint) {
+        return String.format("%08x", fingerprint.hashCode());
+    }
+}
@@ -0,0 +1,130 @@
+package com.inventory.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives every statement executed through {@link MonitoredDataSource}:
+ * <ul>
+ *     <li>{@code inventory.sql.query} timer and {@code inventory.sql.rows} summary per
+ *     fingerprint id (at most {@value #MAX_FINGERPRINTS} distinct ids, the rest as {@code other})</li>
+ *     <li>a WARN log line for statements slower than {@code inventory.sql.slow-threshold}
+ *     (default 500ms) with the fingerprint and the controller method that issued it</li>
+ *     <li>enforcement of {@link SqlBudget} on the current endpoint</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class SqlMonitor {
+    private static final int MAX_FINGERPRINTS = 1000;
+    private static final String BUDGET_REPORTED = SqlMonitor.class.getName() + ".BUDGET_REPORTED";
+
+    private final MeterRegistry registry;
+    private final long slowThresholdNanos;
+    private final boolean enforceBudget;
+    private final ConcurrentHashMap<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    public SqlMonitor(MeterRegistry registry,
+                      @Value("${inventory.sql.slow-threshold:500ms}") Duration slowThreshold,
+                      @Value("${inventory.sql.budget.enforce:false}") boolean enforceBudget) {
+        this.registry = registry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.enforceBudget = enforceBudget;
+    }
+
+    /**
+     * Called before a statement runs; counts it against the request and checks the budget.
+     */
+    void beforeExecute(String sql) {
+        int count = SqlStatementCounter.increment();
+        HandlerMethod handler = currentHandler();
+        if (handler == null) {
+            return;
+        }
+        SqlBudget budget = budgetOf(handler);
+        if (budget == null || count <= budget.value()) {
+            return;
+        }
+        String message = String.format("%s exceeded its SQL budget of %d statements (statement %d: %s)",
+                describe(handler), budget.value(), count, SqlFingerprint.of(sql));
+        if (enforceBudget) {
+            throw new IllegalStateException(message);
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(BUDGET_REPORTED, RequestAttributes.SCOPE_REQUEST) == null) {
+            attributes.setAttribute(BUDGET_REPORTED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            log.warn(message);
+        }
+    }
+
+    /**
+     * Called once the statement's results are consumed.
+     *
+     * @param rows rows returned or affected, or -1 when unknown
+     */
+    void afterExecute(String sql, long elapsedNanos, long rows) {
+        String fingerprint = SqlFingerprint.of(sql);
+        String id = tagFor(fingerprint);
+        Timer.builder("inventory.sql.query")
+                .tag("fingerprint", id)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (rows >= 0) {
+            DistributionSummary.builder("inventory.sql.rows")
+                    .tag("fingerprint", id)
+                    .register(registry)
+                    .record(rows);
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            HandlerMethod handler = currentHandler();
+            log.warn("Slow SQL {} ms, {} rows, fingerprint {} from {}: {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, id,
+                    handler != null ? describe(handler) : Thread.currentThread().getName(), fingerprint);
+        }
+    }
+
+    private String tagFor(String fingerprint) {
+        String id = SqlFingerprint.id(fingerprint);
+        if (fingerprints.containsKey(id)) {
+            return id;
+        }
+        if (fingerprints.size() >= MAX_FINGERPRINTS) {
+            return "other";
+        }
+        if (fingerprints.putIfAbsent(id, fingerprint) == null) {
+            log.debug("SQL fingerprint {}: {}", id, fingerprint);
+        }
+        return id;
+    }
+
+    private static HandlerMethod currentHandler() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object handler = attributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return handler instanceof HandlerMethod handlerMethod ? handlerMethod : null;
+    }
+
+    private static SqlBudget budgetOf(HandlerMethod handler) {
+        SqlBudget budget = handler.getMethodAnnotation(SqlBudget.class);
+        return budget != null ? budget : AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), SqlBudget.class);
+    }
+
+    private static String describe(HandlerMethod handler) {
+        return handler.getBeanType().getSimpleName() + "#" + handler.getMethod().getName();
+    }
+}
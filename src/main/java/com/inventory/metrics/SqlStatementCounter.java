@@ -0,0 +1,26 @@
+package com.inventory.metrics;
+
+/**
+ * Counts the SQL statements executed on the current thread. Incremented by
+ * {@link MonitoredDataSource}; {@link SqlStatementMetricsFilter} reads and resets the count
+ * around each request. {@link #current()} is public so diagnostics can take a before/after
+ * difference around a unit of work.
+ */
+public final class SqlStatementCounter {
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    private SqlStatementCounter() {
+    }
+
+    static int increment() {
+        return ++COUNT.get()[0];
+    }
+
+    static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    public static int current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,35 @@
+package com.inventory.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One stock change of a product, while holding its product lock.
+ */
+@Name("inventory.StockUpdate")
+@Label("Stock Update")
+@Category({"Inventory", "Stock"})
+@Description("Product quantity update under the per-product lock")
+public class StockUpdateEvent extends jdk.jfr.Event {
+    @Label("Client Id")
+    public long clientId;
+
+    @Label("Product Id")
+    public long productId;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Quantity Change")
+    public double quantityChange;
+
+    @Label("SQL Statements")
+    public int sqlStatements;
+
+    @Label("Lock Wait")
+    @Timespan
+    public long lockWait;
+}
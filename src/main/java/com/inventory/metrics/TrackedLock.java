@@ -0,0 +1,86 @@
+package com.inventory.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link ReentrantLock} that keeps its own contention statistics (acquisitions, contended
+ * acquisitions, total and longest wait) and remembers since when it is held, so
+ * {@link LockDiagnostics} can report queue length and owner of the hottest locks.
+ * Created through {@link LockDiagnostics#lockFor}.
+ */
+public class TrackedLock extends ReentrantLock {
+    private final String type;
+    private final Long key;
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong heldSince = new AtomicLong();
+
+    TrackedLock(String type, Long key) {
+        this.type = type;
+        this.key = key;
+    }
+
+    @Override
+    public void lock() {
+        if (!tryLock()) {
+            long start = System.nanoTime();
+            super.lock();
+            long waited = System.nanoTime() - start;
+            contended.increment();
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulate(waited);
+        }
+        acquisitions.increment();
+        if (getHoldCount() == 1) {
+            heldSince.set(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void unlock() {
+        if (getHoldCount() == 1) {
+            heldSince.set(0);
+        }
+        super.unlock();
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getKey() {
+        return key;
+    }
+
+    long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    long getContended() {
+        return contended.sum();
+    }
+
+    long getTotalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    /** How long the current owner has held the lock, 0 when free. */
+    long getHeldForNanos() {
+        long since = heldSince.get();
+        return since == 0 ? 0 : System.nanoTime() - since;
+    }
+
+    String getOwnerName() {
+        Thread owner = getOwner();
+        return owner != null ? owner.getName() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.inventory.migration;
+
+import com.inventory.dao.SearchExpressions;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * pg_trgm and the trigram indexes behind the free-text searches. Written in Java so the
+ * index expressions come from {@link SearchExpressions}, the same place the DAO predicates
+ * take them from. Fails when the extension cannot be created, so the migration stays unapplied
+ * instead of being recorded without its indexes: install pg_trgm (postgresql-contrib), run
+ * {@code flyway repair} and restart.
+ */
+public class V1__Trigram_search_indexes extends BaseJavaMigration {
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        // CREATE INDEX CONCURRENTLY
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            for (String ddl : SearchExpressions.trigramIndexes()) {
+                statement.execute(ddl);
+            }
+        }
+    }
+}
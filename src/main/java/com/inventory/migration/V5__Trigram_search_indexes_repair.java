@@ -0,0 +1,34 @@
+package com.inventory.migration;
+
+import com.inventory.dao.SearchExpressions;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Re-creates the trigram search indexes on databases where an earlier V1 was recorded as
+ * applied although pg_trgm was missing, and replaces the enquiry index, whose document now
+ * separates fields with chr(31) (see {@link SearchExpressions#enquiryDocument}). Like V1 it
+ * fails when the extension cannot be created.
+ */
+public class V5__Trigram_search_indexes_repair extends BaseJavaMigration {
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        // CREATE INDEX CONCURRENTLY
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            statement.execute("DROP INDEX CONCURRENTLY IF EXISTS idx_enquiry_master_search_trgm");
+            for (String ddl : SearchExpressions.trigramIndexes()) {
+                statement.execute(ddl);
+            }
+        }
+    }
+}
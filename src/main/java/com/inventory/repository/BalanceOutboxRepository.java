@@ -0,0 +1,9 @@
+package com.inventory.repository;
+
+import com.inventory.entity.BalanceOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BalanceOutboxRepository extends JpaRepository<BalanceOutbox, Long> {
+}
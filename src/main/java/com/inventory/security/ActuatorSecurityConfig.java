@@ -0,0 +1,69 @@
+package com.inventory.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.util.StringUtils;
+
+/**
+ * Operator access to the actuator (metrics, JFR dumps, lock diagnostics, startup timeline),
+ * separate from application users: HTTP Basic with a single account from configuration, so no
+ * API call or user role can grant it. Only the health check is open. Without a password the
+ * protected endpoints reject every request.
+ * <pre>
+ * inventory.actuator.username=operator         (default)
+ * inventory.actuator.password={bcrypt}$2a$...   (plain text is accepted too)
+ * </pre>
+ * For defence in depth, also set {@code management.server.port} so the actuator is served on a
+ * port that is not exposed to the internet.
+ */
+@Configuration
+@Slf4j
+public class ActuatorSecurityConfig {
+    static final String OPERATOR_ROLE = "OPERATOR";
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(HttpSecurity http,
+                                                   @Value("${inventory.actuator.username:operator}") String username,
+                                                   @Value("${inventory.actuator.password:}") String password) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health").permitAll()
+                        .anyRequest().hasRole(OPERATOR_ROLE))
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(operatorAuthenticationManager(username, password));
+        return http.build();
+    }
+
+    private static AuthenticationManager operatorAuthenticationManager(String username, String password) {
+        InMemoryUserDetailsManager operators = new InMemoryUserDetailsManager();
+        if (StringUtils.hasText(password)) {
+            operators.createUser(User.withUsername(username)
+                    .password(password.startsWith("{") ? password : "{noop}" + password)
+                    .roles(OPERATOR_ROLE)
+                    .build());
+        } else {
+            log.info("inventory.actuator.password is not set, protected actuator endpoints are disabled");
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(operators);
+        provider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return new ProviderManager(provider);
+    }
+}
@@ -14,10 +14,13 @@ import com.inventory.exception.ValidationException;
 import org.springframework.http.HttpStatus;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inventory.dto.ApiResponse;
+import com.inventory.enums.ErrorCode;
 import java.io.IOException;
 import com.inventory.entity.UserMaster;
 import com.inventory.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private JwtTokenProvider tokenProvider;
@@ -54,21 +57,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (user.getClient() != null) {
+                    TenantContext.setClientId(user.getClient().getId());
+                }
             }
             filterChain.doFilter(request, response);
         } catch (ValidationException ex) {
-            ex.printStackTrace();
+            log.debug("Rejected authentication token: {}", ex.getMessage());
             handleAuthenticationError(response, ex.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (Exception ex) {
-            ex.printStackTrace();
+            log.warn("Authentication failed", ex);
             handleAuthenticationError(response, "Invalid authentication token", HttpStatus.UNAUTHORIZED);
+        } finally {
+            TenantContext.clear();
         }
     }
     
     private void handleAuthenticationError(HttpServletResponse response, String message, HttpStatus status) throws IOException {
         response.setStatus(status.value());
         response.setContentType("application/json");
-        ApiResponse<?> apiResponse = ApiResponse.error(message);
+        ApiResponse<?> apiResponse = ApiResponse.error(message, ErrorCode.fromStatus(status).name());
         String jsonResponse = objectMapper.writeValueAsString(apiResponse);
         response.getWriter().write(jsonResponse);
     }
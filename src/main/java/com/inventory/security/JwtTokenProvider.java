@@ -8,8 +8,10 @@ import org.springframework.stereotype.Component;
 import com.inventory.exception.ValidationException;
 import org.springframework.http.HttpStatus;
 import java.util.Date;
+import lombok.extern.slf4j.Slf4j;
 
 @Component
+@Slf4j
 public class JwtTokenProvider {
     
     @Value("${jwt.secret}")
@@ -50,10 +52,10 @@ public class JwtTokenProvider {
                 .parseClaimsJws(authToken);
             return true;
         } catch (ExpiredJwtException ex) {
-            ex.printStackTrace();
+            log.debug("Expired JWT token: {}", ex.getMessage());
             throw new ValidationException("Invalid JWT token", HttpStatus.UNAUTHORIZED);
         } catch (JwtException ex) {
-            ex.printStackTrace();
+            log.debug("Invalid JWT token: {}", ex.getMessage());
             throw new ValidationException("Invalid JWT token", HttpStatus.UNAUTHORIZED);
         }
     }
@@ -0,0 +1,142 @@
+package com.inventory.security;
+
+import com.inventory.enums.EndpointClass;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Per-client limits that keep one tenant's heavy work (bulk deletes, year-long attendance PDFs,
+ * exports) from starving the others:
+ * <ul>
+ *     <li>concurrent requests per client ({@code inventory.tenant.max-concurrent-requests}, 20)</li>
+ *     <li>token buckets per client and {@link EndpointClass}:
+ *     {@code inventory.tenant.rate.<write|report|pdf>.per-second} and {@code .burst}
+ *     (writes 10/s burst 50, reports 1/s burst 5, PDFs 2/s burst 10; reads are not rate limited)</li>
+ *     <li>database connections per client ({@code inventory.tenant.max-connections}, 5), waited
+ *     for at most {@code inventory.tenant.connection-timeout} (5s)</li>
+ * </ul>
+ * Request limits are applied by {@link TenantAdmissionFilter}, the connection quota by
+ * {@link com.inventory.config.TenantConnectionQuotaDataSource}. Every client gets
+ * {@code inventory.tenant.requests} counters (by class and outcome) and gauges for its active
+ * requests and connections. {@code inventory.tenant.admission.enabled=false} turns all of it off.
+ */
+@Component
+public class TenantAdmission {
+
+    /** Limits of one client. */
+    private record Tenant(Semaphore requests, Semaphore connections, Map<EndpointClass, TokenBucket> buckets) {
+    }
+
+    private record Rate(double perSecond, int burst) {
+    }
+
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final int maxConcurrentRequests;
+    private final int maxConnections;
+    private final Duration connectionTimeout;
+    private final Map<EndpointClass, Rate> rates = new EnumMap<>(EndpointClass.class);
+    private final ConcurrentHashMap<Long, Tenant> tenants = new ConcurrentHashMap<>();
+
+    public TenantAdmission(MeterRegistry registry,
+                           @Value("${inventory.tenant.admission.enabled:true}") boolean enabled,
+                           @Value("${inventory.tenant.max-concurrent-requests:20}") int maxConcurrentRequests,
+                           @Value("${inventory.tenant.max-connections:5}") int maxConnections,
+                           @Value("${inventory.tenant.connection-timeout:5s}") Duration connectionTimeout,
+                           @Value("${inventory.tenant.rate.write.per-second:10}") double writeRate,
+                           @Value("${inventory.tenant.rate.write.burst:50}") int writeBurst,
+                           @Value("${inventory.tenant.rate.report.per-second:1}") double reportRate,
+                           @Value("${inventory.tenant.rate.report.burst:5}") int reportBurst,
+                           @Value("${inventory.tenant.rate.pdf.per-second:2}") double pdfRate,
+                           @Value("${inventory.tenant.rate.pdf.burst:10}") int pdfBurst) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.maxConnections = maxConnections;
+        this.connectionTimeout = connectionTimeout;
+        rates.put(EndpointClass.WRITE, new Rate(writeRate, writeBurst));
+        rates.put(EndpointClass.REPORT, new Rate(reportRate, reportBurst));
+        rates.put(EndpointClass.PDF, new Rate(pdfRate, pdfBurst));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a token from the client's bucket for {@code endpointClass}.
+     *
+     * @return 0 when admitted, otherwise the seconds to wait before retrying
+     */
+    long tryConsumeRate(Long clientId, EndpointClass endpointClass) {
+        TokenBucket bucket = tenant(clientId).buckets().get(endpointClass);
+        if (bucket == null || bucket.tryConsume()) {
+            return 0;
+        }
+        record(clientId, endpointClass, "rate_limited");
+        return bucket.secondsUntilNextToken();
+    }
+
+    boolean tryAcquireRequest(Long clientId, EndpointClass endpointClass) {
+        if (tenant(clientId).requests().tryAcquire()) {
+            record(clientId, endpointClass, "admitted");
+            return true;
+        }
+        record(clientId, endpointClass, "concurrency_limited");
+        return false;
+    }
+
+    void releaseRequest(Long clientId) {
+        tenant(clientId).requests().release();
+    }
+
+    /** Connection permits of a client; acquired for every connection checked out on its behalf. */
+    public Semaphore connectionPermits(Long clientId) {
+        return tenant(clientId).connections();
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void connectionRejected(Long clientId) {
+        record(clientId, null, "connection_limited");
+    }
+
+    private Tenant tenant(Long clientId) {
+        return tenants.computeIfAbsent(clientId, this::newTenant);
+    }
+
+    private Tenant newTenant(Long clientId) {
+        Map<EndpointClass, TokenBucket> buckets = new EnumMap<>(EndpointClass.class);
+        rates.forEach((endpointClass, rate) -> buckets.put(endpointClass, new TokenBucket(rate.burst(), rate.perSecond())));
+        Tenant tenant = new Tenant(new Semaphore(maxConcurrentRequests), new Semaphore(maxConnections, true), buckets);
+
+        String client = String.valueOf(clientId);
+        Gauge.builder("inventory.tenant.requests.active", tenant.requests(), s -> maxConcurrentRequests - s.availablePermits())
+                .tag("client", client)
+                .register(registry);
+        Gauge.builder("inventory.tenant.connections.active", tenant.connections(), s -> maxConnections - s.availablePermits())
+                .tag("client", client)
+                .register(registry);
+        return tenant;
+    }
+
+    private void record(Long clientId, EndpointClass endpointClass, String outcome) {
+        Counter.builder("inventory.tenant.requests")
+                .tag("client", String.valueOf(clientId))
+                .tag("class", endpointClass != null ? endpointClass.name().toLowerCase() : "none")
+                .tag("outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+}
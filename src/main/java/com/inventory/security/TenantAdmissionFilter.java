@@ -0,0 +1,122 @@
+package com.inventory.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inventory.dto.ApiResponse;
+import com.inventory.enums.EndpointClass;
+import com.inventory.enums.ErrorCode;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Applies {@link TenantAdmission} to authenticated API calls: the rate limit of the endpoint's
+ * class first, then the client's concurrent request limit. Rejected calls get 429 with a
+ * {@code Retry-After} header. Runs after {@link JwtAuthenticationFilter}, which resolves the
+ * client; unauthenticated calls pass through untouched.
+ * <p>
+ * A request that goes async (a {@code StreamingResponseBody} export) keeps its concurrent
+ * request permit until the async processing completes, errors or times out.
+ */
+public class TenantAdmissionFilter extends OncePerRequestFilter {
+    private final TenantAdmission tenantAdmission;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public TenantAdmissionFilter(TenantAdmission tenantAdmission) {
+        this.tenantAdmission = tenantAdmission;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !tenantAdmission.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long clientId = TenantContext.getClientId();
+        if (clientId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        EndpointClass endpointClass = EndpointClass.of(request.getMethod(), request.getRequestURI());
+
+        long retryAfter = tenantAdmission.tryConsumeRate(clientId, endpointClass);
+        if (retryAfter > 0) {
+            reject(response, retryAfter, "Too many " + endpointClass.name().toLowerCase()
+                    + " requests for this account. Please retry shortly.");
+            return;
+        }
+        if (!tenantAdmission.tryAcquireRequest(clientId, endpointClass)) {
+            reject(response, 1, "Too many requests in progress for this account. Please retry shortly.");
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(clientId));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                tenantAdmission.releaseRequest(clientId);
+            }
+        }
+    }
+
+    /**
+     * Releases the request permit once, whichever of complete, error or timeout comes first.
+     */
+    private class ReleaseOnCompletion implements AsyncListener {
+        private final Long clientId;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnCompletion(Long clientId) {
+            this.clientId = clientId;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // a new async cycle drops its listeners; stay registered until the request completes
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                tenantAdmission.releaseRequest(clientId);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write(objectMapper.writeValueAsString(
+                ApiResponse.error(message, ErrorCode.TOO_MANY_REQUESTS.name())));
+    }
+}
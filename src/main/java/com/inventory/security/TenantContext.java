@@ -0,0 +1,26 @@
+package com.inventory.security;
+
+/**
+ * Client id of the authenticated request on the current thread, for code that has no
+ * access to the request's {@link UserPrincipal} (diagnostics, utilities). Set and cleared by
+ * {@link JwtAuthenticationFilter}, and for tasks submitted from a request by
+ * {@link TenantContextTaskDecorator}; {@code null} outside authenticated requests.
+ */
+public final class TenantContext {
+    private static final ThreadLocal<Long> CLIENT_ID = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    public static Long getClientId() {
+        return CLIENT_ID.get();
+    }
+
+    static void setClientId(Long clientId) {
+        CLIENT_ID.set(clientId);
+    }
+
+    static void clear() {
+        CLIENT_ID.remove();
+    }
+}
@@ -0,0 +1,35 @@
+package com.inventory.security;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the {@link TenantContext} client id from the submitting thread to the task.
+ * Spring Boot applies it to {@code applicationTaskExecutor}, which also runs MVC async work
+ * such as {@code StreamingResponseBody} exports, so connections taken there still count
+ * against the client's connection quota.
+ */
+@Component
+public class TenantContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Long clientId = TenantContext.getClientId();
+        if (clientId == null) {
+            return runnable;
+        }
+        return () -> {
+            Long previous = TenantContext.getClientId();
+            TenantContext.setClientId(clientId);
+            try {
+                runnable.run();
+            } finally {
+                if (previous != null) {
+                    TenantContext.setClientId(previous);
+                } else {
+                    TenantContext.clear();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.inventory.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket: {@code capacity} tokens, refilled continuously at
+ * {@code tokensPerSecond}. State is one long (fill level in micro-tokens, last refill time),
+ * updated by CAS so waiting threads never block.
+ */
+final class TokenBucket {
+    private static final long MICROS_PER_TOKEN = 1_000_000L;
+
+    private final long capacityMicros;
+    private final double microsPerNano;
+    private final AtomicLong levelMicros;
+    private final AtomicLong lastRefill;
+
+    TokenBucket(int capacity, double tokensPerSecond) {
+        this.capacityMicros = capacity * MICROS_PER_TOKEN;
+        this.microsPerNano = tokensPerSecond * MICROS_PER_TOKEN / 1_000_000_000d;
+        this.levelMicros = new AtomicLong(capacityMicros);
+        this.lastRefill = new AtomicLong(System.nanoTime());
+    }
+
+    boolean tryConsume() {
+        refill();
+        while (true) {
+            long level = levelMicros.get();
+            if (level < MICROS_PER_TOKEN) {
+                return false;
+            }
+            if (levelMicros.compareAndSet(level, level - MICROS_PER_TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    /** Seconds until the next token is available, at least 1. */
+    long secondsUntilNextToken() {
+        long missing = MICROS_PER_TOKEN - levelMicros.get();
+        if (missing <= 0) {
+            return 1;
+        }
+        return Math.max(1, (long) Math.ceil(missing / microsPerNano / 1_000_000_000d));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        long last = lastRefill.get();
+        // Wait until at least one micro-token accrued, so frequent calls do not round the refill away
+        long added = (long) ((now - last) * microsPerNano);
+        if (added <= 0 || !lastRefill.compareAndSet(last, now)) {
+            return;
+        }
+        levelMicros.accumulateAndGet(added, (level, delta) -> Math.min(capacityMicros, level + delta));
+    }
+}
@@ -2,12 +2,12 @@ package com.inventory.service;
 
 import com.inventory.dao.EmployeeWithdrawDao;
 import com.inventory.exception.ValidationException;
+import com.inventory.util.PdfRenderer;
 import com.inventory.model.PdfGenerationStatus;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.element.Cell;
@@ -17,11 +17,11 @@ import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.VerticalAlignment;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 
-import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
@@ -39,6 +39,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class AttendancePdfService {
     private static final DeviceRgb PRIMARY_COLOR = new DeviceRgb(20, 88, 129);    // #145881
@@ -78,20 +79,14 @@ public class AttendancePdfService {
 
         processingRequests.put(requestId, new PdfGenerationStatus());
         
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             PdfDocument pdf = new PdfDocument(new PdfWriter(baos))) {
-            
-            Document document = new Document(pdf, PageSize.A4);
-            document.setMargins(36, 36, 36, 36);
-            
-            addHeader(document, startDate, endDate);
-            addEmployeeDetails(document, employeeData);
-            addAttendanceTable(document, attendanceRecords);
-            addWithdrawTable(document, withdrawRecords);
-            addSummary(document, calculateSummary(attendanceRecords, withdrawRecords));
-            
-            document.close();
-            return baos.toByteArray();
+        try {
+            return PdfRenderer.render("attendance", PageSize.A4, 36, (pdf, document) -> {
+                addHeader(document, startDate, endDate);
+                addEmployeeDetails(document, employeeData);
+                addAttendanceTable(document, attendanceRecords);
+                addWithdrawTable(document, withdrawRecords);
+                addSummary(document, calculateSummary(attendanceRecords, withdrawRecords));
+            });
             
         } catch (Exception e) {
             log.error("Error generating PDF", e);
@@ -218,19 +213,7 @@ public class AttendancePdfService {
     }
     
     private void addDetailRow(Table table, String label, String value) {
-        Cell labelCell = new Cell()
-            .add(new Paragraph(label))
-            .setFontColor(TEXT_PRIMARY)
-            .setBold()
-            .setBorder(Border.NO_BORDER);
-        
-        Cell valueCell = new Cell()
-            .add(new Paragraph(value))
-            .setFontColor(TEXT_PRIMARY)
-            .setBorder(Border.NO_BORDER);
-        
-        table.addCell(labelCell);
-        table.addCell(valueCell);
+        PdfRenderer.addDetailPair(table, label, value, TEXT_PRIMARY, TEXT_PRIMARY);
     }
     
     private void addTableHeader(Table table, String[] headers) {
@@ -515,17 +498,11 @@ public class AttendancePdfService {
 
         processingRequests.put(requestId, new PdfGenerationStatus());
         
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             PdfDocument pdf = new PdfDocument(new PdfWriter(baos))) {
-            
-            Document document = new Document(pdf, PageSize.A4);
-            document.setMargins(20, 20, 20, 20);
-            
-            addPayrollSummaryHeader(document, startDate, endDate);
-            addPayrollSummaryTable(document, attendanceSummaries, withdrawSummaries);
-            
-            document.close();
-            return baos.toByteArray();
+        try {
+            return PdfRenderer.render("payroll_summary", PageSize.A4, 20, (pdf, document) -> {
+                addPayrollSummaryHeader(document, startDate, endDate);
+                addPayrollSummaryTable(document, attendanceSummaries, withdrawSummaries);
+            });
             
         } catch (Exception e) {
             log.error("Error generating payroll summary PDF", e);
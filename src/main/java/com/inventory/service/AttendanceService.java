@@ -3,6 +3,7 @@ package com.inventory.service;
 import com.inventory.dao.AttendanceDao;
 import com.inventory.dao.EmployeeDao;
 import com.inventory.dao.EmployeeWithdrawDao;
+import com.inventory.dao.ExportQuery;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.AttendanceDto;
 import com.inventory.dto.EmployeeWithdrawDto;
@@ -20,6 +21,7 @@ import com.inventory.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +44,7 @@ public class AttendanceService {
     private final EmployeeRepository employeeRepository;
     private final UtilityService utilityService;
     private final AttendanceDao attendanceDao;
+    @Lazy
     private final AttendanceSummaryPdfService attendanceSummaryPdfService;
     private final EmployeeDao employeeDao;
     private final EmployeeWithdrawDao employeeWithdrawDao;
@@ -167,6 +170,7 @@ public class AttendanceService {
         }
     }
 
+    @Transactional(readOnly = true)
     public ApiResponse<?> getAttendanceByEmployee(AttendanceSearchRequestDto request) {
         try {
             if (request.getEmployeeId() == null) {
@@ -184,7 +188,7 @@ public class AttendanceService {
             
             return ApiResponse.success("Attendance records retrieved successfully", result);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to fetch attendance records", e);
             throw new ValidationException("Failed to fetch attendance records: " + e.getMessage());
         }
     }
@@ -218,6 +222,7 @@ public class AttendanceService {
         }
     }
 
+    @Transactional(readOnly = true)
     public byte[] generateAttendancePdf(AttendancePdfRequestDto request) {
         try {
             // Validate request
@@ -270,6 +275,7 @@ public class AttendanceService {
         }
     }
     
+    @Transactional(readOnly = true)
     public byte[] generatePayrollSummaryPdf(PayrollSummaryRequestDto request) {
         try {
             // Validate request
@@ -297,6 +303,25 @@ public class AttendanceService {
                 request.getEndDate()
             );
             
+            if (Boolean.TRUE.equals(request.getPerEmployeeSections())) {
+                Map<Long, List<Map<String, Object>>> attendanceByEmployee = null;
+                Map<Long, List<Map<String, Object>>> withdrawsByEmployee = null;
+                if (Boolean.TRUE.equals(request.getIncludeDetails())) {
+                    attendanceByEmployee = attendanceDao.getAttendanceByEmployeeForPeriod(
+                        currentUser.getClient().getId(), request.getStartDate(), request.getEndDate());
+                    withdrawsByEmployee = employeeWithdrawDao.getWithdrawRecordsByEmployee(
+                        currentUser.getClient().getId(), request.getStartDate(), request.getEndDate());
+                }
+                return attendanceSummaryPdfService.generatePayrollSectionsPdf(
+                    attendanceSummaries,
+                    withdrawSummaries,
+                    attendanceByEmployee,
+                    withdrawsByEmployee,
+                    request.getStartDate(),
+                    request.getEndDate()
+                );
+            }
+            
             return attendanceSummaryPdfService.generatePayrollSummaryPdf(
                 attendanceSummaries, 
                 withdrawSummaries, 
@@ -314,6 +339,7 @@ public class AttendanceService {
      * Optimized for performance with proper indexing and pagination
      * Returns Map with content and pagination metadata
      */
+    @Transactional(readOnly = true)
     public ApiResponse<Map<String, Object>> getAllAttendance(AttendanceDto request) {
         try {
             // Validate pagination parameters
@@ -358,4 +384,20 @@ public class AttendanceService {
             throw new ValidationException("Failed to fetch attendance records: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Same filters as {@link #getAllAttendance} without pagination, for CSV/XLSX export
+     */
+    public ExportQuery getAttendanceExportQuery(AttendanceDto request) {
+        if (request.getSortDir() == null || 
+            (!request.getSortDir().equalsIgnoreCase("asc") && !request.getSortDir().equalsIgnoreCase("desc"))) {
+            request.setSortDir("desc");
+        }
+        if (request.getStartDate() != null && request.getEndDate() != null
+                && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new ValidationException("End date cannot be before start date");
+        }
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        return attendanceDao.buildAttendanceExportQuery(currentUser.getClient().getId(), request);
+    }
+}
@@ -2,12 +2,16 @@ package com.inventory.service;
 
 import com.inventory.dao.EmployeeWithdrawDao;
 import com.inventory.exception.ValidationException;
+import com.inventory.util.PdfRenderer;
 import com.inventory.model.PdfGenerationStatus;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.geom.Rectangle;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.utils.PdfMerger;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.element.Cell;
@@ -17,10 +21,12 @@ import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.VerticalAlignment;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -29,6 +35,7 @@ import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -39,6 +46,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class AttendanceSummaryPdfService {
     private static final DeviceRgb PRIMARY_COLOR = new DeviceRgb(20, 88, 129);    // #145881
@@ -78,20 +86,14 @@ public class AttendanceSummaryPdfService {
 
         processingRequests.put(requestId, new PdfGenerationStatus());
         
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             PdfDocument pdf = new PdfDocument(new PdfWriter(baos))) {
-            
-            Document document = new Document(pdf, PageSize.A4);
-            document.setMargins(36, 36, 36, 36);
-            
-            addHeader(document, startDate, endDate);
-            addEmployeeDetails(document, employeeData);
-            addAttendanceTable(document, attendanceRecords);
-            addWithdrawTable(document, withdrawRecords);
-            addSummary(document, calculateSummary(attendanceRecords, withdrawRecords));
-            
-            document.close();
-            return baos.toByteArray();
+        try {
+            return PdfRenderer.render("attendance_summary", PageSize.A4, 36, (pdf, document) -> {
+                addHeader(document, startDate, endDate);
+                addEmployeeDetails(document, employeeData);
+                addAttendanceTable(document, attendanceRecords);
+                addWithdrawTable(document, withdrawRecords);
+                addSummary(document, calculateSummary(attendanceRecords, withdrawRecords));
+            });
             
         } catch (Exception e) {
             log.error("Error generating PDF", e);
@@ -218,19 +220,7 @@ public class AttendanceSummaryPdfService {
     }
     
     private void addDetailRow(Table table, String label, String value) {
-        Cell labelCell = new Cell()
-            .add(new Paragraph(label))
-            .setFontColor(TEXT_PRIMARY)
-            .setBold()
-            .setBorder(Border.NO_BORDER);
-        
-        Cell valueCell = new Cell()
-            .add(new Paragraph(value))
-            .setFontColor(TEXT_PRIMARY)
-            .setBorder(Border.NO_BORDER);
-        
-        table.addCell(labelCell);
-        table.addCell(valueCell);
+        PdfRenderer.addDetailPair(table, label, value, TEXT_PRIMARY, TEXT_PRIMARY);
     }
     
     private void addTableHeader(Table table, String[] headers) {
@@ -511,17 +501,11 @@ public class AttendanceSummaryPdfService {
 
         processingRequests.put(requestId, new PdfGenerationStatus());
         
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-             PdfDocument pdf = new PdfDocument(new PdfWriter(baos))) {
-            
-            Document document = new Document(pdf, PageSize.A4);
-            document.setMargins(20, 20, 20, 20);
-            
-            addPayrollSummaryHeader(document, startDate, endDate);
-            addPayrollSummaryTable(document, attendanceSummaries, withdrawSummaries);
-            
-            document.close();
-            return baos.toByteArray();
+        try {
+            return PdfRenderer.render("payroll_summary", PageSize.A4, 20, (pdf, document) -> {
+                addPayrollSummaryHeader(document, startDate, endDate);
+                addPayrollSummaryTable(document, attendanceSummaries, withdrawSummaries);
+            });
             
         } catch (Exception e) {
             log.error("Error generating payroll summary PDF", e);
@@ -531,6 +515,104 @@ public class AttendanceSummaryPdfService {
         }
     }
     
+    /**
+     * Payroll summary followed by one section per employee. Sections are rendered concurrently on the
+     * fork-join pool into separate PDF fragments, then merged in summary order and renumbered.
+     * Detail maps are only passed (non-null) when the detail appendix was requested.
+     */
+    public byte[] generatePayrollSectionsPdf(List<Map<String, Object>> attendanceSummaries,
+                                             List<Map<String, Object>> withdrawSummaries,
+                                             Map<Long, List<Map<String, Object>>> attendanceByEmployee,
+                                             Map<Long, List<Map<String, Object>>> withdrawsByEmployee,
+                                             LocalDate startDate, LocalDate endDate) {
+        try {
+            Map<Long, BigDecimal> withdrawMap = withdrawSummaries.stream()
+                .collect(Collectors.toMap(
+                    summary -> (Long) summary.get("employeeId"),
+                    summary -> (BigDecimal) summary.get("totalWithdraw")
+                ));
+
+            byte[] summaryFragment = PdfRenderer.render("payroll_sections", PageSize.A4, 20, (pdf, document) -> {
+                addPayrollSummaryHeader(document, startDate, endDate);
+                addPayrollSummaryTable(document, attendanceSummaries, withdrawSummaries);
+            });
+
+            List<byte[]> sectionFragments = attendanceSummaries.parallelStream()
+                .map(summary -> renderEmployeeSection(summary, withdrawMap, attendanceByEmployee, withdrawsByEmployee,
+                    startDate, endDate))
+                .toList();
+
+            List<byte[]> fragments = new ArrayList<>();
+            fragments.add(summaryFragment);
+            fragments.addAll(sectionFragments);
+            return mergeWithPageNumbers(fragments);
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error generating payroll sections PDF", e);
+            throw new ValidationException("Failed to generate payroll summary PDF: " + e.getMessage());
+        }
+    }
+
+    private byte[] renderEmployeeSection(Map<String, Object> attendanceSummary, Map<Long, BigDecimal> withdrawMap,
+                                         Map<Long, List<Map<String, Object>>> attendanceByEmployee,
+                                         Map<Long, List<Map<String, Object>>> withdrawsByEmployee,
+                                         LocalDate startDate, LocalDate endDate) {
+        Long employeeId = (Long) attendanceSummary.get("employeeId");
+        BigDecimal totalPay = (BigDecimal) attendanceSummary.get("totalPay");
+        BigDecimal totalWithdraw = withdrawMap.getOrDefault(employeeId, BigDecimal.ZERO);
+        try {
+            return PdfRenderer.render("payroll_sections", PageSize.A4, 36, (pdf, document) -> {
+                addHeader(document, startDate, endDate);
+
+                Table details = new Table(2).useAllAvailableWidth().setMarginTop(20);
+                addDetailRow(details, "Name", String.valueOf(attendanceSummary.get("employeeName")));
+                addDetailRow(details, "Regular Hours", formatNumber((BigDecimal) attendanceSummary.get("totalRegularHours")));
+                addDetailRow(details, "Overtime Hours", formatNumber((BigDecimal) attendanceSummary.get("totalOvertimeHours")));
+                addDetailRow(details, "Total Pay", formatCurrency(totalPay));
+                addDetailRow(details, "Upad", formatCurrency(totalWithdraw));
+                addDetailRow(details, "Total", formatCurrency(totalPay.subtract(totalWithdraw)));
+                document.add(details);
+
+                if (attendanceByEmployee != null) {
+                    List<Map<String, Object>> attendanceRecords = attendanceByEmployee.getOrDefault(employeeId, List.of());
+                    List<Map<String, Object>> withdrawRecords = withdrawsByEmployee.getOrDefault(employeeId, List.of());
+                    addAttendanceTable(document, attendanceRecords);
+                    addWithdrawTable(document, withdrawRecords);
+                    addSummary(document, calculateSummary(attendanceRecords, withdrawRecords));
+                }
+            });
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ValidationException("Failed to render payroll section for employee " + employeeId + ": " + e.getMessage());
+        }
+    }
+
+    private byte[] mergeWithPageNumbers(List<byte[]> fragments) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (PdfDocument merged = new PdfDocument(new PdfWriter(outputStream))) {
+            PdfMerger merger = new PdfMerger(merged);
+            for (byte[] fragment : fragments) {
+                try (PdfDocument source = new PdfDocument(new PdfReader(new ByteArrayInputStream(fragment)))) {
+                    merger.merge(source, 1, source.getNumberOfPages());
+                }
+            }
+
+            Document document = new Document(merged);
+            int totalPages = merged.getNumberOfPages();
+            for (int page = 1; page <= totalPages; page++) {
+                Rectangle pageSize = merged.getPage(page).getPageSize();
+                document.showTextAligned(new Paragraph("Page " + page + " of " + totalPages)
+                        .setFontSize(8)
+                        .setFontColor(TEXT_SECONDARY),
+                    pageSize.getWidth() / 2, 10, page, TextAlignment.CENTER, VerticalAlignment.BOTTOM, 0);
+            }
+            document.close();
+        }
+        return outputStream.toByteArray();
+    }
+    
     private void addPayrollSummaryHeader(Document document, LocalDate startDate, LocalDate endDate) {
         Table header = new Table(2).useAllAvailableWidth();
         
@@ -1,6 +1,7 @@
 package com.inventory.service;
 
 import com.inventory.dao.BachDao;
+import com.inventory.dao.BalanceOutboxDao;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.BachDto;
 import com.inventory.entity.*;
@@ -12,6 +13,8 @@ import com.inventory.repository.MixerRepository;
 import com.inventory.repository.ProductionRepository;
 import com.inventory.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,19 +22,24 @@ import org.springframework.util.StringUtils;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.hibernate.ScrollableResults;
 
 @Service
+@Lazy
 @RequiredArgsConstructor
+@Slf4j
 public class BachService {
+    private static final int EXPORT_ROW_WINDOW = 100;
+
     private final BachRepository bachRepository;
     private final MachineMasterRepository machineMasterRepository;
     private final BachDao bachDao;
@@ -40,6 +48,8 @@ public class BachService {
     private final ProductionRepository productionRepository;
     private final ProductRepository productRepository;
     private final ProductQuantityService productQuantityService;
+    private final TenantBootstrapService tenantBootstrapService;
+    private final BalanceOutboxDao balanceOutboxDao;
 
     @Transactional(rollbackFor = Exception.class)
     public ApiResponse<?> create(BachDto dto) {
@@ -244,44 +254,31 @@ public class BachService {
         }
     }
 
-    public byte[] exportBachMixerProductionExcel(BachDto filter) {
-        try {
-            UserMaster currentUser = utilityService.getCurrentLoggedInUser();
-            filter.setClientId(currentUser.getClient().getId());
-
-            // Fetch all batch data in a single query
-            List<Object[]> batchData = bachDao.findAllBatchesForExport(filter);
-            if (batchData.isEmpty()) {
-                throw new ValidationException("No batch data found for export", HttpStatus.NOT_FOUND);
-            }
-
-            // Extract batch IDs for subsequent queries
-            List<Long> batchIds = batchData.stream()
-                    .map(row -> ((Number) row[0]).longValue())
-                    .collect(Collectors.toList());
-
-            // Fetch all mixer and production data in single queries
-            List<Object[]> mixerData = bachDao.findAllMixersForExport(batchIds);
-            List<Object[]> productionData = bachDao.findAllProductionsForExport(batchIds);
-
-            // Create HashMaps for efficient data lookup
-            Map<Long, List<Object[]>> mixerMap = new HashMap<>();
-            Map<Long, List<Object[]>> productionMap = new HashMap<>();
-
-            // Group mixer data by batch ID
-            for (Object[] mixer : mixerData) {
-                Long batchId = ((Number) mixer[0]).longValue();
-                mixerMap.computeIfAbsent(batchId, k -> new ArrayList<>()).add(mixer);
-            }
-
-            // Group production data by batch ID
-            for (Object[] production : productionData) {
-                Long batchId = ((Number) production[0]).longValue();
-                productionMap.computeIfAbsent(batchId, k -> new ArrayList<>()).add(production);
-            }
+    public void prepareBachMixerProductionExport(BachDto filter) {
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        filter.setClientId(currentUser.getClient().getId());
+        if (!bachDao.existsBatchForExport(filter)) {
+            throw new ValidationException("No batch data found for export", HttpStatus.NOT_FOUND);
+        }
+    }
 
-            Workbook workbook = new XSSFWorkbook();
-            Sheet sheet = workbook.createSheet("Batch Report");
+    /**
+     * Streams the batch report straight to the output. Batches, mixers and productions are read through
+     * three forward-only cursors ordered by batch id and merged on the fly, and rows are written through
+     * an SXSSF window, so memory stays flat however many batches match the filter.
+     * Because of the merge the report is always ordered by batch id: {@code sortDir} is honoured,
+     * {@code sortBy} is not.
+     * The filter must already carry the client id (see {@link #prepareBachMixerProductionExport}).
+     */
+    @Transactional(readOnly = true)
+    public void writeBachMixerProductionExcel(BachDto filter, OutputStream outputStream) {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXPORT_ROW_WINDOW);
+        try (ExportCursor batches = new ExportCursor(bachDao.scrollBatchesForExport(filter));
+             ExportCursor mixers = new ExportCursor(bachDao.scrollMixersForExport(filter));
+             ExportCursor productions = new ExportCursor(bachDao.scrollProductionsForExport(filter))) {
+            SXSSFSheet sheet = workbook.createSheet("Batch Report");
+            sheet.trackAllColumnsForAutoSizing();
+            boolean ascending = BachDao.isAscending(filter);
             
             // Create header row
             Row headerRow = sheet.createRow(0);
@@ -316,8 +313,8 @@ public class BachService {
             java.math.BigDecimal totalProductionWastage = java.math.BigDecimal.ZERO;
 
             int rowNum = 1;
-            for (Object[] batch : batchData) {
-                Long batchId = ((Number) batch[0]).longValue();
+            for (Object[] batch = batches.peek(); batch != null; batches.advance(), batch = batches.peek()) {
+                long batchId = ((Number) batch[0]).longValue();
                 
                 Row row = sheet.createRow(rowNum++);
                 
@@ -342,22 +339,23 @@ public class BachService {
 
                 // Mixer details - simplified format as requested
                 StringBuilder mixerDetails = new StringBuilder();
-                List<Object[]> mixers = mixerMap.get(batchId);
-                if (mixers == null || mixers.isEmpty()) {
-                    mixerDetails.append("No mixer items");
-                } else {
-                    for (Object[] mixer : mixers) {
-                        String productName = mixer[2] != null ? mixer[2].toString() : "";
-                        String quantity = mixer[1] != null ? mixer[1].toString() : "";
-                        mixerDetails.append(productName).append("(").append(quantity).append(")");
-                        // Accumulate mixer quantity total
-                        if (mixer[1] != null) {
-                            try { totalMixerQuantity = totalMixerQuantity.add(new java.math.BigDecimal(mixer[1].toString())); } catch (Exception ignored) {}
-                        }
-                        if (mixers.indexOf(mixer) < mixers.size() - 1) {
-                            mixerDetails.append("\n");
-                        }
+                mixers.skipBefore(batchId, ascending);
+                while (mixers.isAt(batchId)) {
+                    Object[] mixer = mixers.peek();
+                    String productName = mixer[2] != null ? mixer[2].toString() : "";
+                    String quantity = mixer[1] != null ? mixer[1].toString() : "";
+                    if (mixerDetails.length() > 0) {
+                        mixerDetails.append("\n");
+                    }
+                    mixerDetails.append(productName).append("(").append(quantity).append(")");
+                    // Accumulate mixer quantity total
+                    if (mixer[1] != null) {
+                        try { totalMixerQuantity = totalMixerQuantity.add(new java.math.BigDecimal(mixer[1].toString())); } catch (Exception ignored) {}
                     }
+                    mixers.advance();
+                }
+                if (mixerDetails.length() == 0) {
+                    mixerDetails.append("No mixer items");
                 }
                 Cell mixerCell = row.createCell(9);
                 mixerCell.setCellValue(mixerDetails.toString());
@@ -365,31 +363,32 @@ public class BachService {
 
                 // Production details - simplified format as requested
                 StringBuilder productionDetails = new StringBuilder();
-                List<Object[]> productions = productionMap.get(batchId);
-                if (productions == null || productions.isEmpty()) {
-                    productionDetails.append("No production items");
-                } else {
-                    for (Object[] production : productions) {
-                        String productName = production[4] != null ? production[4].toString() : "";
-                        String quantity = production[1] != null ? production[1].toString() : "";
-                        String numberOfRoll = production[2] != null ? production[2].toString() : "";
-                        String isWastage = production[3] != null ? production[3].toString() : "";
-                        String wastageText = "true".equals(isWastage) ? " [WASTAGE]" : "";
-                        productionDetails.append(productName).append("(").append(quantity).append(")").append(numberOfRoll).append(wastageText);
-                        // Accumulate production totals by wastage flag
-                        java.math.BigDecimal q = java.math.BigDecimal.ZERO;
-                        try { if (production[1] != null) { q = new java.math.BigDecimal(production[1].toString()); } } catch (Exception ignored) {}
-                        boolean w = false;
-                        try { w = production[3] != null && Boolean.parseBoolean(production[3].toString()); } catch (Exception ignored) {}
-                        if (w) {
-                            totalProductionWastage = totalProductionWastage.add(q);
-                        } else {
-                            totalProductionNonWastage = totalProductionNonWastage.add(q);
-                        }
-                        if (productions.indexOf(production) < productions.size() - 1) {
-                            productionDetails.append("\n");
-                        }
+                productions.skipBefore(batchId, ascending);
+                while (productions.isAt(batchId)) {
+                    Object[] production = productions.peek();
+                    String productName = production[4] != null ? production[4].toString() : "";
+                    String quantity = production[1] != null ? production[1].toString() : "";
+                    String numberOfRoll = production[2] != null ? production[2].toString() : "";
+                    String isWastage = production[3] != null ? production[3].toString() : "";
+                    String wastageText = "true".equals(isWastage) ? " [WASTAGE]" : "";
+                    if (productionDetails.length() > 0) {
+                        productionDetails.append("\n");
                     }
+                    productionDetails.append(productName).append("(").append(quantity).append(")").append(numberOfRoll).append(wastageText);
+                    // Accumulate production totals by wastage flag
+                    java.math.BigDecimal q = java.math.BigDecimal.ZERO;
+                    try { if (production[1] != null) { q = new java.math.BigDecimal(production[1].toString()); } } catch (Exception ignored) {}
+                    boolean w = false;
+                    try { w = production[3] != null && Boolean.parseBoolean(production[3].toString()); } catch (Exception ignored) {}
+                    if (w) {
+                        totalProductionWastage = totalProductionWastage.add(q);
+                    } else {
+                        totalProductionNonWastage = totalProductionNonWastage.add(q);
+                    }
+                    productions.advance();
+                }
+                if (productionDetails.length() == 0) {
+                    productionDetails.append("No production items");
                 }
                 Cell productionCell = row.createCell(10);
                 productionCell.setCellValue(productionDetails.toString());
@@ -424,20 +423,59 @@ public class BachService {
             productionTotalsCell.setCellValue(productionTotalsText);
             productionTotalsCell.setCellStyle(wrapStyle);
 
-            // Auto-size columns
+            // Auto-size columns from the widths tracked while rows were flushed
             for (int i = 0; i < headers.length; i++) {
                 sheet.autoSizeColumn(i);
             }
 
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
-            workbook.close();
-            
-            return outputStream.toByteArray();
         } catch (IOException e) {
             throw new ValidationException("Failed to export bach report to Excel", HttpStatus.INTERNAL_SERVER_ERROR);
         } catch (Exception e) {
             throw new ValidationException("Failed to export bach report", HttpStatus.INTERNAL_SERVER_ERROR);
+        } finally {
+            workbook.dispose();
+        }
+    }
+
+    /**
+     * One-row look-ahead over an export cursor whose first column is the batch id.
+     */
+    private static final class ExportCursor implements AutoCloseable {
+        private final ScrollableResults<Object[]> results;
+        private Object[] current;
+
+        private ExportCursor(ScrollableResults<Object[]> results) {
+            this.results = results;
+            advance();
+        }
+
+        private Object[] peek() {
+            return current;
+        }
+
+        private void advance() {
+            current = results.next() ? results.get() : null;
+        }
+
+        private boolean isAt(long batchId) {
+            return current != null && ((Number) current[0]).longValue() == batchId;
+        }
+
+        // Drops rows of batches that sort before the given batch (e.g. created after the batch cursor opened)
+        private void skipBefore(long batchId, boolean ascending) {
+            while (current != null) {
+                long rowBatchId = ((Number) current[0]).longValue();
+                if (ascending ? rowBatchId >= batchId : rowBatchId <= batchId) {
+                    return;
+                }
+                advance();
+            }
+        }
+
+        @Override
+        public void close() {
+            results.close();
         }
     }
 
@@ -611,43 +649,36 @@ public class BachService {
     }
 
     private Map<String, java.math.BigDecimal> getResignCpwStocks(Long clientId) {
+        Map<String, java.math.BigDecimal> result = new HashMap<>();
+        result.put(TenantBootstrapService.RESIGN, java.math.BigDecimal.ZERO);
+        result.put(TenantBootstrapService.CPW, java.math.BigDecimal.ZERO);
         try {
-            List<String> codes = Arrays.asList("RESIGN", "CPW");
-            List<Product> products = productRepository.findByProductCodeInAndClient_Id(codes, clientId);
-            Map<String, java.math.BigDecimal> result = new HashMap<>();
-            result.put("RESIGN", java.math.BigDecimal.ZERO);
-            result.put("CPW", java.math.BigDecimal.ZERO);
-            for (Product p : products) {
-                if (p.getProductCode() != null && p.getRemainingQuantity() != null) {
-                    result.put(p.getProductCode(), p.getRemainingQuantity());
+            Map<String, Long> ids = tenantBootstrapService.getProductIds(clientId);
+            // Includes stock changes still queued in the balance outbox
+            Map<Long, java.math.BigDecimal> stock = balanceOutboxDao.findStock(ids.values());
+            ids.forEach((code, productId) -> {
+                if (stock.containsKey(productId)) {
+                    result.put(code, stock.get(productId));
                 }
-            }
-            return result;
+            });
         } catch (Exception e) {
-            Map<String, java.math.BigDecimal> fallback = new HashMap<>();
-            fallback.put("RESIGN", java.math.BigDecimal.ZERO);
-            fallback.put("CPW", java.math.BigDecimal.ZERO);
-            return fallback;
+            log.warn("Could not read bag stocks for client {}: {}", clientId, e.getMessage());
         }
+        return result;
     }
 
     private void adjustBagUseOnCreate(UserMaster currentUser, java.math.BigDecimal resignUse, java.math.BigDecimal cpwUse) {
         try {
-            if (resignUse != null && resignUse.compareTo(java.math.BigDecimal.ZERO) > 0) {
-                productRepository.findByProductCodeInAndClient_Id(java.util.Arrays.asList("RESIGN"), currentUser.getClient().getId())
-                        .stream().findFirst().ifPresent(p -> {
-                            productQuantityService.updateProductQuantity(
-                                    p.getId(), resignUse, false, true, null
-                            );
-                        });
+            Map<String, Long> ids = tenantBootstrapService.getProductIds(currentUser.getClient().getId());
+            if (resignUse != null && resignUse.compareTo(java.math.BigDecimal.ZERO) > 0 && ids.containsKey(TenantBootstrapService.RESIGN)) {
+                productQuantityService.updateProductQuantity(
+                        ids.get(TenantBootstrapService.RESIGN), resignUse, false, true, null
+                );
             }
-            if (cpwUse != null && cpwUse.compareTo(java.math.BigDecimal.ZERO) > 0) {
-                productRepository.findByProductCodeInAndClient_Id(java.util.Arrays.asList("CPW"), currentUser.getClient().getId())
-                        .stream().findFirst().ifPresent(p -> {
-                            productQuantityService.updateProductQuantity(
-                                    p.getId(), cpwUse, false, true, null
-                            );
-                        });
+            if (cpwUse != null && cpwUse.compareTo(java.math.BigDecimal.ZERO) > 0 && ids.containsKey(TenantBootstrapService.CPW)) {
+                productQuantityService.updateProductQuantity(
+                        ids.get(TenantBootstrapService.CPW), cpwUse, false, true, null
+                );
             }
         } catch (Exception ignored) {}
     }
@@ -655,32 +686,29 @@ public class BachService {
     private void adjustBagUseOnUpdate(UserMaster currentUser, java.math.BigDecimal oldResignUse, java.math.BigDecimal newResignUse,
                                       java.math.BigDecimal oldCpwUse, java.math.BigDecimal newCpwUse) {
         try {
+            Map<String, Long> ids = tenantBootstrapService.getProductIds(currentUser.getClient().getId());
             java.math.BigDecimal oldR = oldResignUse != null ? oldResignUse : java.math.BigDecimal.ZERO;
             java.math.BigDecimal newR = newResignUse != null ? newResignUse : java.math.BigDecimal.ZERO;
-            if (oldR.compareTo(newR) != 0) {
-                productRepository.findByProductCodeInAndClient_Id(java.util.Arrays.asList("RESIGN"), currentUser.getClient().getId())
-                        .stream().findFirst().ifPresent(p -> {
-                            if (oldR.compareTo(java.math.BigDecimal.ZERO) > 0) {
-                                productQuantityService.updateProductQuantity(p.getId(), oldR, true, false, null);
-                            }
-                            if (newR.compareTo(java.math.BigDecimal.ZERO) > 0) {
-                                productQuantityService.updateProductQuantity(p.getId(), newR, false, true, null);
-                            }
-                        });
+            Long resignId = ids.get(TenantBootstrapService.RESIGN);
+            if (oldR.compareTo(newR) != 0 && resignId != null) {
+                if (oldR.compareTo(java.math.BigDecimal.ZERO) > 0) {
+                    productQuantityService.updateProductQuantity(resignId, oldR, true, false, null);
+                }
+                if (newR.compareTo(java.math.BigDecimal.ZERO) > 0) {
+                    productQuantityService.updateProductQuantity(resignId, newR, false, true, null);
+                }
             }
 
             java.math.BigDecimal oldC = oldCpwUse != null ? oldCpwUse : java.math.BigDecimal.ZERO;
             java.math.BigDecimal newC = newCpwUse != null ? newCpwUse : java.math.BigDecimal.ZERO;
-            if (oldC.compareTo(newC) != 0) {
-                productRepository.findByProductCodeInAndClient_Id(java.util.Arrays.asList("CPW"), currentUser.getClient().getId())
-                        .stream().findFirst().ifPresent(p -> {
-                            if (oldC.compareTo(java.math.BigDecimal.ZERO) > 0) {
-                                productQuantityService.updateProductQuantity(p.getId(), oldC, true, false, null);
-                            }
-                            if (newC.compareTo(java.math.BigDecimal.ZERO) > 0) {
-                                productQuantityService.updateProductQuantity(p.getId(), newC, false, true, null);
-                            }
-                        });
+            Long cpwId = ids.get(TenantBootstrapService.CPW);
+            if (oldC.compareTo(newC) != 0 && cpwId != null) {
+                if (oldC.compareTo(java.math.BigDecimal.ZERO) > 0) {
+                    productQuantityService.updateProductQuantity(cpwId, oldC, true, false, null);
+                }
+                if (newC.compareTo(java.math.BigDecimal.ZERO) > 0) {
+                    productQuantityService.updateProductQuantity(cpwId, newC, false, true, null);
+                }
             }
         } catch (Exception ignored) {}
     }
@@ -690,21 +718,16 @@ public class BachService {
      */
     private void revertBagUseOnDelete(UserMaster currentUser, java.math.BigDecimal resignUse, java.math.BigDecimal cpwUse) {
         try {
-            if (resignUse != null && resignUse.compareTo(java.math.BigDecimal.ZERO) > 0) {
-                productRepository.findByProductCodeInAndClient_Id(java.util.Arrays.asList("RESIGN"), currentUser.getClient().getId())
-                        .stream().findFirst().ifPresent(p -> {
-                            productQuantityService.updateProductQuantity(
-                                    p.getId(), resignUse, true, false, null
-                            );
-                        });
-            }
-            if (cpwUse != null && cpwUse.compareTo(java.math.BigDecimal.ZERO) > 0) {
-                productRepository.findByProductCodeInAndClient_Id(java.util.Arrays.asList("CPW"), currentUser.getClient().getId())
-                        .stream().findFirst().ifPresent(p -> {
-                            productQuantityService.updateProductQuantity(
-                                    p.getId(), cpwUse, true, false, null
-                            );
-                        });
+            Map<String, Long> ids = tenantBootstrapService.getProductIds(currentUser.getClient().getId());
+            if (resignUse != null && resignUse.compareTo(java.math.BigDecimal.ZERO) > 0 && ids.containsKey(TenantBootstrapService.RESIGN)) {
+                productQuantityService.updateProductQuantity(
+                        ids.get(TenantBootstrapService.RESIGN), resignUse, true, false, null
+                );
+            }
+            if (cpwUse != null && cpwUse.compareTo(java.math.BigDecimal.ZERO) > 0 && ids.containsKey(TenantBootstrapService.CPW)) {
+                productQuantityService.updateProductQuantity(
+                        ids.get(TenantBootstrapService.CPW), cpwUse, true, false, null
+                );
             }
         } catch (Exception ignored) {}
     }
@@ -0,0 +1,169 @@
+package com.inventory.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.inventory.dao.BalanceOutboxDao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies committed {@code balance_outbox} rows to product stock and customer balances.
+ * <p>
+ * Each batch runs in one transaction: claim up to {@code inventory.outbox.batch-size} (500) rows
+ * with {@code FOR UPDATE SKIP LOCKED}, add their deltas summed per product and customer in one
+ * UPDATE per table, and mark the rows processed. A row is therefore applied exactly once, also
+ * with several application instances polling the same table. A failed batch rolls back and is
+ * retried on the next run.
+ * <p>
+ * Batches run on a single thread, started when a transaction that enqueued a row commits and,
+ * when the outbox is enabled ({@link BalanceOutboxService}), every
+ * {@code inventory.outbox.poll-interval} (1s) as a fallback. With the outbox disabled the
+ * dispatcher only drains rows left from an earlier run once at startup. Processed rows are
+ * deleted after {@code inventory.outbox.retention} (7 days), whether the outbox is enabled or
+ * not, so rows from an earlier enabled run do not stay forever.
+ */
+@Service
+@Slf4j
+public class BalanceOutboxDispatcher {
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final BalanceOutboxDao balanceOutboxDao;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final boolean enabled;
+    private final Counter appliedRows;
+    private final Timer batchTimer;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "balance-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean drainQueued = new AtomicBoolean();
+
+    public BalanceOutboxDispatcher(BalanceOutboxDao balanceOutboxDao,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry registry,
+                                   @Value("${inventory.outbox.batch-size:500}") int batchSize,
+                                   @Value("${inventory.outbox.poll-interval:1s}") Duration pollInterval,
+                                   @Value("${inventory.outbox.retention:7d}") Duration retention,
+                                   @Value("${inventory.outbox.enabled:false}") boolean enabled) {
+        this.balanceOutboxDao = balanceOutboxDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.enabled = enabled;
+        this.appliedRows = Counter.builder("inventory.outbox.applied")
+                .description("Outbox rows applied to product stock and customer balances")
+                .register(registry);
+        this.batchTimer = Timer.builder("inventory.outbox.batch")
+                .description("Time to claim, apply and mark one outbox batch")
+                .register(registry);
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        executor.scheduleWithFixedDelay(this::purgeSafely, PURGE_INTERVAL.toMillis(), PURGE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        if (!enabled) {
+            executor.execute(this::drainSafely);
+            return;
+        }
+        executor.scheduleWithFixedDelay(this::drainSafely, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Asks for a drain as soon as the dispatcher thread is free. Calls while one is already
+     * queued are coalesced, so a burst of commits costs one extra run.
+     */
+    public void wake() {
+        if (drainQueued.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    drainQueued.set(false);
+                    drainSafely();
+                });
+            } catch (RuntimeException e) {
+                drainQueued.set(false);
+                log.debug("Outbox dispatcher is shut down, rows are left for the next start");
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            int applied;
+            do {
+                applied = batchTimer.record(() -> transactionTemplate.execute(status -> applyBatch()));
+            } while (applied >= batchSize);
+        } catch (Exception e) {
+            log.error("Failed to apply balance outbox batch, will retry: {}", e.getMessage(), e);
+        }
+    }
+
+    private int applyBatch() {
+        List<Long> outboxIds = balanceOutboxDao.claimPending(batchSize);
+        if (outboxIds.isEmpty()) {
+            return 0;
+        }
+        List<Long> productIds = balanceOutboxDao.applyProductDeltas(outboxIds);
+        List<Long> customerIds = balanceOutboxDao.applyCustomerDeltas(outboxIds);
+        balanceOutboxDao.markProcessed(outboxIds);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                appliedRows.increment(outboxIds.size());
+            }
+        });
+        log.debug("Applied {} outbox rows to {} products and {} customers",
+                outboxIds.size(), productIds.size(), customerIds.size());
+        return outboxIds.size();
+    }
+
+    private void purgeSafely() {
+        try {
+            Integer deleted = transactionTemplate.execute(status ->
+                    balanceOutboxDao.deleteProcessedBefore(OffsetDateTime.now().minus(retention)));
+            if (deleted != null && deleted > 0) {
+                log.info("Purged {} processed balance outbox rows", deleted);
+            }
+        } catch (Exception e) {
+            log.error("Failed to purge balance outbox: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.inventory.service;
+
+import java.math.BigDecimal;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.inventory.entity.BalanceOutbox;
+import com.inventory.enums.OutboxTarget;
+import com.inventory.repository.BalanceOutboxRepository;
+
+/**
+ * Records stock and customer balance changes in {@code balance_outbox} instead of updating the
+ * product/customer row inside the caller's transaction. The row commits or rolls back with the
+ * sale, purchase or payment that wrote it; {@link BalanceOutboxDispatcher} applies committed rows
+ * shortly after, summed per product and customer.
+ * <p>
+ * Opt-in with {@code inventory.outbox.enabled=true} (default false). The columns
+ * {@code product.remaining_quantity} and {@code customer.remaining_payment_amount} then lag behind
+ * the queued changes, so readers must add the pending deltas
+ * ({@link com.inventory.dao.BalanceOutboxDao#stockWithPending} and
+ * {@link com.inventory.dao.BalanceOutboxDao#balanceWithPending}), as the product and customer
+ * lists, the bag stock screen and the bag opening stock saved on a batch do.
+ */
+@Service
+public class BalanceOutboxService {
+    private final BalanceOutboxRepository balanceOutboxRepository;
+    private final BalanceOutboxDispatcher dispatcher;
+    private final boolean enabled;
+
+    public BalanceOutboxService(BalanceOutboxRepository balanceOutboxRepository,
+                                BalanceOutboxDispatcher dispatcher,
+                                @Value("${inventory.outbox.enabled:false}") boolean enabled) {
+        this.balanceOutboxRepository = balanceOutboxRepository;
+        this.dispatcher = dispatcher;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Queues a change of {@code product.remaining_quantity}; positive adds stock. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueStock(Long clientId, Long productId, BigDecimal delta) {
+        enqueue(clientId, OutboxTarget.PRODUCT, productId, delta);
+    }
+
+    /** Queues a change of {@code customer.remaining_payment_amount}; positive means the customer owes more. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueBalance(Long clientId, Long customerId, BigDecimal delta) {
+        enqueue(clientId, OutboxTarget.CUSTOMER, customerId, delta);
+    }
+
+    private void enqueue(Long clientId, OutboxTarget targetType, Long targetId, BigDecimal delta) {
+        if (delta == null || delta.signum() == 0) {
+            return;
+        }
+        BalanceOutbox outbox = new BalanceOutbox();
+        outbox.setClientId(clientId);
+        outbox.setTargetType(targetType);
+        outbox.setTargetId(targetId);
+        outbox.setDelta(delta);
+        balanceOutboxRepository.save(outbox);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wake();
+            }
+        });
+    }
+}
@@ -53,7 +53,6 @@ public class BatchDeletionService {
 
             return ApiResponse.success("Records deleted successfully", deletionCounts);
         } catch (Exception e) {
-            e.printStackTrace();
             log.error("Error in batch deletion: ", e);
             throw new ValidationException("Failed to delete records: " + e.getMessage());
         }
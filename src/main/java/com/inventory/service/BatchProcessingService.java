@@ -7,6 +7,7 @@ import com.inventory.entity.SaleItem;
 import com.inventory.entity.UserMaster;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +23,7 @@ public class BatchProcessingService {
     private final ProductQuantityService productQuantityService;
     private final PurchaseDao purchaseDao;
     private final UtilityService utilityService;
+    private final AsyncTaskExecutor taskExecutor;
     private static final int BATCH_SIZE = 100;
     
     @Transactional
@@ -59,7 +61,7 @@ public class BatchProcessingService {
                         throw new RuntimeException("Failed to process " + itemType + " item", e);
                     }
                 });
-            }).exceptionally(throwable -> {
+            }, taskExecutor).exceptionally(throwable -> {
                 log.error("Batch processing failed: {}", throwable.getMessage(), throwable);
                 return null;
             });
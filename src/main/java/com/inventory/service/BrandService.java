@@ -5,6 +5,7 @@ import com.inventory.dto.ApiResponse;
 import com.inventory.dto.BrandDto;
 import com.inventory.entity.Brand;
 import com.inventory.entity.UserMaster;
+import com.inventory.enums.LookupType;
 import com.inventory.exception.ValidationException;
 import com.inventory.repository.BrandRepository;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ public class BrandService {
     private final BrandRepository brandRepository;
     private final BrandDao brandDao;
     private final UtilityService utilityService;
+    private final LookupCacheService lookupCacheService;
     private final Logger logger = LoggerFactory.getLogger(BrandService.class);
 
     @Transactional(rollbackFor = Exception.class)
@@ -47,6 +49,7 @@ public class BrandService {
             b.setCreatedBy(currentUser);
 
             brandRepository.save(b);
+            lookupCacheService.invalidate(LookupType.BRAND, b.getClient().getId());
             return ApiResponse.success("Brand created successfully");
         } catch (ValidationException e) {
             throw e;
@@ -83,6 +86,7 @@ public class BrandService {
             b.setUpdatedAt(OffsetDateTime.now());
 
             brandRepository.save(b);
+            lookupCacheService.invalidate(LookupType.BRAND, b.getClient().getId());
             return ApiResponse.success("Brand updated successfully");
         } catch (ValidationException e) {
             throw e;
@@ -102,6 +106,7 @@ public class BrandService {
             }
             try {
                 brandRepository.delete(b);
+                lookupCacheService.invalidate(LookupType.BRAND, b.getClient().getId());
                 return ApiResponse.success("Brand deleted successfully");
             } catch (DataIntegrityViolationException e) {
                 throw new ValidationException("Cannot delete brand. It is referenced by other records.", HttpStatus.UNPROCESSABLE_ENTITY);
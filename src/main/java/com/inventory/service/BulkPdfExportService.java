@@ -0,0 +1,113 @@
+package com.inventory.service;
+
+import com.inventory.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams many PDFs into a single ZIP. Ids are processed in chunks: each chunk is loaded with one
+ * set-based call, rendered on a bounded pool and written to the archive as each document finishes,
+ * so at most one chunk of PDFs is held in memory at a time.
+ * <p>
+ * A failure before the first entry is written propagates, so the client gets an error status
+ * instead of an empty archive. Once entries have been sent the status can no longer change, so a
+ * later failure ends the archive with an {@value #ERROR_ENTRY} entry describing what is missing.
+ */
+@Service
+@Lazy
+@Slf4j
+public class BulkPdfExportService {
+    public static final int MAX_EXPORT_DOCUMENTS = 5000;
+    private static final int CHUNK_SIZE = 25;
+    private static final String ERROR_ENTRY = "EXPORT_FAILED.txt";
+
+    private final ExecutorService renderExecutor = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())));
+
+    public record RenderedPdf(String fileName, byte[] content) {
+    }
+
+    public <T> void writeZip(List<Long> ids,
+                             Function<List<Long>, Map<Long, T>> loader,
+                             Function<T, RenderedPdf> renderer,
+                             OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        Set<String> usedNames = new HashSet<>();
+
+        try {
+            for (int i = 0; i < ids.size(); i += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(i, Math.min(i + CHUNK_SIZE, ids.size()));
+                Map<Long, T> data = loader.apply(chunk);
+
+                CompletionService<RenderedPdf> completionService = new ExecutorCompletionService<>(renderExecutor);
+                data.values().forEach(item -> completionService.submit(() -> renderer.apply(item)));
+
+                for (int done = 0; done < data.size(); done++) {
+                    RenderedPdf pdf = take(completionService);
+                    zip.putNextEntry(new ZipEntry(uniqueName(pdf.fileName(), usedNames)));
+                    zip.write(pdf.content());
+                    zip.closeEntry();
+                }
+                zip.flush();
+            }
+        } catch (RuntimeException e) {
+            if (usedNames.isEmpty()) {
+                throw e;
+            }
+            log.error("PDF export failed after {} of {} documents", usedNames.size(), ids.size(), e);
+            zip.putNextEntry(new ZipEntry(ERROR_ENTRY));
+            zip.write(("Export incomplete: " + usedNames.size() + " of " + ids.size()
+                    + " documents were written before an error occurred.\n" + e.getMessage() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    private RenderedPdf take(CompletionService<RenderedPdf> completionService) {
+        try {
+            Future<RenderedPdf> future = completionService.take();
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValidationException("PDF export was interrupted");
+        } catch (ExecutionException e) {
+            log.error("Error rendering PDF for export", e.getCause());
+            throw new ValidationException("Failed to generate PDF export: " + e.getCause().getMessage());
+        }
+    }
+
+    private String uniqueName(String fileName, Set<String> usedNames) {
+        String safeName = fileName.replaceAll("[^A-Za-z0-9._-]", "_");
+        String candidate = safeName;
+        int suffix = 1;
+        while (!usedNames.add(candidate)) {
+            candidate = safeName.replaceFirst("(\\.pdf)?$", "-" + suffix++ + ".pdf");
+        }
+        return candidate;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+}
@@ -5,11 +5,13 @@ import com.inventory.dto.CategoryDto;
 import com.inventory.entity.Category;
 import com.inventory.entity.Product;
 import com.inventory.entity.UserMaster;
+import com.inventory.enums.LookupType;
 import com.inventory.exception.ValidationException;
 import com.inventory.repository.CategoryRepository;
 import com.inventory.repository.ProductRepository;
 import com.inventory.dao.CategoryDao;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.catalina.User;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,11 +26,13 @@ import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
     private final CategoryDao categoryDao;
     private final UtilityService utilityService;
+    private final LookupCacheService lookupCacheService;
 
     @Transactional
     public ApiResponse<?> create(CategoryDto dto) {
@@ -49,12 +53,12 @@ public class CategoryService {
             category.setClient(currentUser.getClient());
             
             categoryRepository.save(category);
+            lookupCacheService.invalidate(LookupType.CATEGORY, category.getClient().getId());
             return ApiResponse.success("Category created successfully");
         } catch (ValidationException e) {
-            e.printStackTrace();
             throw new ValidationException(e.getMessage());
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to create category", e);
             throw new ValidationException("Failed to create category");
         }
     }
@@ -79,6 +83,7 @@ public class CategoryService {
             category.setUpdatedAt(OffsetDateTime.now());
             
             categoryRepository.save(category);
+            lookupCacheService.invalidate(LookupType.CATEGORY, category.getClient().getId());
             return ApiResponse.success("Category updated successfully");
         } catch (ValidationException e) {
             throw e;
@@ -103,11 +108,12 @@ public class CategoryService {
             }
 
             categoryRepository.delete(category);
+            lookupCacheService.invalidate(LookupType.CATEGORY, category.getClient().getId());
             return ApiResponse.success("Category deleted successfully");
         } catch (ValidationException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to delete category", e);
             throw new ValidationException("Failed to delete category");
         }
     }
@@ -119,7 +125,7 @@ public class CategoryService {
             List<Map<String, Object>> categories = categoryDao.getCategories(categoryDto);
             return ApiResponse.success("Categories retrieved successfully", categories);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to retrieve categories", e);
             throw new ValidationException("Failed to retrieve categories");
         }
     }
@@ -131,7 +137,7 @@ public class CategoryService {
             Map<String, Object> result = categoryDao.searchCategories(categoryDto);
             return ApiResponse.success("Categories retrieved successfully", result);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to retrieve categories", e);
             throw new ValidationException("Failed to retrieve categories");
         }
     }
@@ -2,32 +2,40 @@ package com.inventory.service;
 
 import com.inventory.entity.Customer;
 import com.inventory.exception.ValidationException;
+import com.inventory.metrics.BusinessMetrics;
+import com.inventory.metrics.LockDiagnostics;
 import com.inventory.repository.CustomerRepository;
+import com.inventory.security.TenantContext;
+import com.inventory.util.LogMarkers;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CustomerRemainingPaymentAmountService {
     private final CustomerRepository customerRepository;
-    private final ConcurrentHashMap<Long, Lock> customerLocks = new ConcurrentHashMap<>();
+    private final BusinessMetrics businessMetrics;
+    private final LockDiagnostics lockDiagnostics;
+    private final BalanceOutboxService balanceOutboxService;
     
     private Lock getCustomerLock(Long customerId) {
-        return customerLocks.computeIfAbsent(customerId, k -> new ReentrantLock());
+        return lockDiagnostics.lockFor("customer", customerId);
     }
     
     @Transactional
     public void updateCustomerRemainingPaymentAmount(Long customerId, BigDecimal amountChange, Boolean isPurchase, Boolean isSale) {
+        if (balanceOutboxService.isEnabled()) {
+            enqueueBalanceChange(customerId, Boolean.TRUE.equals(isPurchase) ? amountChange.negate() : Boolean.TRUE.equals(isSale) ? amountChange : BigDecimal.ZERO);
+            return;
+        }
         Lock lock = getCustomerLock(customerId);
-        lock.lock();
+        BusinessMetrics.LockHold hold = businessMetrics.lock(lock, "customer");
         try {
             Customer customer = getAndValidateCustomer(customerId);
             
@@ -44,52 +52,64 @@ public class CustomerRemainingPaymentAmountService {
             log.error("Error updating customer remaining payment amount: {}", e.getMessage(), e);
             throw e;
         } finally {
-            lock.unlock();
+            businessMetrics.unlock(lock, hold);
         }
     }
     
     @Transactional
     public void reversePurchasePaymentAmount(Long customerId, BigDecimal amountToReverse) {
+        if (balanceOutboxService.isEnabled()) {
+            enqueueBalanceChange(customerId, amountToReverse);
+            return;
+        }
         Lock lock = getCustomerLock(customerId);
-        lock.lock();
+        BusinessMetrics.LockHold hold = businessMetrics.lock(lock, "customer");
         try {
             Customer customer = getAndValidateCustomer(customerId);
             BigDecimal newRemainingPaymentAmount = customer.getRemainingPaymentAmount().add(amountToReverse);
             customer.setRemainingPaymentAmount(newRemainingPaymentAmount);
             customerRepository.save(customer);
-            log.info("Customer {} reverse purchase payment applied. Reversed: {}, Remaining Payment Amount: {}",
+            log.info(LogMarkers.PER_ITEM, "Customer {} reverse purchase payment applied. Reversed: {}, Remaining Payment Amount: {}",
                 customer.getId(), amountToReverse, customer.getRemainingPaymentAmount());
         } catch (Exception e) {
             log.error("Error reversing purchase payment amount: {}", e.getMessage(), e);
             throw e;
         } finally {
-            lock.unlock();
+            businessMetrics.unlock(lock, hold);
         }
     }
     
     @Transactional
     public void reverseSalePaymentAmount(Long customerId, BigDecimal amountToReverse) {
+        if (balanceOutboxService.isEnabled()) {
+            enqueueBalanceChange(customerId, amountToReverse.negate());
+            return;
+        }
         Lock lock = getCustomerLock(customerId);
-        lock.lock();
+        BusinessMetrics.LockHold hold = businessMetrics.lock(lock, "customer");
         try {
             Customer customer = getAndValidateCustomer(customerId);
             BigDecimal newRemainingPaymentAmount = customer.getRemainingPaymentAmount().subtract(amountToReverse);
             customer.setRemainingPaymentAmount(newRemainingPaymentAmount);
             customerRepository.save(customer);
-            log.info("Customer {} reverse sale payment applied. Reversed: {}, Remaining Payment Amount: {}",
+            log.info(LogMarkers.PER_ITEM, "Customer {} reverse sale payment applied. Reversed: {}, Remaining Payment Amount: {}",
                 customer.getId(), amountToReverse, customer.getRemainingPaymentAmount());
         } catch (Exception e) {
             log.error("Error reversing sale payment amount: {}", e.getMessage(), e);
             throw e;
         } finally {
-            lock.unlock();
+            businessMetrics.unlock(lock, hold);
         }
     }
     
     @Transactional
     public void updatePurchasePaymentAmount(Long customerId, BigDecimal oldAmount, BigDecimal newAmount) {
+        if (balanceOutboxService.isEnabled()) {
+            enqueueBalanceChange(customerId, oldAmount.subtract(newAmount));
+            return;
+        }
         Lock lock = getCustomerLock(customerId);
-        lock.lock();
+        BusinessMetrics.LockHold hold = businessMetrics.lock(lock, "customer");
         try {
             Customer customer = getAndValidateCustomer(customerId);
             
@@ -100,21 +120,25 @@ public class CustomerRemainingPaymentAmountService {
             customer.setRemainingPaymentAmount(newRemainingPaymentAmount);
             customerRepository.save(customer);
             
-            log.info("Customer {} purchase payment amount updated. Old: {}, New: {}, Net Change: {}, Remaining Payment Amount: {}",
+            log.info(LogMarkers.PER_ITEM, "Customer {} purchase payment amount updated. Old: {}, New: {}, Net Change: {}, Remaining Payment Amount: {}",
                 customer.getId(), oldAmount, newAmount, netChange, customer.getRemainingPaymentAmount());
                 
         } catch (Exception e) {
             log.error("Error updating purchase payment amount: {}", e.getMessage(), e);
             throw e;
         } finally {
-            lock.unlock();
+            businessMetrics.unlock(lock, hold);
         }
     }
     
     @Transactional
     public void updateSalePaymentAmount(Long customerId, BigDecimal oldAmount, BigDecimal newAmount) {
+        if (balanceOutboxService.isEnabled()) {
+            enqueueBalanceChange(customerId, newAmount.subtract(oldAmount));
+            return;
+        }
         Lock lock = getCustomerLock(customerId);
-        lock.lock();
+        BusinessMetrics.LockHold hold = businessMetrics.lock(lock, "customer");
         try {
             Customer customer = getAndValidateCustomer(customerId);
             
@@ -125,17 +149,29 @@ public class CustomerRemainingPaymentAmountService {
             customer.setRemainingPaymentAmount(newRemainingPaymentAmount);
             customerRepository.save(customer);
             
-            log.info("Customer {} sale payment amount updated. Old: {}, New: {}, Net Change: {}, Remaining Payment Amount: {}",
+            log.info(LogMarkers.PER_ITEM, "Customer {} sale payment amount updated. Old: {}, New: {}, Net Change: {}, Remaining Payment Amount: {}",
                 customer.getId(), oldAmount, newAmount, netChange, customer.getRemainingPaymentAmount());
                 
         } catch (Exception e) {
             log.error("Error updating sale payment amount: {}", e.getMessage(), e);
             throw e;
         } finally {
-            lock.unlock();
+            businessMetrics.unlock(lock, hold);
         }
     }
     
+    /**
+     * Outbox mode: records the signed change for {@link BalanceOutboxDispatcher} instead of
+     * locking and rewriting the customer row in this transaction.
+     */
+    private void enqueueBalanceChange(Long customerId, BigDecimal delta) {
+        Customer customer = customerRepository.findById(customerId)
+            .orElseThrow(() -> new ValidationException("Customer not found"));
+        Long clientId = customer.getClient() != null ? customer.getClient().getId() : TenantContext.getClientId();
+        balanceOutboxService.enqueueBalance(clientId, customerId, delta);
+        log.info(LogMarkers.PER_ITEM, "Customer {} remaining payment amount change queued. Change: {}", customerId, delta);
+    }
+    
     private Customer getAndValidateCustomer(Long customerId) {
         Customer customer = customerRepository.findById(customerId)
             .orElseThrow(() -> new ValidationException("Customer not found"));
@@ -158,7 +194,7 @@ public class CustomerRemainingPaymentAmountService {
     }
     
     private void logPaymentAmountUpdate(Customer customer, BigDecimal amountChange, Boolean isPurchase, Boolean isSale) {
-        log.info("Customer {} remaining payment amount updated. Change: {}, Purchase: {}, Sale: {}, Remaining Payment Amount: {}",
+        log.info(LogMarkers.PER_ITEM, "Customer {} remaining payment amount updated. Change: {}, Purchase: {}, Sale: {}, Remaining Payment Amount: {}",
             customer.getId(), amountChange, isPurchase, isSale, customer.getRemainingPaymentAmount());
     }
 }
@@ -1,9 +1,11 @@
 package com.inventory.service;
 
+import com.inventory.dao.ExportQuery;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.CustomerDto;
 import com.inventory.entity.Customer;
 import com.inventory.entity.UserMaster;
+import com.inventory.enums.LookupType;
 import com.inventory.exception.ValidationException;
 import com.inventory.repository.CustomerRepository;
 import com.inventory.dao.CustomerDao;
@@ -22,6 +24,7 @@ public class CustomerService {
     private final CustomerRepository customerRepository;
     private final CustomerDao customerDao;
     private final UtilityService utilityService;
+    private final LookupCacheService lookupCacheService;
 
     @Transactional
     public ApiResponse<?> create(CustomerDto dto) {
@@ -38,6 +41,7 @@ public class CustomerService {
             customer.setCreatedBy(utilityService.getCurrentLoggedInUser());
             customer.setClient(utilityService.getCurrentLoggedInUser().getClient());
             customer = customerRepository.save(customer);
+            lookupCacheService.invalidate(LookupType.CUSTOMER, customer.getClient().getId());
             return ApiResponse.success("Customer created successfully", mapEntityToDto(customer));
         } catch (ValidationException e) {
             e.getMessage();
@@ -71,6 +75,7 @@ public class CustomerService {
             customer.setUpdatedAt(OffsetDateTime.now());
             
             customer = customerRepository.save(customer);
+            lookupCacheService.invalidate(LookupType.CUSTOMER, customer.getClient().getId());
             return ApiResponse.success("Customer updated successfully", mapEntityToDto(customer));
         } catch (ValidationException e) {
             throw e;
@@ -88,6 +93,7 @@ public class CustomerService {
                 throw new ValidationException("You are not authorized to delete this customer");
             }
             customerRepository.delete(customer);
+            lookupCacheService.invalidate(LookupType.CUSTOMER, customer.getClient().getId());
             return ApiResponse.success("Customer deleted successfully");
         } catch (ValidationException e) {
             throw e;
@@ -96,6 +102,12 @@ public class CustomerService {
         }
     }
 
+    public ExportQuery getCustomerExportQuery(CustomerDto dto) {
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        dto.setClientId(currentUser.getClient().getId());
+        return customerDao.buildCustomerExportQuery(dto);
+    }
+
     public ApiResponse<Map<String, Object>> searchCustomers(CustomerDto dto) {
         try {
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
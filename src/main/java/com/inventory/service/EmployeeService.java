@@ -8,6 +8,7 @@ import com.inventory.entity.UserMaster;
 import com.inventory.exception.ValidationException;
 import com.inventory.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -22,6 +23,7 @@ import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final EmployeeDao employeeDao;
@@ -48,10 +50,9 @@ public class EmployeeService {
             employee = employeeRepository.save(employee);
             return ApiResponse.success("Employee created successfully");
         } catch (ValidationException e) {
-            e.printStackTrace();
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to create employee", e);
             throw new ValidationException("Failed to create employee: " + e.getMessage());
         }
     }
@@ -10,6 +10,7 @@ import com.inventory.exception.ValidationException;
 import com.inventory.repository.EmployeeRepository;
 import com.inventory.repository.EmployeeWithdrawRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,6 +21,7 @@ import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class EmployeeWithdrawService {
     private final EmployeeWithdrawRepository employeeWithdrawRepository;
     private final EmployeeRepository employeeRepository;
@@ -48,10 +50,9 @@ public class EmployeeWithdrawService {
             employeeWithdrawRepository.save(entity);
             return ApiResponse.success("Employee withdraw created successfully");
         } catch (ValidationException e) {
-            e.printStackTrace();
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to create withdraw", e);
             throw new ValidationException("Failed to create withdraw: " + e.getMessage());
         }
     }
@@ -144,7 +145,7 @@ public class EmployeeWithdrawService {
             Page<Map<String, Object>> page = employeeWithdrawDao.search(dto);
             return ApiResponse.success("Withdraws fetched successfully", page);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to search withdraws", e);
             throw new ValidationException("Failed to search withdraws: " + e.getMessage());
         }
     }
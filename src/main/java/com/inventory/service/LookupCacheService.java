@@ -0,0 +1,160 @@
+package com.inventory.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.config.ReplicaRoutingDataSource;
+import com.inventory.dao.LookupVersionDao;
+import com.inventory.enums.LookupType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Per-client cache for the dropdown/lookup lists (products, customers, categories, brands,
+ * transport masters, machines).
+ * <p>
+ * Every (list, client) pair has a version in the {@code lookup_version} table that the owning
+ * service bumps in the transaction of a create, update or delete. The version is part of both
+ * the cache key and the ETag, so a write makes old entries unreachable and old ETags stale at
+ * once, on every instance. A request whose {@code If-None-Match} carries the current ETag gets a
+ * 304 without loading the list or serializing a body. Typeahead requests (with search text) are
+ * not stored, but still get an ETag.
+ * <p>
+ * Versions are read through a short local cache ({@link #VERSION_TTL}); the writing instance
+ * drops its entry on commit, other instances see the change within that TTL.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LookupCacheService {
+    private static final int MAX_ENTRIES = 5_000;
+    private static final Duration TTL = Duration.ofMinutes(30);
+    private static final Duration VERSION_TTL = Duration.ofSeconds(2);
+
+    private final UtilityService utilityService;
+    private final LookupVersionDao lookupVersionDao;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<String, Long> versions = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(VERSION_TTL)
+            .build();
+    private final Cache<String, Object> responses = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .build();
+
+    /**
+     * Answers a lookup request: 304 when {@code ifNoneMatch} already holds the current ETag,
+     * otherwise the cached or freshly loaded body with the ETag attached.
+     *
+     * @param search  typeahead text of the request, if any; such responses are not stored
+     * @param filters the remaining request filters that change the list contents
+     */
+    public ResponseEntity<?> respond(LookupType type, String ifNoneMatch, Supplier<?> loader,
+                                     String search, Object... filters) {
+        Long clientId = utilityService.getCurrentLoggedInUser().getClient().getId();
+        String filterKey = Arrays.stream(filters).map(String::valueOf).collect(Collectors.joining("|"))
+                + "|" + Objects.toString(search, "");
+        long version = version(type, clientId);
+        String key = type + ":" + clientId + ":" + version + ":" + filterKey;
+        String etag = "\"" + Long.toHexString(version) + "-" + Integer.toHexString(key.hashCode()) + "\"";
+
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        // Stored lists are loaded from the primary, so an entry filled right after a write is not stale
+        Object body = StringUtils.hasText(search)
+                ? loader.get()
+                : responses.get(key, k -> ReplicaRoutingDataSource.onPrimary(loader));
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+
+    /**
+     * Bumps the version of a client's list in the current transaction (in a new one when there
+     * is none), so the change and the new version commit together. The local copy of the
+     * version is dropped after commit.
+     */
+    public void invalidate(LookupType type, Long clientId) {
+        String versionKey = versionKey(type, clientId);
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            lookupVersionDao.bump(type, clientId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(versionKey);
+                }
+            });
+        } else {
+            transactionTemplate.executeWithoutResult(status -> lookupVersionDao.bump(type, clientId));
+            versions.invalidate(versionKey);
+        }
+    }
+
+    /**
+     * Bumps the version once the current transaction has committed, in a transaction of its own.
+     * For data written on every sale or purchase, where bumping inside the business transaction
+     * would queue all of a client's writers on its {@code lookup_version} row. Between the
+     * commit and the bump readers can still get the old entry.
+     */
+    public void invalidateAfterCommit(LookupType type, Long clientId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(type, clientId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+                    requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                    requiresNew.executeWithoutResult(status -> lookupVersionDao.bump(type, clientId));
+                } catch (RuntimeException e) {
+                    // The write itself has committed; don't fail the request over a cache version
+                    log.error("Failed to bump {} version for client {}", type, clientId, e);
+                }
+                versions.invalidate(versionKey(type, clientId));
+            }
+        });
+    }
+
+    /**
+     * Current version of a client's list, read through the local version cache.
+     */
+    public long version(LookupType type, Long clientId) {
+        return versions.get(versionKey(type, clientId), k -> lookupVersionDao.current(type, clientId));
+    }
+
+    private static String versionKey(LookupType type, Long clientId) {
+        return type + ":" + clientId;
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,6 +5,7 @@ import com.inventory.dto.ApiResponse;
 import com.inventory.dto.MachineDto;
 import com.inventory.entity.MachineMaster;
 import com.inventory.entity.UserMaster;
+import com.inventory.enums.LookupType;
 import com.inventory.exception.ValidationException;
 import com.inventory.repository.MachineMasterRepository;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ public class MachineMasterService {
     private final MachineMasterRepository machineMasterRepository;
     private final MachineMasterDao machineMasterDao;
     private final UtilityService utilityService;
+    private final LookupCacheService lookupCacheService;
 
     @Transactional(rollbackFor = Exception.class)
     public ApiResponse<?> create(MachineDto dto) {
@@ -41,6 +43,7 @@ public class MachineMasterService {
             m.setCreatedBy(currentUser);
             m.setClient(currentUser.getClient());
             machineMasterRepository.save(m);
+            lookupCacheService.invalidate(LookupType.MACHINE, m.getClient().getId());
             return ApiResponse.success("Machine created successfully");
         } catch (ValidationException e) {
             throw e;
@@ -72,6 +75,7 @@ public class MachineMasterService {
             m.setUpdatedAt(OffsetDateTime.now());
             m.setUpdatedBy(currentUser);
             machineMasterRepository.save(m);
+            lookupCacheService.invalidate(LookupType.MACHINE, m.getClient().getId());
             return ApiResponse.success("Machine updated successfully");
         } catch (ValidationException e) {
             throw e;
@@ -90,6 +94,7 @@ public class MachineMasterService {
                 throw new ValidationException("Unauthorized", HttpStatus.FORBIDDEN);
             }
             machineMasterRepository.delete(m);
+            lookupCacheService.invalidate(LookupType.MACHINE, m.getClient().getId());
             return ApiResponse.success("Machine deleted successfully");
         } catch (ValidationException e) {
             throw e;
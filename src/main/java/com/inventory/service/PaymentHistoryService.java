@@ -1,5 +1,6 @@
 package com.inventory.service;
 
+import com.inventory.dao.ExportQuery;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.PaymentHistoryDto;
 import com.inventory.entity.Customer;
@@ -157,6 +158,12 @@ public class PaymentHistoryService {
         }
     }
 
+    public ExportQuery getPaymentHistoryExportQuery(PaymentHistoryDto dto) {
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        dto.setClientId(currentUser.getClient().getId());
+        return paymentHistoryDao.buildPaymentHistoryExportQuery(dto);
+    }
+
     public ApiResponse<Map<String, Object>> searchPaymentHistories(PaymentHistoryDto dto) {
         try {
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
@@ -7,21 +7,31 @@ import com.inventory.entity.UserMaster;
 import com.inventory.exception.ValidationException;
 import com.inventory.repository.CustomerRepository;
 import com.inventory.repository.PowderCoatingProcessRepository;
-import com.itextpdf.text.*;
-import com.itextpdf.text.pdf.PdfPCell;
-import com.itextpdf.text.pdf.PdfPTable;
-import com.itextpdf.text.pdf.PdfWriter;
+import com.inventory.util.PdfRenderer;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.HorizontalAlignment;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Stream;
 import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
+@Lazy
 @RequiredArgsConstructor
+@Slf4j
 public class PdfGenerationService {
     private final PowderCoatingProcessRepository processRepository;
     private final CustomerRepository customerRepository;
@@ -39,97 +49,72 @@ public class PdfGenerationService {
 
             List<PowderCoatingProcess> processes = processRepository.findAllById(dto.getProcessIds());
             
-            Document document = new Document(PageSize.A4);
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            PdfWriter writer = PdfWriter.getInstance(document, out);
-            
-            document.open();
-            addHeader(document, "J.K INDUSTRIES ESTIMATE");
-            addCustomerDetails(document, customer);
-            addProcessTable(document, processes);
-            addTotal(document, processes);
-            document.close();
-            
-            return out.toByteArray();
+            return PdfRenderer.render("powder_coating_estimate", PageSize.A4, 36, (pdf, document) -> {
+                document.setFont(PdfFontFactory.createFont(StandardFonts.TIMES_ROMAN));
+                addHeader(document, "J.K INDUSTRIES ESTIMATE");
+                addCustomerDetails(document, customer);
+                addProcessTable(document, processes);
+                addTotal(document, processes);
+            });
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to generate PDF", e);
             throw new ValidationException("Failed to generate PDF: " + e.getMessage());
         }
     }
 
-    private void addHeader(Document document, String title) throws DocumentException {
-        Font titleFont = new Font(Font.FontFamily.TIMES_ROMAN, 18, Font.BOLD);
-        Font normalFont = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.NORMAL);
-        
+    private void addHeader(Document document, String title) {
         // Add title
-        Paragraph header = new Paragraph(title, titleFont);
-        header.setAlignment(Element.ALIGN_CENTER);
-        document.add(header);
-        document.add(Chunk.NEWLINE);
+        document.add(new Paragraph(title)
+            .setFontSize(18)
+            .setBold()
+            .setTextAlignment(TextAlignment.CENTER));
+        document.add(new Paragraph("\n"));
         
         // Add date
-        Paragraph date = new Paragraph("Date: " + 
-            java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy")), 
-            normalFont);
-        date.setAlignment(Element.ALIGN_RIGHT);
-        document.add(date);
-        document.add(Chunk.NEWLINE);
+        document.add(new Paragraph("Date: " + 
+            java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy")))
+            .setFontSize(12)
+            .setTextAlignment(TextAlignment.RIGHT));
+        document.add(new Paragraph("\n"));
     }
 
-    private void addCustomerDetails(Document document, Customer customer) throws DocumentException {
-        Font boldFont = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.BOLD);
-        Font normalFont = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.NORMAL);
-
+    private void addCustomerDetails(Document document, Customer customer) {
         // Customer basic details
-        document.add(new Paragraph("To,", normalFont));
-        document.add(new Paragraph(customer.getName(), boldFont));
+        document.add(new Paragraph("To,").setFontSize(12));
+        document.add(new Paragraph(customer.getName()).setFontSize(12).setBold());
         
         // Address
         if (customer.getAddress() != null) {
-            document.add(new Paragraph(customer.getAddress(), normalFont));
+            document.add(new Paragraph(customer.getAddress()).setFontSize(12));
         }
         
         // GST Number
         if (customer.getGst() != null) {
-            document.add(new Paragraph("GST No: " + customer.getGst(), normalFont));
+            document.add(new Paragraph("GST No: " + customer.getGst()).setFontSize(12));
         }
         
         // Mobile
         if (customer.getMobile() != null) {
-            document.add(new Paragraph("Mobile: " + customer.getMobile(), normalFont));
+            document.add(new Paragraph("Mobile: " + customer.getMobile()).setFontSize(12));
         }
         
-        document.add(Chunk.NEWLINE);
+        document.add(new Paragraph("\n"));
     }
 
-    private void addProcessTable(Document document, List<PowderCoatingProcess> processes) throws DocumentException {
-        PdfPTable table = new PdfPTable(7);
-        table.setWidthPercentage(100);
+    private void addProcessTable(Document document, List<PowderCoatingProcess> processes) {
+        Table table = new Table(UnitValue.createPercentArray(new float[]{5f, 35f, 12f, 12f, 12f, 12f, 12f}))
+            .useAllAvailableWidth();
         
-        float[] columnWidths = new float[]{5f, 35f, 12f, 12f, 12f, 12f, 12f};
-        table.setWidths(columnWidths);
-        
-        Stream.of("No.", "Particulars", "Total Quantity", "Total Bags", "Unit Price", "Total Amount", "Remarks")
-            .forEach(header -> {
-                PdfPCell cell = new PdfPCell(new Phrase(header, new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.BOLD)));
-                cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                cell.setPadding(5);
-                cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
-                table.addCell(cell);
-            });
+        PdfRenderer.addHeaderCells(table, ColorConstants.LIGHT_GRAY, ColorConstants.BLACK, 12, 5,
+            "No.", "Particulars", "Total Quantity", "Total Bags", "Unit Price", "Total Amount", "Remarks");
         
         AtomicInteger rowNum = new AtomicInteger(1);
         AtomicInteger totalQuantity = new AtomicInteger(0);
         AtomicInteger totalBagsSum = new AtomicInteger(0);
         
         processes.forEach(process -> {
-            PdfPCell noCell = new PdfPCell(new Phrase(String.valueOf(rowNum.getAndIncrement())));
-            noCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-            table.addCell(noCell);
-            
-            PdfPCell particularCell = new PdfPCell(new Phrase(process.getProduct() != null ? process.getProduct().getName() : "N/A"));
-            particularCell.setHorizontalAlignment(Element.ALIGN_LEFT);
-            table.addCell(particularCell);
+            table.addCell(PdfRenderer.textCell(String.valueOf(rowNum.getAndIncrement()), 12, TextAlignment.CENTER));
+            table.addCell(PdfRenderer.textCell(process.getProduct() != null ? process.getProduct().getName() : "N/A", 12, TextAlignment.LEFT));
             
             int quantity = process.getQuantity() != null ? process.getQuantity() : 0;
             int totalBags = process.getTotalBags() != null ? process.getTotalBags() : 0;
@@ -137,73 +122,47 @@ public class PdfGenerationService {
             totalQuantity.addAndGet(quantity);
             totalBagsSum.addAndGet(totalBags);
             
-            PdfPCell quantityCell = new PdfPCell(new Phrase(String.valueOf(quantity)));
-            quantityCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-            table.addCell(quantityCell);
-            
-            PdfPCell bagsCell = new PdfPCell(new Phrase(String.valueOf(totalBags)));
-            bagsCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-            table.addCell(bagsCell);
-            
-            PdfPCell priceCell = new PdfPCell(new Phrase(process.getUnitPrice() != null ? process.getUnitPrice().toString() : "0.00"));
-            priceCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-            table.addCell(priceCell);
-            
-            PdfPCell amountCell = new PdfPCell(new Phrase(process.getTotalAmount() != null ? process.getTotalAmount().toString() : "0.00"));
-            amountCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-            table.addCell(amountCell);
-            
-            PdfPCell remarksCell = new PdfPCell(new Phrase(process.getRemarks() != null ? process.getRemarks() : ""));
-            remarksCell.setHorizontalAlignment(Element.ALIGN_LEFT);
-            table.addCell(remarksCell);
+            table.addCell(PdfRenderer.textCell(String.valueOf(quantity), 12, TextAlignment.RIGHT));
+            table.addCell(PdfRenderer.textCell(String.valueOf(totalBags), 12, TextAlignment.RIGHT));
+            table.addCell(PdfRenderer.textCell(process.getUnitPrice() != null ? process.getUnitPrice().toString() : "0.00", 12, TextAlignment.RIGHT));
+            table.addCell(PdfRenderer.textCell(process.getTotalAmount() != null ? process.getTotalAmount().toString() : "0.00", 12, TextAlignment.RIGHT));
+            table.addCell(PdfRenderer.textCell(process.getRemarks(), 12, TextAlignment.LEFT));
         });
         
-        Font boldFont = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.BOLD);
-        table.addCell("");
-        
-        PdfPCell totalLabelCell = new PdfPCell(new Phrase("Total", boldFont));
-        totalLabelCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-        table.addCell(totalLabelCell);
-        
-        PdfPCell totalQuantityCell = new PdfPCell(new Phrase(String.valueOf(totalQuantity.get()), boldFont));
-        totalQuantityCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-        table.addCell(totalQuantityCell);
-        
-        PdfPCell totalBagsCell = new PdfPCell(new Phrase(String.valueOf(totalBagsSum.get()), boldFont));
-        totalBagsCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-        table.addCell(totalBagsCell);
-        
-        table.addCell("");
-        table.addCell("");
-        table.addCell("");
+        table.addCell(new Cell());
+        table.addCell(PdfRenderer.textCell("Total", 12, TextAlignment.CENTER).setBold());
+        table.addCell(PdfRenderer.textCell(String.valueOf(totalQuantity.get()), 12, TextAlignment.RIGHT).setBold());
+        table.addCell(PdfRenderer.textCell(String.valueOf(totalBagsSum.get()), 12, TextAlignment.RIGHT).setBold());
+        table.addCell(new Cell());
+        table.addCell(new Cell());
+        table.addCell(new Cell());
         
         document.add(table);
     }
 
-    private void addTotal(Document document, List<PowderCoatingProcess> processes) throws DocumentException {
-        Font boldFont = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.BOLD);
-        
+    private void addTotal(Document document, List<PowderCoatingProcess> processes) {
         BigDecimal total = processes.stream()
             .map(process -> process.getTotalAmount() != null ? process.getTotalAmount() : BigDecimal.ZERO)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
         
-        document.add(Chunk.NEWLINE);
+        document.add(new Paragraph("\n"));
         
         // Add summary
-        PdfPTable summaryTable = new PdfPTable(2);
-        summaryTable.setWidthPercentage(50);
-        summaryTable.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        Table summaryTable = new Table(2)
+            .setWidth(UnitValue.createPercentValue(50))
+            .setHorizontalAlignment(HorizontalAlignment.RIGHT);
         
-        summaryTable.addCell(new PdfPCell(new Phrase("Grand Total:", boldFont)));
-        summaryTable.addCell(new PdfPCell(new Phrase(total.toString(), boldFont)));
+        summaryTable.addCell(PdfRenderer.textCell("Grand Total:", 12, TextAlignment.LEFT).setBold());
+        summaryTable.addCell(PdfRenderer.textCell(total.toString(), 12, TextAlignment.LEFT).setBold());
         
         document.add(summaryTable);
-        document.add(Chunk.NEWLINE);
-        document.add(Chunk.NEWLINE);
+        document.add(new Paragraph("\n"));
+        document.add(new Paragraph("\n"));
         
         // Add signature line
-        Paragraph signature = new Paragraph("Authorized Signatory", boldFont);
-        signature.setAlignment(Element.ALIGN_RIGHT);
-        document.add(signature);
+        document.add(new Paragraph("Authorized Signatory")
+            .setFontSize(12)
+            .setBold()
+            .setTextAlignment(TextAlignment.RIGHT));
     }
 } 
\ No newline at end of file
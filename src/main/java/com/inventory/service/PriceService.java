@@ -1,41 +1,161 @@
 package com.inventory.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.config.ReplicaRoutingDataSource;
 import com.inventory.dao.PriceDao;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.LastPriceRequestDto;
+import com.inventory.enums.LookupType;
 import com.inventory.exception.ValidationException;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Last sale/purchase prices per customer and product, served from the {@code last_price}
+ * table through a bounded in-memory LRU. Entries are keyed by the client's
+ * {@link LookupType#LAST_PRICE} version. Sale and purchase writes call the refresh methods,
+ * which upsert the table and bump that version once the transaction commits, so every instance
+ * stops using the old entries within the version cache TTL of {@link LookupCacheService}.
+ * Changes to a product's own sale/purchase amount (the fallback) show up after the TTL.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class PriceService {
+    private static final int MAX_ENTRIES = 50_000;
+    private static final Duration TTL = Duration.ofMinutes(10);
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final PriceDao priceDao;
-    
+    private final UtilityService utilityService;
+    private final LookupCacheService lookupCacheService;
+
+    private final Cache<String, Map<String, Object>> prices = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(TTL)
+            .build();
+
+    @Transactional(readOnly = true)
     public ApiResponse<?> getLastPrices(LastPriceRequestDto request) {
         try {
+            // Misses are cached, so they must not be read from a lagging replica
+            ReplicaRoutingDataSource.requirePrimary();
+            validateRequest(request);
+            if (request.getProductId() == null) {
+                throw new ValidationException("Product ID is required");
+            }
+            Long clientId = utilityService.getCurrentLoggedInUser().getClient().getId();
+            Map<String, Object> result = lookup(clientId, request.getCustomerId(), List.of(request.getProductId()))
+                    .getOrDefault(request.getProductId(), PriceDao.emptyPrices());
+            return ApiResponse.success("Last prices retrieved successfully", result);
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to get last prices", e);
+            throw new ValidationException("Failed to get last prices: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Last prices for a whole grid of products in one call; products without a row for this
+     * client are returned with zero prices so the response lines up with the request.
+     */
+    @Transactional(readOnly = true)
+    public ApiResponse<?> getLastPricesBatch(LastPriceRequestDto request) {
+        try {
+            // Misses are cached, so they must not be read from a lagging replica
+            ReplicaRoutingDataSource.requirePrimary();
             validateRequest(request);
-            Map<String, Object> result = priceDao.getLastPrices(request.getProductId(), request.getCustomerId());
+            if (request.getProductIds() == null || request.getProductIds().isEmpty()) {
+                throw new ValidationException("Product IDs are required");
+            }
+            Set<Long> productIds = new LinkedHashSet<>(request.getProductIds());
+            productIds.remove(null);
+            if (productIds.size() > MAX_BATCH_SIZE) {
+                throw new ValidationException("At most " + MAX_BATCH_SIZE + " products can be requested at once");
+            }
+            Long clientId = utilityService.getCurrentLoggedInUser().getClient().getId();
+            Map<Long, Map<String, Object>> found = lookup(clientId, request.getCustomerId(), productIds);
+
+            List<Map<String, Object>> result = new ArrayList<>();
+            for (Long productId : productIds) {
+                Map<String, Object> row = new HashMap<>(found.getOrDefault(productId, PriceDao.emptyPrices()));
+                row.put("productId", productId);
+                result.add(row);
+            }
             return ApiResponse.success("Last prices retrieved successfully", result);
+        } catch (ValidationException e) {
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to get last prices", e);
             throw new ValidationException("Failed to get last prices: " + e.getMessage());
         }
     }
-    
+
+    @Transactional
+    public void refreshSalePrices(Long clientId, Long customerId, Collection<Long> productIds) {
+        priceDao.refreshSalePrices(clientId, customerId, productIds);
+        invalidateAfterCommit(clientId, customerId, productIds);
+    }
+
+    @Transactional
+    public void refreshPurchasePrices(Long clientId, Long customerId, Collection<Long> productIds) {
+        priceDao.refreshPurchasePrices(clientId, customerId, productIds);
+        invalidateAfterCommit(clientId, customerId, productIds);
+    }
+
+    private Map<Long, Map<String, Object>> lookup(Long clientId, Long customerId, Collection<Long> productIds) {
+        long version = lookupCacheService.version(LookupType.LAST_PRICE, clientId);
+        Map<Long, Map<String, Object>> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            Map<String, Object> cached = prices.getIfPresent(key(clientId, version, customerId, productId));
+            if (cached != null) {
+                result.put(productId, cached);
+            } else {
+                missing.add(productId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            priceDao.findLastPrices(clientId, customerId, missing).forEach((productId, row) -> {
+                prices.put(key(clientId, version, customerId, productId), row);
+                result.put(productId, row);
+            });
+        }
+        return result;
+    }
+
+    private void invalidateAfterCommit(Long clientId, Long customerId, Collection<Long> productIds) {
+        if (customerId == null || productIds == null || productIds.isEmpty()) {
+            return;
+        }
+        lookupCacheService.invalidateAfterCommit(LookupType.LAST_PRICE, clientId);
+    }
+
+    private static String key(Long clientId, long version, Long customerId, Long productId) {
+        return clientId + ":" + version + ":" + customerId + ":" + productId;
+    }
+
     private void validateRequest(LastPriceRequestDto request) {
         if (request == null) {
             throw new ValidationException("Request cannot be null");
         }
-        if (request.getProductId() == null) {
-            throw new ValidationException("Product ID is required");
-        }
         if (request.getCustomerId() == null) {
             throw new ValidationException("Please select Customer first");
         }
     }
-} 
\ No newline at end of file
+}
@@ -2,32 +2,52 @@ package com.inventory.service;
 
 import com.inventory.entity.Product;
 import com.inventory.exception.ValidationException;
+import com.inventory.metrics.BusinessMetrics;
+import com.inventory.metrics.LockDiagnostics;
+import com.inventory.metrics.SqlStatementCounter;
+import com.inventory.metrics.StockUpdateEvent;
 import com.inventory.repository.ProductRepository;
+import com.inventory.security.TenantContext;
+import com.inventory.util.LogMarkers;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductQuantityService {
     private final ProductRepository productRepository;
-    private final ConcurrentHashMap<Long, Lock> productLocks = new ConcurrentHashMap<>();
+    private final BusinessMetrics businessMetrics;
+    private final LockDiagnostics lockDiagnostics;
+    private final BalanceOutboxService balanceOutboxService;
     
     private Lock getProductLock(Long productId) {
-        return productLocks.computeIfAbsent(productId, k -> new ReentrantLock());
+        return lockDiagnostics.lockFor("product", productId);
     }
     
     @Transactional
     public void updateProductQuantity(Long productId, BigDecimal quantityChange, Boolean isPurchase, Boolean isSale, Boolean isBlock) {
+        StockUpdateEvent event = new StockUpdateEvent();
+        int sqlAtStart = SqlStatementCounter.current();
+        event.begin();
+        if (balanceOutboxService.isEnabled()) {
+            try {
+                enqueueQuantityChange(productId, quantityChange, isPurchase, isSale, isBlock);
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    commitEvent(event, productId, quantityChange, isPurchase, isSale, isBlock, sqlAtStart, 0);
+                }
+            }
+            return;
+        }
         Lock lock = getProductLock(productId);
-        lock.lock();
+        BusinessMetrics.LockHold hold = businessMetrics.lock(lock, "product");
         try {
             Product product = getAndValidateProduct(productId);
             
@@ -46,8 +66,61 @@ public class ProductQuantityService {
             log.error("Error updating product quantity: {}", e.getMessage(), e);
             throw e;
         } finally {
-            lock.unlock();
+            businessMetrics.unlock(lock, hold);
+            event.end();
+            if (event.shouldCommit()) {
+                commitEvent(event, productId, quantityChange, isPurchase, isSale, isBlock, sqlAtStart, hold.waitNanos());
+            }
+        }
+    }
+
+    /**
+     * Outbox mode: records the signed change for {@link BalanceOutboxDispatcher} instead of
+     * locking and rewriting the product row in this transaction.
+     */
+    private void enqueueQuantityChange(Long productId, BigDecimal quantityChange, Boolean isPurchase, Boolean isSale, Boolean isBlock) {
+        Product product = productRepository.findById(productId)
+            .orElseThrow(() -> new ValidationException("Product not found"));
+
+        BigDecimal delta;
+        if (Boolean.TRUE.equals(isPurchase)) {
+            delta = quantityChange;
+        } else if (Boolean.TRUE.equals(isSale)) {
+            delta = quantityChange.negate();
+        } else if (isBlock != null) {
+            delta = isBlock ? quantityChange.negate() : quantityChange;
+        } else {
+            return;
+        }
+        Long clientId = product.getClient() != null ? product.getClient().getId() : TenantContext.getClientId();
+        balanceOutboxService.enqueueStock(clientId, productId, delta);
+        log.info(LogMarkers.PER_ITEM, "Product {} quantity change queued. Change: {}, Purchase: {}, Sale: {}, Block: {}",
+            productId, quantityChange, isPurchase, isSale, isBlock);
+    }
+
+    private static void commitEvent(StockUpdateEvent event, Long productId, BigDecimal quantityChange,
+                                    Boolean isPurchase, Boolean isSale, Boolean isBlock, int sqlAtStart, long lockWait) {
+        Long clientId = TenantContext.getClientId();
+        event.clientId = clientId != null ? clientId : 0L;
+        event.productId = productId;
+        event.operation = stockOperation(isPurchase, isSale, isBlock);
+        event.quantityChange = quantityChange != null ? quantityChange.doubleValue() : 0;
+        event.sqlStatements = SqlStatementCounter.current() - sqlAtStart;
+        event.lockWait = lockWait;
+        event.commit();
+    }
+
+    private static String stockOperation(Boolean isPurchase, Boolean isSale, Boolean isBlock) {
+        if (Boolean.TRUE.equals(isPurchase)) {
+            return "purchase";
+        }
+        if (Boolean.TRUE.equals(isSale)) {
+            return "sale";
+        }
+        if (isBlock != null) {
+            return isBlock ? "block" : "unblock";
         }
+        return "none";
     }
     
     private Product getAndValidateProduct(Long productId) {
@@ -113,7 +186,7 @@ public class ProductQuantityService {
     }
     
     private void logQuantityUpdate(Product product, BigDecimal quantityChange, Boolean isPurchase, Boolean isSale, Boolean isBlock) {
-        log.info("Product {} quantity updated. Change: {}, Purchase: {}, Sale: {}, Block: {}, Remaining: {}",
+        log.info(LogMarkers.PER_ITEM, "Product {} quantity updated. Change: {}, Purchase: {}, Sale: {}, Block: {}, Remaining: {}",
             product.getId(), quantityChange, isPurchase, isSale, isBlock, 
             product.getRemainingQuantity());
     }
@@ -127,7 +200,7 @@ public class ProductQuantityService {
         BigDecimal totalRemainingQuantity
     ) {
         Lock lock = getProductLock(productId);
-        lock.lock();
+        BusinessMetrics.LockHold hold = businessMetrics.lock(lock, "product");
         try {
             Product product = getAndValidateProduct(productId);
             
@@ -175,7 +248,7 @@ public class ProductQuantityService {
             log.error("Error setting product quantities: {}", e.getMessage(), e);
             throw e;
         } finally {
-            lock.unlock();
+            businessMetrics.unlock(lock, hold);
         }
     }*/
     
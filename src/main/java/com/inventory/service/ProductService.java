@@ -4,9 +4,11 @@ import com.inventory.dto.ApiResponse;
 import com.inventory.dto.ProductDto;
 import com.inventory.entity.Product;
 import com.inventory.entity.UserMaster;
+import com.inventory.enums.LookupType;
 import com.inventory.exception.ValidationException;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.CategoryRepository;
+import com.inventory.dao.BalanceOutboxDao;
 import com.inventory.dao.ProductDao;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -27,7 +29,10 @@ public class ProductService {
     private final CategoryRepository categoryRepository;
     private final ProductDao productDao;
     private final UtilityService utilityService;
+    private final LookupCacheService lookupCacheService;
     private final ProductQuantityService productQuantityService;
+    private final TenantBootstrapService tenantBootstrapService;
+    private final BalanceOutboxDao balanceOutboxDao;
     private static final Logger log = LoggerFactory.getLogger(ProductService.class);
 
     @Transactional(rollbackFor = Exception.class)
@@ -58,6 +63,7 @@ public class ProductService {
             product.setCreatedBy(currentUser);
 
             productRepository.save(product);
+            lookupCacheService.invalidate(LookupType.PRODUCT, product.getClient().getId());
             return ApiResponse.success("Product created successfully");
         } catch (ValidationException e) {
             throw e;
@@ -69,19 +75,22 @@ public class ProductService {
     public ApiResponse<Map<String, Object>> getRemainingQuantitiesForDefaultCodes() {
         try {
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
-            List<String> codes = Arrays.asList("RESIGN", "CPW");
-            List<Product> products = productRepository.findByProductCodeInAndClient_Id(codes, currentUser.getClient().getId());
+            Map<String, Long> ids = tenantBootstrapService.getProductIds(currentUser.getClient().getId());
 
             Map<String, Object> result = new HashMap<>();
-            for (String code : codes) {
+            for (String code : TenantBootstrapService.SYSTEM_PRODUCT_CODES) {
                 result.put(code, 0);
             }
-            for (Product p : products) {
-                result.put(p.getProductCode(), p.getRemainingQuantity());
-            }
+            // Includes stock changes still queued in the balance outbox
+            Map<Long, BigDecimal> stock = balanceOutboxDao.findStock(ids.values());
+            ids.forEach((code, productId) -> {
+                if (stock.containsKey(productId)) {
+                    result.put(code, stock.get(productId));
+                }
+            });
             return ApiResponse.success("Remaining quantities fetched", result);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to fetch remaining quantities", e);
             throw new ValidationException("Failed to fetch remaining quantities");
         }
     }
@@ -123,12 +132,12 @@ public class ProductService {
 //            dto.setTotalRemainingQuantity(product.getRemainingQuantity().subtract(product.getBlockedQuantity()));
 
             productRepository.save(product);
+            lookupCacheService.invalidate(LookupType.PRODUCT, product.getClient().getId());
             return ApiResponse.success("Product updated successfully");
         } catch (ValidationException e) {
-            e.printStackTrace();
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to update product", e);
             throw new ValidationException("Failed to update product");
         }
     }
@@ -140,7 +149,7 @@ public class ProductService {
             List<Map<String, Object>> products = productDao.getProducts(productDto);
             return ApiResponse.success("Products retrieved successfully", products);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to retrieve products", e);
             throw new ValidationException("Failed to retrieve products");
         }
     }
@@ -152,7 +161,7 @@ public class ProductService {
             Map<String, Object> result = productDao.searchProducts(productDto);
             return ApiResponse.success("Products retrieved successfully", result);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to retrieve products", e);
             throw new ValidationException("Failed to retrieve products");
         }
     }
@@ -168,9 +177,12 @@ public class ProductService {
             }
             try {
                 productRepository.delete(product);
+                lookupCacheService.invalidate(LookupType.PRODUCT, product.getClient().getId());
+                if (TenantBootstrapService.SYSTEM_PRODUCT_CODES.contains(product.getProductCode())) {
+                    tenantBootstrapService.forget(product.getClient().getId());
+                }
                 return ApiResponse.success("Product deleted successfully");
             } catch (DataIntegrityViolationException e) {
-                e.printStackTrace();
                 throw new ValidationException("Cannot delete product. There are purchase, sale, or quotation records associated with this product.", HttpStatus.UNPROCESSABLE_ENTITY);
             }
         } catch (ValidationException e) {
@@ -230,7 +242,7 @@ public class ProductService {
 
             return productPdfService.generateProductListPdf(products);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to export products to PDF", e);
             throw new ValidationException("Failed to export products to PDF: " + e.getMessage());
         }
     }*/
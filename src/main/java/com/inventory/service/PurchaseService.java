@@ -1,10 +1,12 @@
 package com.inventory.service;
 
+import com.inventory.dao.ExportQuery;
 import com.inventory.dao.PurchaseDao;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.PurchaseDto;
 import com.inventory.dto.PurchaseItemDto;
 import com.inventory.dto.PurchaseRequestDto;
+import com.inventory.dto.projection.PurchaseSearchRow;
 import com.inventory.entity.Customer;
 import com.inventory.entity.Product;
 import com.inventory.entity.Purchase;
@@ -27,6 +29,8 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -41,6 +45,7 @@ public class PurchaseService {
     private final PurchaseDao purchaseDao;
     private final PurchaseItemRepository purchaseItemRepository;
     private final CustomerRemainingPaymentAmountService customerRemainingPaymentAmountService;
+    private final PriceService priceService;
 
     @Transactional(rollbackFor = Exception.class)
     public ApiResponse<?> createPurchase(PurchaseRequestDto request) {
@@ -90,6 +95,7 @@ public class PurchaseService {
                 true,  // isPurchase
                 false   // isSale
             );
+            priceService.refreshPurchasePrices(purchase.getClient().getId(), purchase.getCustomer().getId(), productIds(items));
             
             // Round the total amount
             totalAmount = totalAmount.setScale(0, RoundingMode.HALF_UP);
@@ -101,10 +107,9 @@ public class PurchaseService {
             
             return ApiResponse.success("Purchase created successfully");
         } catch(ValidationException ve) {
-            ve.printStackTrace();
             throw ve;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Purchase creation failed", e);
             throw new ValidationException("Purchase creation failed: " + e.getMessage());
         }
     }
@@ -145,14 +150,29 @@ public class PurchaseService {
     }
     
     @Transactional(readOnly = true)
-    public Page<Map<String, Object>> searchPurchases(PurchaseDto searchParams) {
+    public Map<String, Object> searchPurchasesByCursor(PurchaseDto searchParams) {
+        if (searchParams.getPerPageRecord() == null || searchParams.getPerPageRecord() <= 0) {
+            throw new ValidationException("Page size is required");
+        }
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        searchParams.setClientId(currentUser.getClient().getId());
+        return purchaseDao.searchPurchasesByCursor(searchParams);
+    }
+
+    public ExportQuery getPurchaseExportQuery(PurchaseDto searchParams) {
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        searchParams.setClientId(currentUser.getClient().getId());
+        return purchaseDao.buildPurchaseExportQuery(searchParams);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PurchaseSearchRow> searchPurchases(PurchaseDto searchParams) {
         try {
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
             searchParams.setClientId(currentUser.getClient().getId());
-            Page<Map<String, Object>> maps = purchaseDao.searchPurchases(searchParams);
-            return maps;
+            return purchaseDao.searchPurchases(searchParams);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Purchase retrieval failed", e);
             throw new ValidationException("Purchase retrieval failed: " + e.getMessage());
         }
     }
@@ -215,10 +235,10 @@ public class PurchaseService {
 
             purchaseItemRepository.deleteByPurchaseId(id);
             purchaseRepository.delete(purchase);
+            priceService.refreshPurchasePrices(purchase.getClient().getId(), purchase.getCustomer().getId(), productIds(items));
             
             return ApiResponse.success("Purchase deleted successfully");
         } catch (ValidationException ve) {
-            ve.printStackTrace();
             throw ve;
         } catch (Exception e) {
             log.error("Error deleting purchase: {}", e.getMessage(), e);
@@ -305,10 +325,30 @@ public class PurchaseService {
         
         // Handle customer payment amount changes
         handleCustomerPaymentAmountUpdate(originalCustomer, newCustomer, originalAmount, totalAmount);
+        refreshLastPurchasePrices(existingPurchase.getClient().getId(), originalCustomer, productIds(existingItems),
+                newCustomer, productIds(newItems));
         
         return ApiResponse.success("Purchase updated successfully");
     }
     
+    /**
+     * Recomputes last purchase prices for the products removed from the original supplier's
+     * purchase and the products now on the new supplier's purchase.
+     */
+    private void refreshLastPurchasePrices(Long clientId, Customer originalCustomer, Set<Long> originalProductIds,
+                                           Customer newCustomer, Set<Long> newProductIds) {
+        if (originalCustomer != null && !originalCustomer.getId().equals(newCustomer.getId())) {
+            priceService.refreshPurchasePrices(clientId, originalCustomer.getId(), originalProductIds);
+        } else {
+            newProductIds.addAll(originalProductIds);
+        }
+        priceService.refreshPurchasePrices(clientId, newCustomer.getId(), newProductIds);
+    }
+
+    private static Set<Long> productIds(List<PurchaseItem> items) {
+        return items.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet());
+    }
+
     private void handleCustomerPaymentAmountUpdate(Customer originalCustomer, Customer newCustomer, BigDecimal originalAmount, BigDecimal newAmount) {
         // If customer changed, adjust payment amounts
         if (!originalCustomer.getId().equals(newCustomer.getId())) {
@@ -1,6 +1,5 @@
 package com.inventory.service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.math.BigDecimal;
@@ -13,16 +12,17 @@ import java.util.stream.Stream;
 import com.itextpdf.io.image.ImageData;
 import com.itextpdf.io.image.ImageDataFactory;
 import com.itextpdf.layout.properties.AreaBreakType;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import com.inventory.exception.ValidationException;
+import com.inventory.util.PdfRenderer;
 import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.borders.SolidBorder;
@@ -40,6 +40,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Lazy
 @RequiredArgsConstructor
 @Slf4j
 public class QuotationPdfGenerationService {
@@ -61,29 +62,22 @@ public class QuotationPdfGenerationService {
     private static final BigDecimal MM_TO_METER = BigDecimal.valueOf(1000);
 
     public byte[] generateQuotationPdf(Map<String, Object> quotationData) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            return PdfRenderer.render("quotation", PageSize.A4, 36, (pdf, document) -> {
+                // Add content
+                addHeader(document, quotationData);
+                addPageFooter(pdf, document, 1);
 
-        try (PdfDocument pdf = new PdfDocument(new PdfWriter(outputStream))) {
-            Document document = new Document(pdf, PageSize.A4);
-            document.setMargins(36, 36, 36, 36);
+                addQuotationDetails(document, quotationData);
+                addItemsTable(document, (List<Map<String, Object>>) quotationData.get("items"), quotationData);
+                addPageFooter(pdf, document, 2);
 
-            // Add content
-            addHeader(document, quotationData);
-            addPageFooter(pdf, document, 1);
+                addBankDetailsAndTerms(document);
+                addPageFooter(pdf, document, 3);
 
-            addQuotationDetails(document, quotationData);
-            addItemsTable(document, (List<Map<String, Object>>) quotationData.get("items"), quotationData);
-            addPageFooter(pdf, document, 2);
-
-            addBankDetailsAndTerms(document);
-            addPageFooter(pdf, document, 3);
-
-            // Removed last decorative page as requested
-
-            document.close();
-            return outputStream.toByteArray();
+                // Removed last decorative page as requested
+            });
         } catch (Exception e) {
-            e.printStackTrace();
             log.error("Error generating PDF", e);
             throw new ValidationException("Failed to generate PDF: " + e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
         }
@@ -216,16 +210,7 @@ public class QuotationPdfGenerationService {
     }
     
     private void addDetailRow(Table table, String label, String value) {
-        Cell labelCell = new Cell()
-                .add(new Paragraph(label + ":").setBold().setFontSize(9).setFontColor(SECONDARY_COLOR))
-                .setBorder(Border.NO_BORDER);
-        
-        Cell valueCell = new Cell()
-                .add(new Paragraph(value).setFontSize(9).setFontColor(TEXT_DARK))
-                .setBorder(Border.NO_BORDER);
-        
-        table.addCell(labelCell);
-        table.addCell(valueCell);
+        PdfRenderer.addDetailPair(table, label + ":", value, SECONDARY_COLOR, 9, TEXT_DARK, 9);
     }
 
     private void addDetailPair(Table table, String label1, String value1, String label2, String value2, String label3, String value3,
@@ -484,31 +469,7 @@ public class QuotationPdfGenerationService {
     }
 
     private void addTotalRow(Table table, String label, String value, boolean isGrandTotal) {
-        Cell labelCell = new Cell()
-                .add(new Paragraph(label)
-                        .setBold()
-                        .setFontColor(isGrandTotal ? PRIMARY_COLOR : SECONDARY_COLOR)
-                        .setFontSize(isGrandTotal ? 10 : 8))
-                .setBorder(Border.NO_BORDER);
-                
-        Cell valueCell = new Cell()
-                .add(new Paragraph(value)
-                        .setBold()
-                        .setFontColor(isGrandTotal ? PRIMARY_COLOR : TEXT_DARK)
-                        .setFontSize(isGrandTotal ? 10 : 8))
-                .setBorder(Border.NO_BORDER)
-                .setTextAlignment(TextAlignment.RIGHT);
-                
-        if (isGrandTotal) {
-            // Add top border for grand total
-            labelCell.setBorderTop(new SolidBorder(SECONDARY_COLOR, 1));
-            valueCell.setBorderTop(new SolidBorder(SECONDARY_COLOR, 1));
-            
-            // Slightly increase emphasis for grand total
-        }
-        
-        table.addCell(labelCell);
-        table.addCell(valueCell);
+        PdfRenderer.addTotalRow(table, label, value, isGrandTotal, PRIMARY_COLOR, SECONDARY_COLOR, TEXT_DARK);
     }
 
     private boolean shouldShowCalculationDetails(Map<String, Object> item) {
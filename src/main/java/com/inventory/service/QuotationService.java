@@ -1,5 +1,8 @@
 package com.inventory.service;
 
+import com.inventory.dao.ExportQuery;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.OffsetDateTime;
@@ -19,6 +22,7 @@ import com.inventory.dto.request.QuotationItemStatusUpdateDto;
 import com.inventory.dto.request.QuotationRequestDto;
 import com.inventory.dto.request.QuotationItemRequestDto;
 import com.inventory.entity.*;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +34,7 @@ import com.inventory.dto.QuotationDto;
 import com.inventory.enums.QuotationStatus;
 import com.inventory.enums.QuotationStatusItem;
 import com.inventory.exception.ValidationException;
+import com.inventory.metrics.BusinessMetrics;
 import com.inventory.repository.CustomerRepository;
 import com.inventory.repository.BrandRepository;
 import com.inventory.repository.TransportMasterRepository;
@@ -70,13 +75,19 @@ public class QuotationService {
     private final QuotationDao quotationDao;
     private final QuotationItemDao quotationItemDao;
     private final QuoteNumberGeneratorService quoteNumberGeneratorService;
+    @Lazy
     private final PdfGenerationService pdfGenerationService;
+    @Lazy
     private final QuotationPdfGenerationService quotationPdfGenerationService;
     private final PurchaseRepository purchaseRepository;
     private final SaleRepository saleRepository;
     private final BrandRepository brandRepository;
     private final TransportMasterRepository transportMasterRepository;
+    @Lazy
     private final DispatchSlipPdfService dispatchSlipPdfService;
+    @Lazy
+    private final BulkPdfExportService bulkPdfExportService;
+    private final BusinessMetrics businessMetrics;
 
 //    private final ProductQuantityService productQuantityService;
 //    private final QuotationItemCalculationRepository quotationItemCalculationRepository;
@@ -84,6 +95,7 @@ public class QuotationService {
 
     @Transactional(rollbackFor = Exception.class)
     public ApiResponse<?> createQuotation(QuotationRequestDto request) {
+        businessMetrics.timeDocumentWrite("quotation.create", request.getItems() != null ? request.getItems().size() : 0);
         try {
             validateQuotationRequest(request);
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
@@ -168,7 +180,6 @@ public class QuotationService {
 
             return ApiResponse.success("Quotation created successfully");
         } catch (Exception e) {
-            e.printStackTrace();
             log.error("Error creating quotation", e);
             throw new ValidationException("Failed to create quotation: " + e.getMessage());
         }
@@ -229,27 +240,28 @@ public class QuotationService {
             quotationItemRepository.save(item);
             return ApiResponse.success("Number of roll updated successfully");
         } catch (ValidationException e) {
-            e.printStackTrace();
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to update number of roll", e);
             throw new ValidationException("Failed to update number of roll: " + e.getMessage());
         }
     }
 
+    @Transactional(readOnly = true)
     public ApiResponse<Map<String, Object>> searchQuotationItems(QuotationItemRequestDto dto) {
         try {
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
             Map<String, Object> result = quotationItemDao.search(dto, currentUser.getClient().getId());
             return ApiResponse.success("Quotation items retrieved successfully", result);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to search quotation items", e);
             throw new ValidationException("Failed to search quotation items: " + e.getMessage());
         }
     }
 
     @Transactional(rollbackFor = Exception.class)
     public ApiResponse<?> updateQuotation(QuotationRequestDto request) {
+        businessMetrics.timeDocumentWrite("quotation.update", request.getItems() != null ? request.getItems().size() : 0);
         try {
             validateQuotationRequest(request);
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
@@ -336,7 +348,6 @@ public class QuotationService {
 
             return ApiResponse.success("Quotation updated successfully");
         } catch (Exception e) {
-            e.printStackTrace();
             log.error("Error updating quotation", e);
             throw new ValidationException("Failed to update quotation: " + e.getMessage());
         }
@@ -625,26 +636,42 @@ public class QuotationService {
 
             return ApiResponse.success("Quantity updated successfully");
         } catch (ValidationException e) {
-            e.printStackTrace();
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to update quantity", e);
             throw new ValidationException("Failed to update quantity: " + e.getMessage());
         }
     }
 
+    @Transactional(readOnly = true)
+    public Map<String, Object> searchQuotationsByCursor(QuotationDto searchParams) {
+        if (searchParams.getPerPageRecord() == null || searchParams.getPerPageRecord() <= 0) {
+            throw new ValidationException("Page size is required");
+        }
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        searchParams.setClientId(currentUser.getClient().getId());
+        return quotationDao.searchQuotationsByCursor(searchParams);
+    }
+
+    public ExportQuery getQuotationExportQuery(QuotationDto searchParams) {
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        searchParams.setClientId(currentUser.getClient().getId());
+        return quotationDao.buildQuotationExportQuery(searchParams);
+    }
+
+    @Transactional(readOnly = true)
     public Map<String, Object> searchQuotations(QuotationDto searchParams) {
         try {
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
             searchParams.setClientId(currentUser.getClient().getId());
             return quotationDao.searchQuotations(searchParams);
         } catch (Exception e) {
-            e.printStackTrace();
             log.error("Error searching quotations", e);
             throw new ValidationException("Failed to search quotations: " + e.getMessage());
         }
     }
 
+    @Transactional(readOnly = true)
     public ApiResponse getQuotationDetail(QuotationDto request) {
         try {
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
@@ -729,7 +756,6 @@ public class QuotationService {
             Map<String, Object> quotationData = quotationDao.getQuotationDetail(request);
             return quotationPdfGenerationService.generateQuotationPdf(quotationData);
         } catch (ValidationException ve) {
-            ve.printStackTrace();
             throw ve;
         } catch (Exception e) {
             log.error("Error generating quotation PDF", e);
@@ -737,6 +763,33 @@ public class QuotationService {
         }
     }
 
+    public List<Long> getQuotationIdsForPdfExport(QuotationDto request) {
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        request.setClientId(currentUser.getClient().getId());
+        if ((request.getIds() == null || request.getIds().isEmpty())
+                && (request.getStartDate() == null || request.getEndDate() == null)) {
+            throw new ValidationException("Either quotation ids or a start and end date are required");
+        }
+        List<Long> quotationIds = quotationDao.findQuotationIdsForExport(request);
+        if (quotationIds.isEmpty()) {
+            throw new ValidationException("No quotations found for export");
+        }
+        if (quotationIds.size() > BulkPdfExportService.MAX_EXPORT_DOCUMENTS) {
+            throw new ValidationException("Cannot export more than " + BulkPdfExportService.MAX_EXPORT_DOCUMENTS
+                    + " quotations at once, please narrow the date range");
+        }
+        return quotationIds;
+    }
+
+    public void writeQuotationPdfZip(Long clientId, List<Long> quotationIds, OutputStream outputStream) throws IOException {
+        bulkPdfExportService.writeZip(quotationIds,
+                chunk -> quotationDao.getQuotationDetails(chunk, clientId),
+                quotationData -> new BulkPdfExportService.RenderedPdf(
+                        "quotation-" + Objects.toString(quotationData.get("quoteNumber"), String.valueOf(quotationData.get("id"))) + ".pdf",
+                        quotationPdfGenerationService.generateQuotationPdf(quotationData)),
+                outputStream);
+    }
+
     @Transactional(rollbackFor = Exception.class)
     public ApiResponse<?> updateQuotationStatus(QuotationItemRequestDto request) {
         try {
@@ -953,7 +1006,6 @@ public class QuotationService {
             Map<String, Object> quotationData = quotationDao.getQuotationDetail(request);
             return dispatchSlipPdfService.generateQuotationPdf(quotationData);
         } catch (ValidationException ve) {
-            ve.printStackTrace();
             throw ve;
         } catch (Exception e) {
             log.error("Error generating quotation PDF", e);
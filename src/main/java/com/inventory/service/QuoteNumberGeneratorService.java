@@ -1,6 +1,7 @@
 package com.inventory.service;
 
 import com.inventory.entity.Client;
+import com.inventory.metrics.BusinessMetrics;
 import com.inventory.repository.ClientRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -11,9 +12,14 @@ import java.time.Year;
 @RequiredArgsConstructor
 public class QuoteNumberGeneratorService {
     private final ClientRepository clientRepository;
+    private final BusinessMetrics businessMetrics;
 
     @Transactional
     public String generateQuoteNumber(Client client) {
+        return businessMetrics.timeNumberAllocation("quote", () -> allocateQuoteNumber(client));
+    }
+
+    private String allocateQuoteNumber(Client client) {
         // Using pessimistic lock to ensure thread safety
         Client lockedClient = clientRepository.findByIdWithPessimisticLock(client.getId())
                 .orElseThrow(() -> new RuntimeException("Client not found"));
@@ -1,6 +1,5 @@
 package com.inventory.service;
 
-import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.List;
@@ -13,7 +12,6 @@ import com.itextpdf.kernel.colors.ColorConstants;
 import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
 import com.itextpdf.layout.borders.SolidBorder;
@@ -23,12 +21,15 @@ import com.itextpdf.layout.element.Table;
 import com.itextpdf.layout.properties.TextAlignment;
 
 import com.inventory.exception.ValidationException;
+import com.inventory.util.PdfRenderer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 @Service
+@Lazy
 @RequiredArgsConstructor
 @Slf4j
 public class SalePdfGenerationService {
@@ -41,24 +42,18 @@ public class SalePdfGenerationService {
     private static final com.itextpdf.kernel.colors.Color SECONDARY_LIGHT = new DeviceRgb(157, 185, 225);   // #9DB9E1
 
     public byte[] generateSalePdf(Map<String, Object> saleData) {
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-        try (PdfDocument pdf = new PdfDocument(new PdfWriter(outputStream))) {
-            Document document = new Document(pdf, PageSize.A4);
-            document.setMargins(36, 36, 36, 36);
-
-            addHeader(document);
-            addPageFooter(pdf, document, 1);
-
-            addSaleDetails(document, saleData);
-            addItemsTable(document, (List<Map<String, Object>>) saleData.get("items"), saleData);
-            addPageFooter(pdf, document, 2);
-
-            addTerms(document);
-            addPageFooter(pdf, document, 3);
-
-            document.close();
-            return outputStream.toByteArray();
+        try {
+            return PdfRenderer.render("sale", PageSize.A4, 36, (pdf, document) -> {
+                addHeader(document);
+                addPageFooter(pdf, document, 1);
+
+                addSaleDetails(document, saleData);
+                addItemsTable(document, (List<Map<String, Object>>) saleData.get("items"), saleData);
+                addPageFooter(pdf, document, 2);
+
+                addTerms(document);
+                addPageFooter(pdf, document, 3);
+            });
         } catch (Exception e) {
             log.error("Error generating Sale PDF", e);
             throw new ValidationException("Failed to generate Sale PDF: " + e.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
@@ -129,15 +124,9 @@ public class SalePdfGenerationService {
     }
 
     private void addDetailPair(Table table, String label1, String value1, String label2, String value2) {
-        table.addCell(new Cell().setBorder(Border.NO_BORDER)
-                .add(new Paragraph(label1 + ":").setBold().setFontSize(9).setFontColor(SECONDARY_COLOR)));
-        table.addCell(new Cell().setBorder(Border.NO_BORDER)
-                .add(new Paragraph(value1).setFontSize(8).setFontColor(TEXT_DARK)));
+        PdfRenderer.addDetailPair(table, label1 + ":", value1, SECONDARY_COLOR, 9, TEXT_DARK, 8);
         if(label2 != null && value2 != null) {
-                table.addCell(new Cell().setBorder(Border.NO_BORDER)
-                        .add(new Paragraph(label2 + ":").setBold().setFontSize(9).setFontColor(SECONDARY_COLOR)));
-                table.addCell(new Cell().setBorder(Border.NO_BORDER)
-                        .add(new Paragraph(value2).setFontSize(8).setFontColor(TEXT_DARK)));
+                PdfRenderer.addDetailPair(table, label2 + ":", value2, SECONDARY_COLOR, 9, TEXT_DARK, 8);
         }
     }
 
@@ -260,28 +249,7 @@ public class SalePdfGenerationService {
     }
 
     private void addTotalRow(Table table, String label, String value, boolean isGrandTotal) {
-        Cell labelCell = new Cell()
-                .add(new Paragraph(label)
-                        .setBold()
-                        .setFontColor(isGrandTotal ? PRIMARY_COLOR : SECONDARY_COLOR)
-                        .setFontSize(isGrandTotal ? 10 : 8))
-                .setBorder(Border.NO_BORDER);
-
-        Cell valueCell = new Cell()
-                .add(new Paragraph(value)
-                        .setBold()
-                        .setFontColor(isGrandTotal ? PRIMARY_COLOR : TEXT_DARK)
-                        .setFontSize(isGrandTotal ? 10 : 8))
-                .setBorder(Border.NO_BORDER)
-                .setTextAlignment(TextAlignment.RIGHT);
-
-        if (isGrandTotal) {
-            labelCell.setBorderTop(new SolidBorder(SECONDARY_COLOR, 1));
-            valueCell.setBorderTop(new SolidBorder(SECONDARY_COLOR, 1));
-        }
-
-        table.addCell(labelCell);
-        table.addCell(valueCell);
+        PdfRenderer.addTotalRow(table, label, value, isGrandTotal, PRIMARY_COLOR, SECONDARY_COLOR, TEXT_DARK);
     }
 
     private void addTerms(Document document) {
@@ -1,10 +1,12 @@
 package com.inventory.service;
 
+import com.inventory.dao.ExportQuery;
 import com.inventory.dao.SaleDao;
 import com.inventory.dto.ApiResponse;
 import com.inventory.dto.SaleDto;
 import com.inventory.dto.SaleItemDto;
 import com.inventory.dto.SaleRequestDto;
+import com.inventory.dto.projection.SaleSearchRow;
 import com.inventory.entity.Customer;
 import com.inventory.entity.Product;
 import com.inventory.entity.Sale;
@@ -15,6 +17,7 @@ import com.inventory.entity.Quotation;
 import com.inventory.enums.QuotationStatusItem;
 import com.inventory.enums.QuotationStatus;
 import com.inventory.exception.ValidationException;
+import com.inventory.metrics.BusinessMetrics;
 import com.inventory.repository.CustomerRepository;
 import com.inventory.repository.ProductRepository;
 import com.inventory.repository.QuotationItemRepository;
@@ -23,16 +26,22 @@ import com.inventory.repository.SaleItemRepository;
 import com.inventory.repository.SaleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 
@@ -52,12 +61,19 @@ public class SaleService {
     private final QuotationItemRepository quotationItemRepository;
     private final QuotationRepository quotationRepository;
     private final SalesBillNumberGeneratorService salesBillNumberGeneratorService;
+    @Lazy
     private final SalePdfGenerationService salePdfGenerationService;
+    @Lazy
+    private final BulkPdfExportService bulkPdfExportService;
+    private final PriceService priceService;
+    private final BusinessMetrics businessMetrics;
     @PersistenceContext
     private EntityManager entityManager;
 
     @Transactional(rollbackFor = Exception.class)
     public ApiResponse<?> createSale(SaleRequestDto request) {
+        businessMetrics.timeDocumentWrite(request.getId() == null ? "sale.create" : "sale.update",
+                request.getProducts() != null ? request.getProducts().size() : 0);
         try {
             validateSaleRequest(request);
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
@@ -129,22 +145,24 @@ public class SaleService {
                 false,  // isPurchase
                 true   // isSale
             );
+            priceService.refreshSalePrices(sale.getClient().getId(), sale.getCustomer().getId(), productIds(items));
             
             // Process items and update product quantities in batches
         //    batchProcessingService.processSaleItems(items);
             
             return ApiResponse.success("Sale created successfully");
         } catch(ValidationException ve) {
-            ve.printStackTrace();
             throw ve;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Sale creation failed", e);
             throw new ValidationException("Sale creation failed: " + e.getMessage());
         }
     }
 
     @Transactional(rollbackFor = Exception.class)
     public ApiResponse<?> createSaleFromQuotationItems(SaleDto request) {
+        businessMetrics.timeDocumentWrite("sale.create_from_quotation",
+                request.getQuotationItemIds() != null ? request.getQuotationItemIds().size() : 0);
         try {
             List<Long> quotationItemIds = request.getQuotationItemIds();
             if (quotationItemIds == null || quotationItemIds.isEmpty()) {
@@ -256,6 +274,8 @@ public class SaleService {
                         false,
                         true
                 );
+                priceService.refreshSalePrices(sale.getClient().getId(), sale.getCustomer().getId(),
+                        quotationItems.stream().map(qi -> qi.getProduct().getId()).collect(Collectors.toSet()));
             }
 
             // If all items of the parent quotation are billed, update quotation status to Invoiced
@@ -269,10 +289,9 @@ public class SaleService {
 
             return ApiResponse.success("Sale created successfully from quotation items");
         } catch (ValidationException ve) {
-            ve.printStackTrace();
             throw ve;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to create sale from quotation items", e);
             throw new ValidationException("Failed to create sale from quotation items: " + e.getMessage());
         }
     }
@@ -290,6 +309,33 @@ public class SaleService {
         }
     }
     
+    public List<Long> getSaleIdsForPdfExport(SaleDto request) {
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        request.setClientId(currentUser.getClient().getId());
+        if ((request.getIds() == null || request.getIds().isEmpty())
+                && (request.getStartDate() == null || request.getEndDate() == null)) {
+            throw new ValidationException("Either sale ids or a start and end date are required");
+        }
+        List<Long> saleIds = saleDao.findSaleIdsForExport(request);
+        if (saleIds.isEmpty()) {
+            throw new ValidationException("No sales found for export");
+        }
+        if (saleIds.size() > BulkPdfExportService.MAX_EXPORT_DOCUMENTS) {
+            throw new ValidationException("Cannot export more than " + BulkPdfExportService.MAX_EXPORT_DOCUMENTS
+                    + " invoices at once, please narrow the date range");
+        }
+        return saleIds;
+    }
+
+    public void writeSalePdfZip(Long clientId, List<Long> saleIds, OutputStream outputStream) throws IOException {
+        bulkPdfExportService.writeZip(saleIds,
+                chunk -> saleDao.getSalePdfDetails(chunk, clientId),
+                saleData -> new BulkPdfExportService.RenderedPdf(
+                        "invoice-" + Objects.toString(saleData.get("invoiceNumber"), String.valueOf(saleData.get("id"))) + ".pdf",
+                        salePdfGenerationService.generateSalePdf(saleData)),
+                outputStream);
+    }
+    
     private SaleItem createSaleItem(SaleItemDto dto, Sale sale, BigDecimal saleDiscountPercentage) {
         Product product = productRepository.findById(dto.getProductId())
             .orElseThrow(() -> new ValidationException("Product not found"));
@@ -367,14 +413,29 @@ public class SaleService {
     }
     
     @Transactional(readOnly = true)
-    public Page<Map<String, Object>> searchSales(SaleDto searchParams) {
+    public Map<String, Object> searchSalesByCursor(SaleDto searchParams) {
+        if (searchParams.getPerPageRecord() == null || searchParams.getPerPageRecord() <= 0) {
+            throw new ValidationException("Page size is required");
+        }
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        searchParams.setClientId(currentUser.getClient().getId());
+        return saleDao.searchSalesByCursor(searchParams);
+    }
+
+    public ExportQuery getSaleExportQuery(SaleDto searchParams) {
+        UserMaster currentUser = utilityService.getCurrentLoggedInUser();
+        searchParams.setClientId(currentUser.getClient().getId());
+        return saleDao.buildSaleExportQuery(searchParams);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<SaleSearchRow> searchSales(SaleDto searchParams) {
         try {
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
             searchParams.setClientId(currentUser.getClient().getId());
-            Page<Map<String, Object>> maps = saleDao.searchSales(searchParams);
-            return maps;
+            return saleDao.searchSales(searchParams);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Purchase retrieval failed", e);
             throw new ValidationException("Purchase retrieval failed: " + e.getMessage());
         }
     }
@@ -443,10 +504,10 @@ public class SaleService {
 
             saleItemRepository.deleteBySaleId(id);
             saleRepository.delete(sale);
+            priceService.refreshSalePrices(sale.getClient().getId(), sale.getCustomer().getId(), productIds(items));
             
             return ApiResponse.success("Sale deleted successfully");
         } catch (ValidationException ve) {
-            ve.printStackTrace();
             throw ve;
         } catch (Exception e) {
             log.error("Error deleting sale: {}", e.getMessage(), e);
@@ -552,6 +613,8 @@ public class SaleService {
         
         // Handle customer payment amount changes
         handleCustomerPaymentAmountUpdate(originalCustomer, newCustomer, originalAmount, totalAmount);
+        refreshLastSalePrices(existingSale.getClient().getId(), originalCustomer, productIds(existingItems),
+                newCustomer, productIds(newItems));
         
         // Process items and update product quantities in batches
 //        batchProcessingService.processSaleItems(newItems);
@@ -559,6 +622,24 @@ public class SaleService {
         return ApiResponse.success("Sale updated successfully");
     }
     
+    /**
+     * Recomputes last sale prices for the products removed from the original customer's sale
+     * and the products now on the new customer's sale.
+     */
+    private void refreshLastSalePrices(Long clientId, Customer originalCustomer, Set<Long> originalProductIds,
+                                       Customer newCustomer, Set<Long> newProductIds) {
+        if (originalCustomer != null && !originalCustomer.getId().equals(newCustomer.getId())) {
+            priceService.refreshSalePrices(clientId, originalCustomer.getId(), originalProductIds);
+        } else {
+            newProductIds.addAll(originalProductIds);
+        }
+        priceService.refreshSalePrices(clientId, newCustomer.getId(), newProductIds);
+    }
+
+    private static Set<Long> productIds(List<SaleItem> items) {
+        return items.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet());
+    }
+
     private void handleCustomerPaymentAmountUpdate(Customer originalCustomer, Customer newCustomer, BigDecimal originalAmount, BigDecimal newAmount) {
         // If customer changed, adjust payment amounts
         if (!originalCustomer.getId().equals(newCustomer.getId())) {
@@ -1,30 +1,47 @@
 package com.inventory.service;
 
 import com.inventory.entity.Client;
+import com.inventory.metrics.BusinessMetrics;
+import com.inventory.metrics.LockDiagnostics;
 import com.inventory.repository.ClientRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.Year;
+import java.util.concurrent.locks.Lock;
 
 @Service
 @RequiredArgsConstructor
 public class SalesBillNumberGeneratorService {
     private final ClientRepository clientRepository;
+    private final BusinessMetrics businessMetrics;
+    private final LockDiagnostics lockDiagnostics;
 
     @Transactional
-    public synchronized String generateInvoiceNumber(Client client) {
-        Client lockedClient = clientRepository.findByIdWithPessimisticLock(client.getId())
-                .orElseThrow(() -> new RuntimeException("Client not found"));
-
-        Long nextNumber = (lockedClient.getLastSalesBillNumber() == null ||
-                lockedClient.getLastSalesBillNumber() < 1) ?
-                1L : lockedClient.getLastSalesBillNumber() + 1;
-
-        lockedClient.setLastSalesBillNumber(nextNumber);
-        clientRepository.save(lockedClient);
+    public String generateInvoiceNumber(Client client) {
+        return businessMetrics.timeNumberAllocation("sale_invoice", () -> allocateInvoiceNumber(client));
+    }
 
-        return String.format("WB-%d-%d", Year.now().getValue(), nextNumber);
+    // Numbers are per client and the client row lock serializes across instances; the
+    // in-process lock only keeps threads of one client from queueing on that row lock.
+    private String allocateInvoiceNumber(Client client) {
+        Lock lock = lockDiagnostics.lockFor("sale_invoice", client.getId());
+        BusinessMetrics.LockHold hold = businessMetrics.lock(lock, "sale_invoice");
+        try {
+            Client lockedClient = clientRepository.findByIdWithPessimisticLock(client.getId())
+                    .orElseThrow(() -> new RuntimeException("Client not found"));
+
+            Long nextNumber = (lockedClient.getLastSalesBillNumber() == null ||
+                    lockedClient.getLastSalesBillNumber() < 1) ?
+                    1L : lockedClient.getLastSalesBillNumber() + 1;
+
+            lockedClient.setLastSalesBillNumber(nextNumber);
+            clientRepository.save(lockedClient);
+
+            return String.format("WB-%d-%d", Year.now().getValue(), nextNumber);
+        } finally {
+            businessMetrics.unlock(lock, hold);
+        }
     }
 }
 
@@ -0,0 +1,176 @@
+package com.inventory.service;
+
+import com.inventory.dao.ExportQuery;
+import com.inventory.enums.ExportFormat;
+import com.inventory.exception.ValidationException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.NativeQuery;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streams the unpaged result of a search query as CSV or XLSX. Rows are read through a forward-only
+ * cursor with a large fetch size and written as they arrive, so neither the result set nor the
+ * workbook is held in memory and no COUNT/OFFSET pass is needed.
+ */
+@Service
+@Lazy
+@Slf4j
+public class SearchExportService {
+    private static final int FETCH_SIZE = 1000;
+    private static final int XLSX_ROW_WINDOW = 200;
+    private static final int XLSX_MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void write(ExportQuery query, ExportFormat format, OutputStream outputStream) {
+        try (ScrollableResults<?> results = scroll(query)) {
+            if (format == ExportFormat.XLSX) {
+                writeXlsx(query.headers(), results, outputStream);
+            } else {
+                writeCsv(query.headers(), results, outputStream);
+            }
+        } catch (IOException e) {
+            log.error("Error streaming {} export", format, e);
+            throw new ValidationException("Failed to export data", e, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private ScrollableResults<?> scroll(ExportQuery query) {
+        NativeQuery<?> nativeQuery = entityManager.createNativeQuery(query.sql()).unwrap(NativeQuery.class);
+        query.params().forEach(nativeQuery::setParameter);
+        nativeQuery.setFetchSize(FETCH_SIZE);
+        nativeQuery.setReadOnly(true);
+        return nativeQuery.scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private void writeCsv(List<String> headers, ScrollableResults<?> results, OutputStream outputStream)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        // BOM so Excel opens the file as UTF-8
+        writer.write('\uFEFF');
+        writeCsvLine(writer, headers.toArray());
+        while (results.next()) {
+            writeCsvLine(writer, columns(results.get()));
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        String text = value.toString();
+        // Keep spreadsheet apps from evaluating user-entered text as a formula
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private void writeXlsx(List<String> headers, ScrollableResults<?> results, OutputStream outputStream)
+            throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+
+            SXSSFSheet sheet = null;
+            int rowNum = XLSX_MAX_ROWS;
+            int sheetCount = 0;
+            while (results.next()) {
+                if (rowNum >= XLSX_MAX_ROWS) {
+                    // Roll over to a new sheet once the XLSX row limit is reached
+                    sheet = workbook.createSheet(sheetCount == 0 ? "Export" : "Export " + (sheetCount + 1));
+                    sheetCount++;
+                    writeXlsxHeader(sheet, headers, headerStyle);
+                    rowNum = 1;
+                }
+                Row row = sheet.createRow(rowNum++);
+                Object[] values = columns(results.get());
+                for (int i = 0; i < values.length; i++) {
+                    setCellValue(row.createCell(i), values[i]);
+                }
+            }
+            if (sheet == null) {
+                writeXlsxHeader(workbook.createSheet("Export"), headers, headerStyle);
+            }
+            workbook.write(outputStream);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private void writeXlsxHeader(SXSSFSheet sheet, List<String> headers, CellStyle headerStyle) {
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < headers.size(); i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers.get(i));
+            cell.setCellStyle(headerStyle);
+        }
+        sheet.createFreezePane(0, 1);
+    }
+
+    private void setCellValue(Cell cell, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof BigDecimal decimal) {
+            cell.setCellValue(decimal.doubleValue());
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            cell.setCellValue(bool);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    private Object[] columns(Object row) {
+        return row instanceof Object[] values ? values : new Object[]{row};
+    }
+}
@@ -0,0 +1,122 @@
+package com.inventory.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inventory.dao.TenantBootstrapDao;
+import com.inventory.enums.LookupType;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes sure every active client has the system products ({@link #SYSTEM_PRODUCT_CODES}) and
+ * keeps a {@code (clientId, code) -> productId} registry of them, so batch and stock screens
+ * resolve the bag products without a lookup query. Seeded for all clients at startup
+ * ({@link com.inventory.config.ProductStartupInitializer}); a client missing from the registry
+ * (created after startup) is seeded on first use, or eagerly through {@link #bootstrapClient}.
+ * Seeding on first use runs in a transaction of its own, so a failed insert does not roll back
+ * the caller's. Clients that still lack a product afterwards (inactive ones are never seeded)
+ * are remembered for {@link #INCOMPLETE_TTL} instead of being seeded again on every call.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TenantBootstrapService {
+    public static final String RESIGN = "RESIGN";
+    public static final String CPW = "CPW";
+    public static final List<String> SYSTEM_PRODUCT_CODES = List.of(RESIGN, CPW);
+    private static final Duration INCOMPLETE_TTL = Duration.ofMinutes(5);
+
+    private final TenantBootstrapDao tenantBootstrapDao;
+    private final TransactionTemplate transactionTemplate;
+    private final LookupCacheService lookupCacheService;
+
+    private final ConcurrentHashMap<Long, Map<String, Long>> productIds = new ConcurrentHashMap<>();
+    private final Cache<Long, Map<String, Long>> incompleteProductIds = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(INCOMPLETE_TTL)
+            .build();
+
+    /** Seeds all active clients in one statement and (re)loads the registry. */
+    @Transactional
+    public void bootstrapAllClients() {
+        List<Long> created = tenantBootstrapDao.insertMissingProducts(SYSTEM_PRODUCT_CODES, null);
+        invalidateProductLists(created);
+        Map<Long, Map<String, Long>> found = tenantBootstrapDao.findProductIds(SYSTEM_PRODUCT_CODES, null);
+        productIds.clear();
+        incompleteProductIds.invalidateAll();
+        found.forEach(this::remember);
+        log.info("System products ready for {} clients ({} created)", found.size(), created.size());
+    }
+
+    /** Seeds one client, e.g. right after it is created. */
+    @Transactional
+    public Map<String, Long> bootstrapClient(Long clientId) {
+        invalidateProductLists(tenantBootstrapDao.insertMissingProducts(SYSTEM_PRODUCT_CODES, clientId));
+        Map<String, Long> found = tenantBootstrapDao.findProductIds(SYSTEM_PRODUCT_CODES, clientId)
+                .getOrDefault(clientId, Map.of());
+        Map<String, Long> ids = Map.copyOf(found);
+        // Inside a caller's transaction the rows only exist once it commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(clientId, ids);
+                }
+            });
+        } else {
+            remember(clientId, ids);
+        }
+        return ids;
+    }
+
+    /** Ids of the client's system products by code; seeds the client if it is not known yet. */
+    public Map<String, Long> getProductIds(Long clientId) {
+        Map<String, Long> ids = productIds.get(clientId);
+        if (ids == null) {
+            ids = incompleteProductIds.getIfPresent(clientId);
+        }
+        if (ids == null) {
+            TransactionTemplate requiresNew = new TransactionTemplate(transactionTemplate.getTransactionManager());
+            requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            ids = requiresNew.execute(status -> bootstrapClient(clientId));
+        }
+        return ids;
+    }
+
+    public Long getProductId(Long clientId, String code) {
+        return getProductIds(clientId).get(code);
+    }
+
+    private void remember(Long clientId, Map<String, Long> ids) {
+        if (ids.size() < SYSTEM_PRODUCT_CODES.size()) {
+            productIds.remove(clientId);
+            incompleteProductIds.put(clientId, ids);
+        } else {
+            incompleteProductIds.invalidate(clientId);
+            productIds.put(clientId, ids);
+        }
+    }
+
+    private void invalidateProductLists(List<Long> clientIds) {
+        clientIds.stream().distinct().forEach(clientId -> lookupCacheService.invalidate(LookupType.PRODUCT, clientId));
+    }
+
+    /** Drops a client's entry after one of its system products was deleted. */
+    public void forget(Long clientId) {
+        productIds.remove(clientId);
+        incompleteProductIds.invalidate(clientId);
+    }
+}
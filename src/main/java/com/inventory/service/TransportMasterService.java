@@ -5,6 +5,7 @@ import com.inventory.dto.ApiResponse;
 import com.inventory.dto.TransportMasterDto;
 import com.inventory.entity.TransportMaster;
 import com.inventory.entity.UserMaster;
+import com.inventory.enums.LookupType;
 import com.inventory.exception.ValidationException;
 import com.inventory.repository.TransportMasterRepository;
 
@@ -26,6 +27,7 @@ public class TransportMasterService {
     private final TransportMasterRepository transportMasterRepository;
     private final TransportMasterDao transportMasterDao;
     private final UtilityService utilityService;
+    private final LookupCacheService lookupCacheService;
     private final Logger logger = LoggerFactory.getLogger(TransportMasterService.class);
 
     @Transactional(rollbackFor = Exception.class)
@@ -50,6 +52,7 @@ public class TransportMasterService {
             t.setCreatedBy(currentUser);
 
             transportMasterRepository.save(t);
+            lookupCacheService.invalidate(LookupType.TRANSPORT_MASTER, t.getClient().getId());
             return ApiResponse.success("Transport created successfully");
         } catch (ValidationException e) {
             throw e;
@@ -88,6 +91,7 @@ public class TransportMasterService {
             t.setUpdatedAt(OffsetDateTime.now());
 
             transportMasterRepository.save(t);
+            lookupCacheService.invalidate(LookupType.TRANSPORT_MASTER, t.getClient().getId());
             return ApiResponse.success("Transport updated successfully");
         } catch (ValidationException e) {
             throw e;
@@ -107,6 +111,7 @@ public class TransportMasterService {
             }
             try {
                 transportMasterRepository.delete(t);
+                lookupCacheService.invalidate(LookupType.TRANSPORT_MASTER, t.getClient().getId());
                 return ApiResponse.success("Transport deleted successfully");
             } catch (DataIntegrityViolationException e) {
                 throw new ValidationException("Cannot delete transport. It is referenced by other records.", HttpStatus.UNPROCESSABLE_ENTITY);
@@ -4,19 +4,29 @@ import com.inventory.dao.TransportDao;
 import com.inventory.dto.TransportPdfDto;
 import com.inventory.entity.UserMaster;
 import com.inventory.exception.ValidationException;
-import com.itextpdf.text.*;
-import com.itextpdf.text.pdf.PdfPCell;
-import com.itextpdf.text.pdf.PdfPTable;
-import com.itextpdf.text.pdf.PdfWriter;
+import com.inventory.util.PdfRenderer;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
 
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class TransportPdfGenerationService {
     private final TransportDao transportDao;
@@ -26,105 +36,87 @@ public class TransportPdfGenerationService {
         try {
             UserMaster currentUser = utilityService.getCurrentLoggedInUser();
             Map<String, Object> transportData = transportDao.getTransportPdfData(dto.getId(), currentUser.getClient().getId());
-            Document document = new Document(PageSize.A4);
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            PdfWriter writer = PdfWriter.getInstance(document, out);
-            
-            document.open();
-            addHeader(document);
-            addCustomerDetails(document, transportData);
-            addTransportDetails(document, transportData);
-            addBagsTable(document, (List<Map<String, Object>>) transportData.get("bags"));
-            document.close();
-            
-            return out.toByteArray();
+            return PdfRenderer.render("transport", PageSize.A4, 36, (pdf, document) -> {
+                document.setFont(PdfFontFactory.createFont(StandardFonts.TIMES_ROMAN));
+                addHeader(document);
+                addCustomerDetails(document, transportData);
+                addTransportDetails(document, transportData);
+                addBagsTable(document, (List<Map<String, Object>>) transportData.get("bags"));
+            });
         } catch (Exception e) {
             throw new ValidationException("Failed to generate PDF: " + e.getMessage());
         }
     }
 
-    private void addHeader(Document document) throws DocumentException {
-        Font titleFont = new Font(Font.FontFamily.TIMES_ROMAN, 20, Font.BOLD);
-        Font dateFont = new Font(Font.FontFamily.TIMES_ROMAN, 12);
-        
+    private void addHeader(Document document) {
         // Add title with background
-        PdfPTable headerTable = new PdfPTable(1);
-        headerTable.setWidthPercentage(100);
+        Table headerTable = new Table(1).useAllAvailableWidth();
         
-        PdfPCell titleCell = new PdfPCell(new Phrase("JK INDUSTRIES TRANSPORT", titleFont));
-        titleCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-        titleCell.setPadding(10);
-        titleCell.setBackgroundColor(new BaseColor(240, 240, 240));
-        titleCell.setBorder(Rectangle.BOX);
+        Cell titleCell = new Cell()
+            .add(new Paragraph("JK INDUSTRIES TRANSPORT").setFontSize(20).setBold())
+            .setTextAlignment(TextAlignment.CENTER)
+            .setPadding(10)
+            .setBackgroundColor(new DeviceRgb(240, 240, 240))
+            .setBorder(new SolidBorder(ColorConstants.BLACK, 0.5f));
         headerTable.addCell(titleCell);
         
         document.add(headerTable);
-        document.add(Chunk.NEWLINE);
+        document.add(new Paragraph("\n"));
         
         // Add date
-        Paragraph date = new Paragraph(
+        document.add(new Paragraph(
             "Date: " + java.time.LocalDate.now().format(
-                java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy")), 
-            dateFont
-        );
-        date.setAlignment(Element.ALIGN_RIGHT);
-        document.add(date);
-        document.add(Chunk.NEWLINE);
+                java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy")))
+            .setFontSize(12)
+            .setTextAlignment(TextAlignment.RIGHT));
+        document.add(new Paragraph("\n"));
     }
 
-    private void addCustomerDetails(Document document, Map<String, Object> data) throws DocumentException {
-        Font normalFont = new Font(Font.FontFamily.TIMES_ROMAN, 12);
-        Font boldFont = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.BOLD);
-        
-        PdfPTable customerTable = new PdfPTable(2);
-        customerTable.setWidthPercentage(100);
+    private void addCustomerDetails(Document document, Map<String, Object> data) {
+        Table customerTable = new Table(2).useAllAvailableWidth();
         
         // Add styled customer details
-        PdfPCell headerCell = new PdfPCell(new Phrase("Customer Details", boldFont));
-        headerCell.setColspan(2);
-        headerCell.setBackgroundColor(new BaseColor(240, 240, 240));
-        headerCell.setPadding(5);
+        Cell headerCell = new Cell(1, 2)
+            .add(new Paragraph("Customer Details").setFontSize(12).setBold())
+            .setBackgroundColor(new DeviceRgb(240, 240, 240))
+            .setPadding(5);
         customerTable.addCell(headerCell);
         
-        addDetailRow(customerTable, "Name", data.get("customerName").toString(), normalFont);
+        addDetailRow(customerTable, "Name", data.get("customerName").toString());
         
         if (data.get("customerAddress") != null) {
-            addDetailRow(customerTable, "Address", data.get("customerAddress").toString(), normalFont);
+            addDetailRow(customerTable, "Address", data.get("customerAddress").toString());
         }
         
         if (data.get("customerMobile") != null) {
-            addDetailRow(customerTable, "Mobile", data.get("customerMobile").toString(), normalFont);
+            addDetailRow(customerTable, "Mobile", data.get("customerMobile").toString());
         }
         
         if (data.get("customerGst") != null) {
-            addDetailRow(customerTable, "GST No", data.get("customerGst").toString(), normalFont);
+            addDetailRow(customerTable, "GST No", data.get("customerGst").toString());
         }
         
         document.add(customerTable);
-        document.add(Chunk.NEWLINE);
+        document.add(new Paragraph("\n"));
     }
 
-    private void addTransportDetails(Document document, Map<String, Object> data) throws DocumentException {
-        Font boldFont = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.BOLD);
+    private void addTransportDetails(Document document, Map<String, Object> data) {
+        Table table = new Table(2).useAllAvailableWidth();
         
-        PdfPTable table = new PdfPTable(2);
-        table.setWidthPercentage(100);
-        
-        addDetailRow(table, "Total Bags", data.get("totalBags").toString(), boldFont);
-        addDetailRow(table, "Total Weight", data.get("totalWeight").toString(), boldFont);
+        PdfRenderer.addDetailPair(table, "Total Bags: ", data.get("totalBags").toString(),
+            ColorConstants.BLACK, 12, ColorConstants.BLACK, 12);
+        PdfRenderer.addDetailPair(table, "Total Weight: ", data.get("totalWeight").toString(),
+            ColorConstants.BLACK, 12, ColorConstants.BLACK, 12);
         
         document.add(table);
-        document.add(Chunk.NEWLINE);
+        document.add(new Paragraph("\n"));
     }
 
-    private void addBagsTable(Document document, List<Map<String, Object>> bags) throws DocumentException {
-        Font boldFont = new Font(Font.FontFamily.TIMES_ROMAN, 12, Font.BOLD);
-        Font normalFont = new Font(Font.FontFamily.TIMES_ROMAN, 12);
+    private void addBagsTable(Document document, List<Map<String, Object>> bags) {
         int currentBagNumber = 1;
 
         for (Map<String, Object> bag : bags) {
-            PdfPTable bagHeader = new PdfPTable(2);
-            bagHeader.setWidthPercentage(100);
+            Table bagHeader = new Table(2).useAllAvailableWidth();
             
             // Calculate bag number range
             int numberOfBags = ((Number) bag.get("numberOfBags")).intValue();
@@ -132,35 +124,27 @@ public class TransportPdfGenerationService {
                 ? "Bag #" + currentBagNumber + "-" + (currentBagNumber + numberOfBags - 1)
                 : "Bag #" + currentBagNumber;
             
-            PdfPCell bagTitleCell = new PdfPCell(new Phrase(bagNumberText, boldFont));
-            bagTitleCell.setColspan(2);
-            bagTitleCell.setBackgroundColor(new BaseColor(230, 230, 250));
-            bagTitleCell.setPadding(5);
+            Cell bagTitleCell = new Cell(1, 2)
+                .add(new Paragraph(bagNumberText).setFontSize(12).setBold())
+                .setBackgroundColor(new DeviceRgb(230, 230, 250))
+                .setPadding(5);
             bagHeader.addCell(bagTitleCell);
             
-            addDetailRow(bagHeader, "Weight", bag.get("weight").toString() + " kg", normalFont);
+            addDetailRow(bagHeader, "Weight", bag.get("weight").toString() + " kg");
             document.add(bagHeader);
 
             // Items table with improved styling
-            PdfPTable itemsTable = new PdfPTable(3);
-            itemsTable.setWidthPercentage(100);
-            float[] columnWidths = new float[]{40f, 20f, 25f};
-            itemsTable.setWidths(columnWidths);
+            Table itemsTable = new Table(UnitValue.createPercentArray(new float[]{40f, 20f, 25f}))
+                .useAllAvailableWidth();
             
             // Add headers with background
-            Stream.of("Product Name", "Quantity", "Remarks")
-                .forEach(header -> {
-                    PdfPCell cell = new PdfPCell(new Phrase(header, boldFont));
-                    cell.setBackgroundColor(new BaseColor(245, 245, 245));
-                    cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                    cell.setPadding(5);
-                    itemsTable.addCell(cell);
-                });
+            PdfRenderer.addHeaderCells(itemsTable, new DeviceRgb(245, 245, 245), ColorConstants.BLACK, 12, 5,
+                "Product Name", "Quantity", "Remarks");
 
             // Add items
             List<Map<String, Object>> items = (List<Map<String, Object>>) bag.get("items");
             for (Map<String, Object> item : items) {
-                addCell(itemsTable, item.get("productName").toString(), normalFont, Element.ALIGN_LEFT);
+                itemsTable.addCell(PdfRenderer.textCell(item.get("productName").toString(), 12, TextAlignment.LEFT));
                 
                 // Calculate quantity per bag
                 Object quantityObj = item.get("quantity");
@@ -175,31 +159,23 @@ public class TransportPdfGenerationService {
                     quantityDisplay = quantityObj.toString();
                 }
                 
-                addCell(itemsTable, quantityDisplay, normalFont, Element.ALIGN_RIGHT);
-                addCell(itemsTable, item.get("remarks").toString(), normalFont, Element.ALIGN_LEFT);
+                itemsTable.addCell(PdfRenderer.textCell(quantityDisplay, 12, TextAlignment.RIGHT));
+                itemsTable.addCell(PdfRenderer.textCell(item.get("remarks").toString(), 12, TextAlignment.LEFT));
             }
 
             document.add(itemsTable);
-            document.add(Chunk.NEWLINE);
+            document.add(new Paragraph("\n"));
 
             currentBagNumber += numberOfBags;
         }
     }
 
-    private void addDetailRow(PdfPTable table, String label, String value, Font font) {
-        PdfPCell labelCell = new PdfPCell(new Phrase(label + ": ", font));
-        labelCell.setBorder(Rectangle.NO_BORDER);
-        table.addCell(labelCell);
-
-        PdfPCell valueCell = new PdfPCell(new Phrase(value, font));
-        valueCell.setBorder(Rectangle.NO_BORDER);
-        table.addCell(valueCell);
-    }
-
-    private void addCell(PdfPTable table, String text, Font font, int alignment) {
-        PdfPCell cell = new PdfPCell(new Phrase(text, font));
-        cell.setHorizontalAlignment(alignment);
-        cell.setPadding(5);
-        table.addCell(cell);
+    private void addDetailRow(Table table, String label, String value) {
+        table.addCell(new Cell()
+            .add(new Paragraph(label + ": ").setFontSize(12))
+            .setBorder(Border.NO_BORDER));
+        table.addCell(new Cell()
+            .add(new Paragraph(value).setFontSize(12))
+            .setBorder(Border.NO_BORDER));
     }
-} 
\ No newline at end of file
+}
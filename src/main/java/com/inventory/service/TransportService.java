@@ -10,6 +10,7 @@ import com.inventory.repository.*;
 import com.inventory.service.UtilityService;
 import com.inventory.util.DiscountCalculator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +24,7 @@ import java.time.OffsetDateTime;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class TransportService {
     private final TransportRepository transportRepository;
     private final TransportBagRepository transportBagRepository;
@@ -362,7 +364,7 @@ public class TransportService {
             Map<String, Object> result = transportDao.getTransportDetail(dto.getId(), currentUser.getClient().getId());
             return ApiResponse.success("Transport detail retrieved successfully", result);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Failed to get transport detail", e);
             throw new ValidationException("Failed to get transport detail: " + e.getMessage());
         }
     }
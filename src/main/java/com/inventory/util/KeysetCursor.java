@@ -0,0 +1,52 @@
+package com.inventory.util;
+
+import com.inventory.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque position of the last row returned by a keyset (seek) search: the value of the
+ * sort column and the row id used as tie-breaker. Searches ordered by id alone leave
+ * {@code sortValue} null.
+ */
+public record KeysetCursor(String sortValue, long id) {
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = (sortValue != null ? sortValue : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            String sortValue = raw.substring(0, split);
+            return new KeysetCursor(sortValue.isEmpty() ? null : sortValue, Long.parseLong(raw.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+
+    /**
+     * Builds the cursor-mode response from a query that fetched {@code pageSize + 1} rows;
+     * the extra row only signals that another page exists.
+     */
+    public static <T> Map<String, Object> toResponse(List<T> rows, int pageSize, Function<T, KeysetCursor> cursorOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", content);
+        response.put("hasNext", hasNext);
+        if (hasNext) {
+            response.put("nextCursor", cursorOf.apply(content.get(content.size() - 1)).encode());
+        }
+        return response;
+    }
+}
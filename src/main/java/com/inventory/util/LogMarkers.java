@@ -0,0 +1,19 @@
+package com.inventory.util;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * Markers understood by the logging configuration ({@code logback-spring.xml}).
+ */
+public final class LogMarkers {
+
+    /**
+     * Events logged once per line item (stock and balance updates). Below WARN only a sample of
+     * them is written; see {@link com.inventory.config.SamplingTurboFilter}.
+     */
+    public static final Marker PER_ITEM = MarkerFactory.getMarker("PER_ITEM");
+
+    private LogMarkers() {
+    }
+}
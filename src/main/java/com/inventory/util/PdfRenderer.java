@@ -0,0 +1,140 @@
+package com.inventory.util;
+
+import com.inventory.metrics.PdfRenderEvent;
+import com.inventory.metrics.SqlStatementCounter;
+import com.inventory.security.TenantContext;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Shared iText 7 rendering primitives used by every PDF service, so the
+ * application only carries a single PDF engine.
+ */
+public class PdfRenderer {
+
+    @FunctionalInterface
+    public interface DocumentContent {
+        void write(PdfDocument pdf, Document document) throws Exception;
+    }
+
+    private PdfRenderer() {
+    }
+
+    /**
+     * Renders one document; the time taken is recorded as {@code inventory.pdf.render}
+     * tagged with {@code documentType}, and as a {@link PdfRenderEvent} in the flight recording.
+     */
+    public static byte[] render(String documentType, PageSize pageSize, float margin, DocumentContent content) throws Exception {
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        PdfRenderEvent event = new PdfRenderEvent();
+        int sqlAtStart = SqlStatementCounter.current();
+        int[] pages = new int[1];
+        byte[] bytes = null;
+        event.begin();
+        try {
+            bytes = render(pageSize, margin, content, pages);
+            return bytes;
+        } finally {
+            sample.stop(Timer.builder("inventory.pdf.render")
+                    .tag("document", documentType)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry));
+            event.end();
+            if (event.shouldCommit()) {
+                Long clientId = TenantContext.getClientId();
+                event.document = documentType;
+                event.clientId = clientId != null ? clientId : 0L;
+                event.pages = pages[0];
+                event.size = bytes != null ? bytes.length : 0;
+                event.sqlStatements = SqlStatementCounter.current() - sqlAtStart;
+                event.commit();
+            }
+        }
+    }
+
+    private static byte[] render(PageSize pageSize, float margin, DocumentContent content, int[] pages) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (PdfDocument pdf = new PdfDocument(new PdfWriter(outputStream))) {
+            Document document = new Document(pdf, pageSize);
+            document.setMargins(margin, margin, margin, margin);
+            content.write(pdf, document);
+            pages[0] = pdf.getNumberOfPages();
+            document.close();
+        }
+        return outputStream.toByteArray();
+    }
+
+    public static void addHeaderCells(Table table, Color background, Color fontColor, float fontSize,
+                                      float padding, String... headers) {
+        for (String header : headers) {
+            table.addHeaderCell(new Cell()
+                    .add(new Paragraph(header).setFontSize(fontSize))
+                    .setBackgroundColor(background)
+                    .setFontColor(fontColor)
+                    .setBold()
+                    .setPadding(padding)
+                    .setTextAlignment(TextAlignment.CENTER));
+        }
+    }
+
+    public static Cell textCell(String text, float fontSize, TextAlignment alignment) {
+        return new Cell()
+                .add(new Paragraph(text != null ? text : "").setFontSize(fontSize))
+                .setTextAlignment(alignment)
+                .setPadding(5);
+    }
+
+    public static void addDetailPair(Table table, String label, String value, Color labelColor, Color valueColor) {
+        table.addCell(new Cell().setBorder(Border.NO_BORDER)
+                .add(new Paragraph(label).setBold().setFontColor(labelColor)));
+        table.addCell(new Cell().setBorder(Border.NO_BORDER)
+                .add(new Paragraph(value != null ? value : "").setFontColor(valueColor)));
+    }
+
+    public static void addDetailPair(Table table, String label, String value, Color labelColor, float labelFontSize,
+                                     Color valueColor, float valueFontSize) {
+        table.addCell(new Cell().setBorder(Border.NO_BORDER)
+                .add(new Paragraph(label).setBold().setFontSize(labelFontSize).setFontColor(labelColor)));
+        table.addCell(new Cell().setBorder(Border.NO_BORDER)
+                .add(new Paragraph(value != null ? value : "").setFontSize(valueFontSize).setFontColor(valueColor)));
+    }
+
+    public static void addTotalRow(Table table, String label, String value, boolean isGrandTotal,
+                                   Color grandTotalColor, Color labelColor, Color valueColor) {
+        Cell labelCell = new Cell()
+                .add(new Paragraph(label)
+                        .setBold()
+                        .setFontColor(isGrandTotal ? grandTotalColor : labelColor)
+                        .setFontSize(isGrandTotal ? 10 : 8))
+                .setBorder(Border.NO_BORDER);
+
+        Cell valueCell = new Cell()
+                .add(new Paragraph(value)
+                        .setBold()
+                        .setFontColor(isGrandTotal ? grandTotalColor : valueColor)
+                        .setFontSize(isGrandTotal ? 10 : 8))
+                .setBorder(Border.NO_BORDER)
+                .setTextAlignment(TextAlignment.RIGHT);
+
+        if (isGrandTotal) {
+            labelCell.setBorderTop(new SolidBorder(labelColor, 1));
+            valueCell.setBorderTop(new SolidBorder(labelColor, 1));
+        }
+
+        table.addCell(labelCell);
+        table.addCell(valueCell);
+    }
+}
@@ -0,0 +1,52 @@
+-- Composite and partial indexes matching the hot DAO query shapes: tenant filter first,
+-- then the equality filter, then the range/sort column.
+-- Built concurrently so existing tenants keep writing while the migration runs.
+
+-- SaleDao.searchSales / searchSalesByCursor: client_id + sale_date range, ordered by id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sale_client_sale_date ON sale (client_id, sale_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sale_client_id_desc ON sale (client_id, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sale_client_customer ON sale (client_id, customer_id);
+
+-- PurchaseDao.searchPurchases / searchPurchasesByCursor
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_purchase_client_purchase_date ON purchase (client_id, purchase_date);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_purchase_client_id_desc ON purchase (client_id, id DESC);
+
+-- QuotationDao.searchQuotations: date range and status filters, keyset on (quote_date, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_quotation_client_quote_date ON quotation (client_id, quote_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_quotation_client_status ON quotation (client_id, status);
+
+-- QuotationItemDao.search and item status updates per quotation
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_quotation_items_client_quotation_status
+    ON quotation_items (client_id, quotation_id, quotation_item_status);
+-- Production queue: only items flagged for production
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_quotation_items_client_production
+    ON quotation_items (client_id, id) WHERE is_production = true;
+-- Dispatch queue
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_quotation_items_client_dispatch
+    ON quotation_items (client_id, id) WHERE is_dispatch = true;
+
+-- AttendanceDao: per-employee history and period reports
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attendance_client_employee_start
+    ON attendance (client_id, employee_id, start_date_time);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_attendance_client_start
+    ON attendance (client_id, start_date_time);
+
+-- EmployeeWithdrawDao: withdrawals per employee and period
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employee_withdraw_client_employee_date
+    ON employee_withdraw (client_id, employee_id, withdraw_date);
+
+-- BachDao.search and batch report export
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_batch_client_date ON batch (client_id, date);
+
+-- PaymentHistoryDao.searchPaymentHistories: per customer, ordered by created_at
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_history_client_customer_created
+    ON payment_history (client_id, customer_id, created_at DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payment_history_client_created
+    ON payment_history (client_id, created_at DESC);
+
+-- CustomerDao.getCustomers: active customers of a tenant by name
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customer_client_active_name
+    ON customer (client_id, name) WHERE status = 'A';
+
+-- TransportDao.searchTransports: date range per tenant
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transport_client_created ON transport (client_id, created_at);
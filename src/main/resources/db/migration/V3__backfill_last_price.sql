@@ -0,0 +1,26 @@
+-- Seeds last_price from the existing item history; afterwards PriceService keeps it current
+-- on every sale/purchase write. The table itself is created by Hibernate from LastPrice.
+
+INSERT INTO last_price (client_id, customer_id, product_id, last_sale_price, last_sale_item_id, updated_at)
+SELECT DISTINCT ON (s.client_id, s.customer_id, si.product_id)
+       s.client_id, s.customer_id, si.product_id, si.unit_price, si.id, now()
+FROM sale_items si
+JOIN sale s ON s.id = si.sale_id
+WHERE s.customer_id IS NOT NULL
+ORDER BY s.client_id, s.customer_id, si.product_id, si.id DESC
+ON CONFLICT (client_id, customer_id, product_id) DO UPDATE
+    SET last_sale_price = EXCLUDED.last_sale_price,
+        last_sale_item_id = EXCLUDED.last_sale_item_id,
+        updated_at = EXCLUDED.updated_at;
+
+INSERT INTO last_price (client_id, customer_id, product_id, last_purchase_price, last_purchase_item_id, updated_at)
+SELECT DISTINCT ON (pu.client_id, pu.customer_id, pi.product_id)
+       pu.client_id, pu.customer_id, pi.product_id, pi.unit_price, pi.id, now()
+FROM purchase_items pi
+JOIN purchase pu ON pu.id = pi.purchase_id
+WHERE pu.customer_id IS NOT NULL
+ORDER BY pu.client_id, pu.customer_id, pi.product_id, pi.id DESC
+ON CONFLICT (client_id, customer_id, product_id) DO UPDATE
+    SET last_purchase_price = EXCLUDED.last_purchase_price,
+        last_purchase_item_id = EXCLUDED.last_purchase_item_id,
+        updated_at = EXCLUDED.updated_at;
@@ -0,0 +1,5 @@
+-- The dispatcher only ever scans unprocessed outbox rows in id order; processed rows are kept
+-- for a few days for auditing. The table itself is created by Hibernate from BalanceOutbox.
+
+CREATE INDEX IF NOT EXISTS idx_balance_outbox_pending ON balance_outbox (id) WHERE processed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_balance_outbox_processed_at ON balance_outbox (processed_at) WHERE processed_at IS NOT NULL;
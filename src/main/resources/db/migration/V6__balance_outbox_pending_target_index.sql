@@ -0,0 +1,8 @@
+-- Stock and balance readers add the deltas still pending for each product or customer
+-- (BalanceOutboxDao.stockWithPending / balanceWithPending), looked up by target among the
+-- unprocessed rows. It replaces the full (target_type, target_id) index Hibernate created from
+-- the entity, which nothing queried. Built concurrently so writers keep enqueuing meanwhile.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_balance_outbox_pending_target
+    ON balance_outbox (target_type, target_id) WHERE processed_at IS NULL;
+DROP INDEX CONCURRENTLY IF EXISTS idx_balance_outbox_target;
@@ -0,0 +1,35 @@
+package com.inventory;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base for tests that need the full application against a real PostgreSQL: Hibernate creates
+ * the tables and the Flyway runner applies the migrations, as in production. One container is
+ * shared by all subclasses. Tests are skipped when no Docker daemon is available.
+ * <p>
+ * Subclasses with different properties get their own application context on the same
+ * database, so Hibernate only adds missing tables ({@code update}): recreating them would drop
+ * the migration indexes while {@code flyway_schema_history} still lists them as applied.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=update",
+        "jwt.secret=integration-test-secret-integration-test-secret-integration-test-secret",
+        "jwt.expiration=3600000"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+}
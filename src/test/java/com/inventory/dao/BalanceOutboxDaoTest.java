@@ -0,0 +1,66 @@
+package com.inventory.dao;
+
+import com.inventory.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stock read through {@link BalanceOutboxDao#findStock}: the column plus the deltas still
+ * pending for the product, ignoring processed rows and rows of other targets.
+ */
+@Transactional
+class BalanceOutboxDaoTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private BalanceOutboxDao balanceOutboxDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void stockIncludesPendingDeltasOnly() {
+        long productId = product(new BigDecimal("10"));
+        long otherProductId = product(new BigDecimal("1"));
+        outbox("PRODUCT", productId, "5", false);
+        outbox("PRODUCT", productId, "-2", false);
+        outbox("PRODUCT", productId, "100", true);
+        outbox("PRODUCT", otherProductId, "7", false);
+        outbox("CUSTOMER", productId, "11", false);
+
+        Map<Long, BigDecimal> stock = balanceOutboxDao.findStock(List.of(productId, otherProductId));
+
+        assertThat(stock.get(productId)).isEqualByComparingTo("13");
+        assertThat(stock.get(otherProductId)).isEqualByComparingTo("8");
+    }
+
+    @Test
+    void pendingDeltaCountsFromZeroWhenStockIsUnset() {
+        long unsetId = product(null);
+        long pendingId = product(null);
+        outbox("PRODUCT", pendingId, "4", false);
+
+        Map<Long, BigDecimal> stock = balanceOutboxDao.findStock(List.of(unsetId, pendingId));
+
+        assertThat(stock).doesNotContainKey(unsetId);
+        assertThat(stock.get(pendingId)).isEqualByComparingTo("4");
+    }
+
+    private long product(BigDecimal remainingQuantity) {
+        return jdbcTemplate.queryForObject("INSERT INTO product (name, status, tax_percentage, remaining_quantity)"
+                + " VALUES ('Outbox test product', 'A', 18, ?) RETURNING id", Long.class, remainingQuantity);
+    }
+
+    private void outbox(String targetType, long targetId, String delta, boolean processed) {
+        jdbcTemplate.update("INSERT INTO balance_outbox (target_type, target_id, delta, created_at, processed_at)"
+                + " VALUES (?, ?, ?, now(), " + (processed ? "now()" : "NULL") + ")",
+                targetType, targetId, new BigDecimal(delta));
+    }
+}
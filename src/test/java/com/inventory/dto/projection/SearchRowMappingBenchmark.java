@@ -0,0 +1,132 @@
+package com.inventory.dto.projection;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping plus JSON serialization of one search page, as done for each response of
+ * {@code SaleDao.searchSales} and {@code QuotationItemDao.search}: the string-keyed HashMap per
+ * row the DAOs used before against the projection records. Rows carry the JDBC value types the
+ * native queries return. One operation is one page of {@link #PAGE_SIZE} rows, so rows/s is
+ * the score times the page size and {@code gc.alloc.rate.norm} is bytes allocated per page.
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.benchmarks=SearchRowMappingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchRowMappingBenchmark {
+    static final int PAGE_SIZE = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Object[]> saleRows;
+    private List<Object[]> quotationItemRows;
+
+    @Setup
+    public void setUp() {
+        saleRows = new ArrayList<>(PAGE_SIZE);
+        quotationItemRows = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            saleRows.add(new Object[]{
+                    (long) 10_000 + i, new BigDecimal("15234.50"), Timestamp.valueOf("2024-03-15 10:30:00"),
+                    "INV/2024/" + i, "Customer " + i, i % 2 == 0, 42L, "CASE-" + i, "Reference " + i});
+            quotationItemRows.add(new Object[]{
+                    (long) 20_000 + i, 500L, (long) 300 + i, new BigDecimal("12.000"), new BigDecimal("450.00"),
+                    new BigDecimal("10.00"), new BigDecimal("5.00"), new BigDecimal("22.50"), new BigDecimal("427.50"),
+                    new BigDecimal("18.00"), new BigDecimal("76.95"), new BigDecimal("504.45"), 1L, 7L, 4, 2,
+                    new BigDecimal("25.500"), "Remarks " + i, i % 3 == 0, false, "P", "Product " + i, "Brand"});
+        }
+    }
+
+    @Benchmark
+    public byte[] saleSearchMaps() throws Exception {
+        List<Map<String, Object>> sales = new ArrayList<>();
+        for (Object[] row : saleRows) {
+            Map<String, Object> sale = new HashMap<>();
+            int i = 0;
+            sale.put("id", row[i++]);
+            sale.put("totalSaleAmount", row[i++]);
+            sale.put("saleDate", row[i++]);
+            sale.put("invoiceNumber", row[i++]);
+            sale.put("customerName", row[i++]);
+            sale.put("is_black", row[i++]);
+            sale.put("transportMasterId", row[i++]);
+            sale.put("caseNumber", row[i++]);
+            sale.put("referenceName", row[i++]);
+            sales.add(sale);
+        }
+        return objectMapper.writeValueAsBytes(sales);
+    }
+
+    @Benchmark
+    public byte[] saleSearchRecords() throws Exception {
+        List<SaleSearchRow> sales = new ArrayList<>(saleRows.size());
+        for (Object[] row : saleRows) {
+            sales.add(SaleSearchRow.from(row));
+        }
+        return objectMapper.writeValueAsBytes(sales);
+    }
+
+    @Benchmark
+    public byte[] quotationItemSearchMaps() throws Exception {
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (Object[] r : quotationItemRows) {
+            Map<String, Object> m = new HashMap<>();
+            m.put("id", r[0]);
+            m.put("quotationId", r[1]);
+            m.put("productId", r[2]);
+            m.put("quantity", r[3]);
+            m.put("unitPrice", r[4]);
+            m.put("discountPrice", r[5]);
+            m.put("quotationDiscountPercentage", r[6]);
+            m.put("quotationDiscountAmount", r[7]);
+            m.put("quotationDiscountPrice", r[8]);
+            m.put("taxPercentage", r[9]);
+            m.put("taxAmount", r[10]);
+            m.put("finalPrice", r[11]);
+            m.put("clientId", r[12]);
+            m.put("brandId", r[13]);
+            m.put("numberOfRoll", r[14]);
+            m.put("createdRoll", r[15]);
+            m.put("weightPerRoll", r[16]);
+            m.put("remarks", r[17]);
+            m.put("isProduction", r[18]);
+            m.put("isDispatch", r[19]);
+            m.put("quotationItemStatus", r[20]);
+            m.put("productName", r[21]);
+            m.put("brandName", r[22]);
+            content.add(m);
+        }
+        return objectMapper.writeValueAsBytes(content);
+    }
+
+    @Benchmark
+    public byte[] quotationItemSearchRecords() throws Exception {
+        List<QuotationItemSearchRow> content = new ArrayList<>(quotationItemRows.size());
+        for (Object[] row : quotationItemRows) {
+            content.add(QuotationItemSearchRow.from(row));
+        }
+        return objectMapper.writeValueAsBytes(content);
+    }
+}
@@ -0,0 +1,134 @@
+package com.inventory.metrics;
+
+import com.inventory.PostgresIntegrationTest;
+import com.inventory.entity.Client;
+import com.inventory.entity.UserMaster;
+import com.inventory.repository.ClientRepository;
+import com.inventory.repository.UserRepository;
+import com.inventory.security.JwtTokenProvider;
+import com.inventory.security.UserPrincipal;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the {@link SqlBudget} endpoints against PostgreSQL with enforcement on, so a change
+ * that adds per-row queries fails here instead of in production. Each endpoint is called over
+ * a few dozen rows and the statement count recorded by {@link SqlStatementMetricsFilter} is
+ * checked against the budget on the controller method.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "inventory.sql.budget.enforce=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlBudgetIntegrationTest extends PostgresIntegrationTest {
+    private static final int ROWS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    private String token;
+    private long customerId;
+
+    @BeforeAll
+    void seed() {
+        Client client = new Client();
+        client.setName("Budget test client");
+        client = clientRepository.save(client);
+
+        UserMaster user = new UserMaster();
+        user.setEmail("budget-test@example.com");
+        user.setPassword("not-used");
+        user.setClient(client);
+        user = userRepository.save(user);
+        token = tokenProvider.generateToken(new UsernamePasswordAuthenticationToken(UserPrincipal.create(user), null));
+        user.setJwtToken(token);
+        userRepository.save(user);
+
+        long clientId = client.getId();
+        jdbcTemplate.update("INSERT INTO customer (name, status, client_id)"
+                + " SELECT 'Customer ' || i, 'A', ? FROM generate_series(1, ?) i", clientId, ROWS);
+        customerId = jdbcTemplate.queryForObject("SELECT min(id) FROM customer WHERE client_id = ?", Long.class, clientId);
+        jdbcTemplate.update("INSERT INTO sale (customer_id, sale_date, invoice_number, updated_at, client_id)"
+                + " SELECT c.id, now(), 'INV/' || c.id, now(), c.client_id FROM customer c WHERE c.client_id = ?", clientId);
+        jdbcTemplate.update("INSERT INTO purchase (customer_id, purchase_date, updated_at, client_id)"
+                + " SELECT c.id, now(), now(), c.client_id FROM customer c WHERE c.client_id = ?", clientId);
+        jdbcTemplate.update("INSERT INTO quotation (customer_id, quote_date, status, created_at, updated_at, client_id)"
+                + " SELECT c.id, current_date, 'Q', now(), now(), c.client_id FROM customer c WHERE c.client_id = ?", clientId);
+    }
+
+    @Test
+    void saleSearchStaysWithinBudget() throws Exception {
+        assertWithinBudget("/api/sales/searchSale", "{\"currentPage\":0,\"perPageRecord\":" + ROWS + "}", 10);
+    }
+
+    @Test
+    void purchaseSearchStaysWithinBudget() throws Exception {
+        assertWithinBudget("/api/purchases/searchPurchase", "{\"currentPage\":0,\"perPageRecord\":" + ROWS + "}", 10);
+    }
+
+    @Test
+    void quotationSearchStaysWithinBudget() throws Exception {
+        assertWithinBudget("/api/quotations/search", "{\"currentPage\":0,\"perPageRecord\":" + ROWS + "}", 10);
+    }
+
+    @Test
+    void lastPriceStaysWithinBudget() throws Exception {
+        assertWithinBudget("/api/price/latest", "{\"customerId\":" + customerId + ",\"productId\":1}", 5);
+    }
+
+    @Test
+    void lastPriceBatchStaysWithinBudget() throws Exception {
+        String productIds = LongStream.rangeClosed(1, ROWS).mapToObj(Long::toString).collect(Collectors.joining(","));
+        assertWithinBudget("/api/price/latest/batch",
+                "{\"customerId\":" + customerId + ",\"productIds\":[" + productIds + "]}", 5);
+    }
+
+    private void assertWithinBudget(String uri, String body, int budget) throws Exception {
+        double before = statementTotal(uri);
+
+        mockMvc.perform(post(uri)
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+
+        double statements = statementTotal(uri) - before;
+        assertThat(statements).as("statements issued by %s", uri).isPositive().isLessThanOrEqualTo(budget);
+    }
+
+    private double statementTotal(String uri) {
+        DistributionSummary summary = meterRegistry.find("inventory.http.sql.statements").tag("uri", uri).summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+}
@@ -0,0 +1,52 @@
+package com.inventory.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlFingerprintTest {
+
+    @Test
+    void replacesStringAndNumberLiterals() {
+        assertThat(SqlFingerprint.of("SELECT * FROM sale WHERE client_id = 42 AND invoice_number = 'INV/2024/7'"))
+                .isEqualTo("select * from sale where client_id = ? and invoice_number = ?");
+    }
+
+    @Test
+    void keepsDigitsInsideIdentifiers() {
+        assertThat(SqlFingerprint.of("SELECT p1.id FROM product p1 WHERE p1.amount > 10.50"))
+                .isEqualTo("select p1.id from product p1 where p1.amount > ?");
+    }
+
+    @Test
+    void treatsEscapedQuotesAsOneLiteral() {
+        assertThat(SqlFingerprint.of("SELECT id FROM customer WHERE name = 'O''Brien'"))
+                .isEqualTo("select id from customer where name = ?");
+    }
+
+    @Test
+    void collapsesInListsOfAnyLength() {
+        String one = SqlFingerprint.of("SELECT id FROM product WHERE id IN (?)");
+        String three = SqlFingerprint.of("SELECT id FROM product WHERE id IN (?, ?, ?)");
+        String literals = SqlFingerprint.of("SELECT id FROM product WHERE id IN (1,2,3,4,5)");
+
+        assertThat(one).isEqualTo("select id from product where id in (?+)");
+        assertThat(three).isEqualTo(one);
+        assertThat(literals).isEqualTo(one);
+    }
+
+    @Test
+    void dropsCommentsAndFoldsWhitespaceAndCase() {
+        String sql = "/* search */ SELECT s.id\n\tFROM   sale s -- newest first\nORDER BY s.id DESC";
+
+        assertThat(SqlFingerprint.of(sql)).isEqualTo("select s.id from sale s order by s.id desc");
+    }
+
+    @Test
+    void idIsStableForTheSameFingerprint() {
+        String first = SqlFingerprint.of("SELECT id FROM sale WHERE client_id = 1");
+        String second = SqlFingerprint.of("select id from sale where client_id = 2");
+
+        assertThat(SqlFingerprint.id(first)).isEqualTo(SqlFingerprint.id(second)).hasSize(8);
+    }
+}
@@ -0,0 +1,90 @@
+package com.inventory.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class SqlMonitorBudgetTest {
+    private static final String SQL = "SELECT id FROM sale WHERE client_id = 1";
+
+    @BeforeEach
+    void setUp() {
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void enforcedBudgetFailsTheStatementOverTheLimit() throws Exception {
+        SqlMonitor monitor = monitor(true);
+        handle("budgetOfTwo");
+
+        monitor.beforeExecute(SQL);
+        monitor.beforeExecute(SQL);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> monitor.beforeExecute(SQL))
+                .withMessageContaining("BudgetedController#budgetOfTwo")
+                .withMessageContaining("budget of 2 statements")
+                .withMessageContaining("statement 3");
+    }
+
+    @Test
+    void unenforcedBudgetOnlyLogs() throws Exception {
+        SqlMonitor monitor = monitor(false);
+        handle("budgetOfTwo");
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 5; i++) {
+                monitor.beforeExecute(SQL);
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    @Test
+    void endpointWithoutBudgetIsNotLimited() throws Exception {
+        SqlMonitor monitor = monitor(true);
+        handle("unbudgeted");
+
+        assertThatCode(() -> {
+            for (int i = 0; i < 50; i++) {
+                monitor.beforeExecute(SQL);
+            }
+        }).doesNotThrowAnyException();
+    }
+
+    private static SqlMonitor monitor(boolean enforce) {
+        return new SqlMonitor(new SimpleMeterRegistry(), Duration.ofMillis(500), enforce);
+    }
+
+    private static void handle(String methodName) throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/test");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new BudgetedController(), BudgetedController.class.getDeclaredMethod(methodName)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    static class BudgetedController {
+        @SqlBudget(2)
+        void budgetOfTwo() {
+        }
+
+        void unbudgeted() {
+        }
+    }
+}
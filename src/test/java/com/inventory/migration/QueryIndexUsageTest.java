@@ -0,0 +1,141 @@
+package com.inventory.migration;
+
+import com.inventory.PostgresIntegrationTest;
+import com.inventory.dao.BalanceOutboxDao;
+import com.inventory.dao.SearchExpressions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan regression test for the migration indexes: EXPLAINs the predicate shapes the DAOs send and
+ * asserts the planner picks the index built for them. Each plan is taken in a transaction
+ * that is rolled back, with sequential scans disabled; the check is which index serves the
+ * query, not whether an index beats a scan on a small table. Where several indexes lead with
+ * {@code client_id} they cost the same on an empty table, so those tests load and ANALYZE rows
+ * first (foreign key checks are skipped for them, the rows only feed the statistics).
+ */
+class QueryIndexUsageTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void saleSearchByDateRangeUsesClientSaleDateIndex() {
+        assertThat(plan("SELECT s.id FROM sale s WHERE s.client_id = 1"
+                        + " AND s.sale_date >= '2024-01-01' AND s.sale_date <= '2024-12-31'",
+                "INSERT INTO sale (client_id, customer_id, sale_date, updated_at)"
+                        + " SELECT g % 20 + 1, g % 500 + 1, timestamp '2022-01-01' + g * 7919 % 30000 * interval '1 hour', now()"
+                        + " FROM generate_series(1, 30000) g",
+                "ANALYZE sale"))
+                .contains("idx_sale_client_sale_date");
+    }
+
+    @Test
+    void saleListingUsesClientIdDescIndex() {
+        assertThat(plan("SELECT s.id FROM sale s WHERE s.client_id = 1 ORDER BY s.id DESC LIMIT 20"))
+                .contains("idx_sale_client_id_desc");
+    }
+
+    @Test
+    void quotationItemStatusUpdateUsesCompositeIndex() {
+        assertThat(plan("SELECT qi.id FROM quotation_items qi WHERE qi.client_id = 1"
+                + " AND qi.quotation_id = 1 AND qi.quotation_item_status = 'P'"))
+                .contains("idx_quotation_items_client_quotation_status");
+    }
+
+    @Test
+    void productionQueueUsesPartialIndex() {
+        assertThat(plan("SELECT qi.id FROM quotation_items qi WHERE qi.client_id = 1"
+                + " AND qi.is_production = true ORDER BY qi.id LIMIT 20"))
+                .contains("idx_quotation_items_client_production");
+    }
+
+    @Test
+    void dispatchQueueUsesPartialIndex() {
+        assertThat(plan("SELECT qi.id FROM quotation_items qi WHERE qi.client_id = 1"
+                + " AND qi.is_dispatch = true ORDER BY qi.id LIMIT 20"))
+                .contains("idx_quotation_items_client_dispatch");
+    }
+
+    @Test
+    void attendanceHistoryUsesClientEmployeeStartIndex() {
+        assertThat(plan("SELECT a.id FROM attendance a WHERE a.client_id = 1 AND a.employee_id = 1"
+                        + " AND a.start_date_time >= '2024-01-01' AND a.start_date_time < '2024-02-01'",
+                "INSERT INTO attendance (client_id, employee_id, start_date_time, end_date_time, created_at)"
+                        + " SELECT g % 20 + 1, g % 400 + 1, timestamp '2022-01-01' + g * 7919 % 30000 * interval '1 hour',"
+                        + " timestamp '2022-01-01' + g * 7919 % 30000 * interval '1 hour' + interval '8 hours', now()"
+                        + " FROM generate_series(1, 30000) g",
+                "ANALYZE attendance"))
+                .contains("idx_attendance_client_employee_start");
+    }
+
+    @Test
+    void batchSearchUsesClientDateIndex() {
+        assertThat(plan("SELECT b.id FROM batch b WHERE b.client_id = 1"
+                + " AND b.date >= '2024-01-01' AND b.date <= '2024-01-31'"))
+                .contains("idx_batch_client_date");
+    }
+
+    @Test
+    void activeCustomerListUsesPartialNameIndex() {
+        assertThat(plan("SELECT c.id FROM customer c WHERE c.status = 'A' AND c.client_id = 1 ORDER BY c.name ASC"))
+                .contains("idx_customer_client_active_name");
+    }
+
+    @Test
+    void customerNameSearchUsesTrigramIndex() {
+        assertThat(plan("SELECT c.id FROM customer c WHERE "
+                + SearchExpressions.customerName("c.") + " LIKE '%steel%'"))
+                .contains("idx_customer_name_trgm");
+    }
+
+    @Test
+    void enquirySearchUsesTrigramIndex() {
+        assertThat(plan("SELECT e.id FROM enquiry_master e WHERE "
+                + SearchExpressions.enquiryDocument("e.") + " LIKE '%steel%'"))
+                .contains("idx_enquiry_master_fields_trgm");
+    }
+
+    @Test
+    void pendingStockLookupUsesPendingTargetIndex() {
+        assertThat(plan("SELECT p.id, " + BalanceOutboxDao.stockWithPending("p.") + " FROM product p WHERE p.id = 1"))
+                .contains("idx_balance_outbox_pending_target");
+    }
+
+    /**
+     * EXPLAIN output for {@code sql} after running {@code setup}, all rolled back afterwards.
+     */
+    private String plan(String sql, String... setup) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+                if (setup.length > 0) {
+                    statement.execute("SET LOCAL session_replication_role = replica");
+                }
+                for (String setupSql : setup) {
+                    statement.execute(setupSql);
+                }
+                StringJoiner plan = new StringJoiner("\n");
+                try (ResultSet rows = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (rows.next()) {
+                        plan.add(rows.getString(1));
+                    }
+                }
+                return plan.toString();
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.inventory.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TenantAdmissionFilterTest {
+    private static final Long CLIENT_ID = 7L;
+
+    private final TenantAdmission admission = new TenantAdmission(new SimpleMeterRegistry(), true, 1, 5,
+            Duration.ofSeconds(5), 10, 50, 1, 5, 2, 10);
+    private final TenantAdmissionFilter filter = new TenantAdmissionFilter(admission);
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void synchronousRequestReleasesItsPermitOnReturn() throws Exception {
+        assertThat(call((request, response) -> { }).getStatus()).isEqualTo(200);
+        assertThat(call((request, response) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void asyncRequestHoldsItsPermitUntilCompletion() throws Exception {
+        AtomicReference<MockHttpServletRequest> export = new AtomicReference<>();
+        MockHttpServletResponse started = call((request, response) -> {
+            request.startAsync();
+            export.set((MockHttpServletRequest) request);
+        });
+        assertThat(started.getStatus()).isEqualTo(200);
+
+        assertThat(call((request, response) -> { }).getStatus()).isEqualTo(429);
+
+        ((MockAsyncContext) export.get().getAsyncContext()).complete();
+
+        assertThat(call((request, response) -> { }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void asyncPermitIsReleasedOnceWhenErrorIsFollowedByComplete() throws Exception {
+        AtomicReference<MockHttpServletRequest> export = new AtomicReference<>();
+        call((request, response) -> {
+            request.startAsync();
+            export.set((MockHttpServletRequest) request);
+        });
+        MockAsyncContext asyncContext = (MockAsyncContext) export.get().getAsyncContext();
+        for (var listener : asyncContext.getListeners()) {
+            listener.onError(null);
+        }
+        asyncContext.complete();
+
+        assertThat(call((request, response) -> { }).getStatus()).isEqualTo(200);
+        assertThat(call((request, response) -> request.startAsync()).getStatus()).isEqualTo(200);
+        assertThat(call((request, response) -> { }).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void taskDecoratorCarriesTheClientIdToTheTask() {
+        TenantContext.setClientId(CLIENT_ID);
+        Runnable task = new TenantContextTaskDecorator().decorate(
+                () -> assertThat(TenantContext.getClientId()).isEqualTo(CLIENT_ID));
+        TenantContext.clear();
+
+        task.run();
+
+        assertThat(TenantContext.getClientId()).isNull();
+    }
+
+    private MockHttpServletResponse call(FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/sales/searchSale");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        TenantContext.setClientId(CLIENT_ID);
+        try {
+            filter.doFilter(request, response, chain);
+        } finally {
+            TenantContext.clear();
+        }
+        return response;
+    }
+}